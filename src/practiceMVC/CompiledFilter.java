@@ -0,0 +1,234 @@
+package practiceMVC;
+
+// For collecting the matching nodes.
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * An EmployeeFilter evaluated over a ListController: the set of matching nodes is computed once, kept in list order,
+ * and updated incrementally whenever an employee is added, modified (through ListController.update) or removed.
+ * Moving to the previous or next match, checking whether there is one, and counting matches take logarithmic time,
+ * without evaluating the filter again.
+ */
+public class CompiledFilter implements ListController.Listener<EmployeeModel> {
+    /**
+     * The filter being evaluated.
+     */
+    private final EmployeeFilter filter;
+
+    /**
+     * The list the filter is evaluated over.
+     */
+    private final ListController<EmployeeModel> employeeController;
+
+    /**
+     * The nodes matching the filter, in list order.
+     */
+    private final ListController<EmployeeModel>.NodeSet matches;
+
+    /**
+     * Compiles a filter over the current contents of a list and starts following its changes.
+     *
+     * @param filter The filter to evaluate.
+     * @param employeeController The list to evaluate it over.
+     * @param hireDateIndex An index over the hire dates of the same list, used to evaluate filters that require a hire
+     *                      date on the candidates only. May be null, in which case the whole list is evaluated.
+     */
+    public CompiledFilter(EmployeeFilter filter, ListController<EmployeeModel> employeeController, HireDateIndex hireDateIndex) {
+        this(filter, employeeController, findMatches(filter, employeeController, hireDateIndex, () -> false));
+    }
+
+    /**
+     * Compiles a filter whose matching nodes have already been found (see findMatches) and starts following the
+     * changes of the list. The list must not have changed since they were found.
+     *
+     * @param filter The filter to evaluate.
+     * @param employeeController The list to evaluate it over.
+     * @param matchingNodes The nodes of the list matching the filter, in any order.
+     * @return The compiled filter.
+     */
+    public static CompiledFilter fromMatches(EmployeeFilter filter, ListController<EmployeeModel> employeeController, List<ListController<EmployeeModel>.Node<EmployeeModel>> matchingNodes) {
+        return new CompiledFilter(filter, employeeController, matchingNodes);
+    }
+
+    /**
+     * Compiles a filter from its matching nodes and starts following the changes of the list.
+     *
+     * @param filter The filter to evaluate.
+     * @param employeeController The list to evaluate it over.
+     * @param matchingNodes The nodes of the list matching the filter, in any order.
+     */
+    private CompiledFilter(EmployeeFilter filter, ListController<EmployeeModel> employeeController, List<ListController<EmployeeModel>.Node<EmployeeModel>> matchingNodes) {
+        this.filter = filter;
+        this.employeeController = employeeController;
+        this.matches = employeeController.newNodeSet();
+        for (ListController<EmployeeModel>.Node<EmployeeModel> node : matchingNodes) {
+            matches.add(node);
+        }
+        employeeController.addListener(this);
+    }
+
+    /**
+     * Finds the nodes of a list matching a filter. It only reads the list and the index, so it can run on a background
+     * thread as long as neither is modified meanwhile; building the compiled filter from its result is left to the
+     * thread owning the list.
+     *
+     * @param filter The filter to evaluate.
+     * @param employeeController The list to evaluate it over.
+     * @param hireDateIndex An index over the hire dates of the same list, used to evaluate filters that require a hire
+     *                      date on the candidates only. May be null, in which case the whole list is evaluated.
+     * @param cancelled Tells whether the search should stop, checked once per node evaluated.
+     * @return The matching nodes (in list order, or in hire date order if the index was used), or null if the search
+     *         was stopped.
+     */
+    public static List<ListController<EmployeeModel>.Node<EmployeeModel>> findMatches(EmployeeFilter filter, ListController<EmployeeModel> employeeController, HireDateIndex hireDateIndex, BooleanSupplier cancelled) {
+        List<ListController<EmployeeModel>.Node<EmployeeModel>> matchingNodes = new ArrayList<>();
+        if (hireDateIndex != null && filter.getFromEpochDay() != null) {
+            // Only the employees hired within the filter's date bounds can match. The index can't be left halfway, so
+            // the remaining candidates are just skipped once the search is stopped.
+            boolean[] stopped = new boolean[1];
+            hireDateIndex.forEachNodeBetween(filter.getFromEpochDay(), filter.getToEpochDay(), node -> {
+                if (!stopped[0] && !(stopped[0] = cancelled.getAsBoolean()) && filter.test(node.getMain())) {
+                    matchingNodes.add(node);
+                }
+            });
+            return stopped[0] ? null : matchingNodes;
+        }
+        for (ListController<EmployeeModel>.Node<EmployeeModel> node = employeeController.getFirstNode(); node != null; node = node.getNextNode()) {
+            if (cancelled.getAsBoolean()) {
+                return null;
+            }
+            if (filter.test(node.getMain())) {
+                matchingNodes.add(node);
+            }
+        }
+        return matchingNodes;
+    }
+
+    /**
+     * Gets the filter being evaluated.
+     *
+     * @return The filter.
+     */
+    public EmployeeFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Checks if an employee matches the filter, without evaluating it again.
+     *
+     * @param node The node of the employee.
+     * @return `true` if the employee matches, `false` otherwise.
+     */
+    public boolean matches(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        return matches.contains(node);
+    }
+
+    /**
+     * Gets the next matching employee in list order.
+     *
+     * @param node The node to start from (excluded).
+     * @return The next matching node, or null if there is none.
+     */
+    public ListController<EmployeeModel>.Node<EmployeeModel> next(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        return matches.next(node);
+    }
+
+    /**
+     * Gets the previous matching employee in list order.
+     *
+     * @param node The node to start from (excluded).
+     * @return The previous matching node, or null if there is none.
+     */
+    public ListController<EmployeeModel>.Node<EmployeeModel> previous(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        return matches.previous(node);
+    }
+
+    /**
+     * Gets the first matching employee in list order.
+     *
+     * @return The first matching node, or null if there is none.
+     */
+    public ListController<EmployeeModel>.Node<EmployeeModel> first() {
+        return matches.first();
+    }
+
+    /**
+     * Gets the last matching employee in list order.
+     *
+     * @return The last matching node, or null if there is none.
+     */
+    public ListController<EmployeeModel>.Node<EmployeeModel> last() {
+        return matches.last();
+    }
+
+    /**
+     * Gets the number of matching employees.
+     *
+     * @return The number of matches.
+     */
+    public int countMatches() {
+        return matches.size();
+    }
+
+    /**
+     * Gets the rank of an employee among the matches, i.e. how many matches come before it in list order.
+     *
+     * @param node The node of the employee.
+     * @return The number of matches before it.
+     */
+    public int countMatchesBefore(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        return matches.countBefore(node);
+    }
+
+    /**
+     * Evaluates a node that has just been added to the list.
+     *
+     * @param node The added node.
+     */
+    @Override
+    public void nodeAdded(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        evaluate(node);
+    }
+
+    /**
+     * Nothing to do: removed nodes leave the set of matches by themselves.
+     *
+     * @param node The removed node.
+     */
+    @Override
+    public void nodeRemoved(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+    }
+
+    /**
+     * Evaluates again a node whose employee has just been modified.
+     *
+     * @param node The updated node.
+     */
+    @Override
+    public void nodeUpdated(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        evaluate(node);
+    }
+
+    /**
+     * Stops following the changes of the list and frees the set of matches. The compiled filter cannot be used afterwards.
+     */
+    public void close() {
+        employeeController.removeListener(this);
+        matches.release();
+    }
+
+    /**
+     * Evaluates the filter on a node and records the result.
+     *
+     * @param node The node to evaluate.
+     */
+    private void evaluate(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        if (filter.test(node.getMain())) {
+            matches.add(node);
+        } else {
+            matches.remove(node);
+        }
+    }
+}
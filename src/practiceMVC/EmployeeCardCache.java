@@ -0,0 +1,225 @@
+package practiceMVC;
+
+// For scheduling the pre-rendering on the Event Dispatch Thread.
+import javax.swing.SwingUtilities;
+// For the cached cards.
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the rendered cards of the employees of a ListController, so that going back and forth between
+ * employees doesn't render their cards again.
+ * Cards are kept by node, together with the modification count of the list when they were rendered: a card shows the
+ * position of the employee and the size of the list, so any change to the list (including modifications made through
+ * ListController.update) makes every card stale, and stale cards are rendered again when asked for.
+ * The cards of the employees the user is likely to visit next can be rendered in advance, while the Event Dispatch
+ * Thread is idle, through prerenderLater.
+ * Cards are Swing objects, so the cache must only be used on the Event Dispatch Thread.
+ *
+ * @param <C> The type of the rendered cards.
+ */
+public class EmployeeCardCache<C> {
+    /**
+     * Renders the card of an employee.
+     *
+     * @param <C> The type of the rendered cards.
+     */
+    public interface Renderer<C> {
+        /**
+         * Renders the card of an employee.
+         *
+         * @param employee The employee.
+         * @param position The position of the employee in the list, starting at 1.
+         * @param totalEmployees The total number of employees in the list.
+         * @return The rendered card.
+         */
+        C render(EmployeeModel employee, int position, int totalEmployees);
+    }
+
+    /**
+     * The list whose employees are rendered.
+     */
+    private final ListController<EmployeeModel> employeeController;
+
+    /**
+     * Renders the cards.
+     */
+    private final Renderer<C> renderer;
+
+    /**
+     * Cached cards by node, in access order, so that the least recently shown card is dropped when the cache is full.
+     */
+    private final LinkedHashMap<ListController<EmployeeModel>.Node<EmployeeModel>, CachedCard<C>> cards;
+
+    /**
+     * Nodes whose cards are still to be rendered in advance.
+     */
+    private final ArrayDeque<ListController<EmployeeModel>.Node<EmployeeModel>> pendingNodes = new ArrayDeque<>();
+
+    /**
+     * Whether a pre-rendering step is already scheduled on the Event Dispatch Thread.
+     */
+    private boolean prerenderScheduled;
+
+    /**
+     * Number of cards found in the cache (DEBUGGING PURPOSES).
+     */
+    private long hitCount;
+
+    /**
+     * Number of cards rendered when asked for (DEBUGGING PURPOSES).
+     */
+    private long missCount;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param employeeController The list whose employees are rendered.
+     * @param renderer Renders the cards.
+     * @param capacity The maximum number of cards kept.
+     */
+    public EmployeeCardCache(ListController<EmployeeModel> employeeController, Renderer<C> renderer, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity: " + capacity);
+        }
+        this.employeeController = employeeController;
+        this.renderer = renderer;
+        this.cards = new LinkedHashMap<ListController<EmployeeModel>.Node<EmployeeModel>, CachedCard<C>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ListController<EmployeeModel>.Node<EmployeeModel>, CachedCard<C>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the card of an employee, rendering it only if it isn't cached or has become stale.
+     *
+     * @param node The node of the employee, which must be in the list.
+     * @return The card.
+     */
+    public C get(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        CachedCard<C> cached = cards.get(node);
+        if (cached != null && cached.modificationCount == employeeController.getModificationCount()) {
+            hitCount++;
+            return cached.card;
+        }
+        missCount++;
+        return render(node);
+    }
+
+    /**
+     * Renders the cards of some employees in advance, one per event on the Event Dispatch Thread, so that user input
+     * is never kept waiting for more than one card. Replaces the nodes still pending from previous calls, which are
+     * no longer likely to be visited.
+     *
+     * @param nodes The nodes of the employees (null ones are ignored).
+     */
+    @SafeVarargs
+    public final void prerenderLater(ListController<EmployeeModel>.Node<EmployeeModel>... nodes) {
+        pendingNodes.clear();
+        for (ListController<EmployeeModel>.Node<EmployeeModel> node : nodes) {
+            if (node != null) {
+                pendingNodes.add(node);
+            }
+        }
+        if (!prerenderScheduled && !pendingNodes.isEmpty()) {
+            prerenderScheduled = true;
+            SwingUtilities.invokeLater(this::prerenderNext);
+        }
+    }
+
+    /**
+     * Renders the card of the next pending node, unless it's still valid or the node has left the list, and schedules
+     * the following one.
+     */
+    private void prerenderNext() {
+        ListController<EmployeeModel>.Node<EmployeeModel> node = pendingNodes.poll();
+        if (node != null && employeeController.getPosition(node) >= 0) {
+            CachedCard<C> cached = cards.get(node);
+            if (cached == null || cached.modificationCount != employeeController.getModificationCount()) {
+                render(node);
+            }
+        }
+        prerenderScheduled = !pendingNodes.isEmpty();
+        if (prerenderScheduled) {
+            SwingUtilities.invokeLater(this::prerenderNext);
+        }
+    }
+
+    /**
+     * Renders the card of an employee and caches it.
+     *
+     * @param node The node of the employee.
+     * @return The card.
+     */
+    private C render(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        C card = renderer.render(node.getMain(), employeeController.getPosition(node) + 1, employeeController.getTotalElements());
+        cards.put(node, new CachedCard<>(card, employeeController.getModificationCount()));
+        return card;
+    }
+
+    /**
+     * Drops the card of an employee, e.g. after modifying it.
+     *
+     * @param node The node of the employee.
+     */
+    public void invalidate(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        cards.remove(node);
+    }
+
+    /**
+     * Drops every card and cancels the pending pre-rendering.
+     */
+    public void clear() {
+        cards.clear();
+        pendingNodes.clear();
+    }
+
+    /**
+     * Gets the number of cards found in the cache (DEBUGGING PURPOSES).
+     *
+     * @return The number of cache hits.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of cards rendered when asked for (DEBUGGING PURPOSES).
+     *
+     * @return The number of cache misses.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * A cached card and the modification count of the list when it was rendered.
+     *
+     * @param <C> The type of the card.
+     */
+    private static final class CachedCard<C> {
+        /**
+         * The card.
+         */
+        private final C card;
+
+        /**
+         * The modification count of the list when the card was rendered.
+         */
+        private final int modificationCount;
+
+        /**
+         * Initializes a cached card.
+         *
+         * @param card The card.
+         * @param modificationCount The modification count of the list when the card was rendered.
+         */
+        private CachedCard(C card, int modificationCount) {
+            this.card = card;
+            this.modificationCount = modificationCount;
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package practiceMVC;
+
+// For Swing and native system GUI functionality.
+import javax.swing.JComponent;
+import javax.swing.LookAndFeel;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+// For laying out the text.
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.util.Map;
+
+/**
+ * Component showing the card of an employee: a header with the position of the employee, then the name, employee
+ * number, hire date, phone and email, each after its label (in red when the value is missing), like the HTML text built
+ * by ViewController.buildEmployeeLabel but painted directly, without Swing's HTML engine.
+ * Cards are laid out once, when rendered (see render), into text layouts that only need to be drawn afterwards, and
+ * the fonts and font metrics they use are derived once per font of the component. When a card replaces another one
+ * with the same geometry, only the lines that differ are repainted (e.g. a single modified value, or the header when
+ * the roster grows).
+ * Like any other Swing component, it must only be used on the Event Dispatch Thread.
+ */
+public class EmployeeCardComponent extends JComponent {
+    /**
+     * Version of the serialized form of the component (every JComponent is Serializable).
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Color of the header.
+     */
+    private static final Color HEADER_COLOR = new Color(0x007ACC);
+
+    /**
+     * Color of the labels of the specified values.
+     */
+    private static final Color LABEL_COLOR = new Color(0x008000);
+
+    /**
+     * Color of the labels of the missing values.
+     */
+    private static final Color MISSING_COLOR = Color.RED;
+
+    /**
+     * Labels of the values, in the order they are shown.
+     */
+    private static final String[] FIELD_LABELS = {"Name:", "Employee Number:", "Hire Date:", "Phone:", "Email:"};
+
+    /**
+     * Text shown instead of a missing value.
+     */
+    private static final String NOT_SPECIFIED = "Not specified yet";
+
+    /**
+     * Size of the header font relative to the font of the component.
+     */
+    private static final float HEADER_SCALE = 1.5f;
+
+    /**
+     * Number of characters a value is expected to fit in. The values are laid out at least this wide, so that the card
+     * keeps its geometry (and only its changed lines are repainted) across most employees.
+     */
+    private static final int TYPICAL_VALUE_CHARACTERS = 24;
+
+    /**
+     * Fonts, metrics and label layouts derived from the current font of the component, or null until first needed.
+     */
+    private Fonts fonts;
+
+    /**
+     * The card being shown, or null if the component shows a message.
+     */
+    private Card card;
+
+    /**
+     * The message being shown instead of a card, or null.
+     */
+    private String message;
+
+    /**
+     * Creates a component showing no card, with the font and colors of a label.
+     */
+    public EmployeeCardComponent() {
+        updateUI();
+    }
+
+    /**
+     * Takes the font and colors of a label from the current look and feel.
+     */
+    @Override
+    public void updateUI() {
+        LookAndFeel.installColorsAndFont(this, "Label.background", "Label.foreground", "Label.font");
+    }
+
+    /**
+     * Renders the card of an employee: lays out its text for the current font of the component.
+     *
+     * @param employee The employee.
+     * @param position The position of the employee in the list, starting at 1.
+     * @param totalEmployees The total number of employees in the list.
+     * @return The rendered card, ready to be shown by showCard.
+     */
+    public Card render(EmployeeModel employee, int position, int totalEmployees) {
+        String[] values = {
+                employee.getName(),
+                String.valueOf(employee.getEmployeeNumber()),
+                employee.hasHireDate() ? EpochDays.format(employee.getHireEpochDay()) : null,
+                employee.getPhoneNumber().isEmpty() ? null : employee.getPhoneNumber(),
+                employee.getEmailAddress().isEmpty() ? null : employee.getEmailAddress()
+        };
+        Card card = new Card("Employee #" + position + " of " + totalEmployees, values);
+        card.layOut(fonts());
+        return card;
+    }
+
+    /**
+     * Shows a card. If it has the same geometry as the card being shown, only the lines that differ are repainted.
+     *
+     * @param newCard The card, rendered by this component.
+     */
+    public void showCard(Card newCard) {
+        Card oldCard = card;
+        card = newCard;
+        message = null;
+        Fonts currentFonts = fonts();
+        newCard.layOut(currentFonts);
+
+        if (oldCard == null || oldCard.fonts != currentFonts || oldCard.width != newCard.width) {
+            revalidate();
+            repaint();
+            return;
+        }
+        Rectangle bounds = cardBounds(newCard);
+        if (!oldCard.header.equals(newCard.header)) {
+            repaint(bounds.x, bounds.y, bounds.width, currentFonts.headerHeight);
+        }
+        for (int field = 0; field < FIELD_LABELS.length; field++) {
+            if (!oldCard.text(field).equals(newCard.text(field)) || oldCard.isMissing(field) != newCard.isMissing(field)) {
+                repaint(bounds.x, bounds.y + currentFonts.lineTop(field), bounds.width, currentFonts.lineHeight);
+            }
+        }
+    }
+
+    /**
+     * Shows a message instead of a card (e.g. when there is no employee to show).
+     *
+     * @param text The message.
+     */
+    public void showMessage(String text) {
+        card = null;
+        message = text;
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Gets the card being shown.
+     *
+     * @return The card, or null if the component shows a message.
+     */
+    public Card getCard() {
+        return card;
+    }
+
+    /**
+     * Gets the preferred size of the component: that of its card or message.
+     *
+     * @return The preferred size.
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        Fonts currentFonts = fonts();
+        int width = 0;
+        int height = 0;
+        if (card != null) {
+            card.layOut(currentFonts);
+            width = card.width;
+            height = currentFonts.cardHeight;
+        } else if (message != null) {
+            width = currentFonts.valueMetrics.stringWidth(message);
+            height = currentFonts.lineHeight;
+        }
+        return new Dimension(width + insets.left + insets.right, height + insets.top + insets.bottom);
+    }
+
+    /**
+     * Paints the card or the message, centered in the component. Only the lines within the clip are drawn.
+     *
+     * @param g The graphics to paint with.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (isOpaque()) {
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        // Draw the text as the rest of the desktop does (e.g. with the same antialiasing).
+        Map<?, ?> desktopHints = (Map<?, ?>) Toolkit.getDefaultToolkit().getDesktopProperty("awt.font.desktophints");
+        if (desktopHints != null) {
+            g2.addRenderingHints(desktopHints);
+        }
+        Fonts currentFonts = fonts();
+
+        if (card == null) {
+            if (message != null) {
+                Insets insets = getInsets();
+                int x = insets.left + Math.max(0, (getWidth() - insets.left - insets.right - currentFonts.valueMetrics.stringWidth(message)) / 2);
+                int y = insets.top + Math.max(0, (getHeight() - insets.top - insets.bottom - currentFonts.lineHeight) / 2);
+                g2.setColor(getForeground());
+                g2.setFont(currentFonts.valueFont);
+                g2.drawString(message, x, y + currentFonts.lineAscent);
+            }
+            return;
+        }
+
+        card.layOut(currentFonts);
+        Rectangle bounds = cardBounds(card);
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+
+        // Header.
+        if (clip.y < bounds.y + currentFonts.headerHeight && clip.y + clip.height > bounds.y) {
+            g2.setColor(HEADER_COLOR);
+            card.headerLayout.draw(g2, bounds.x, bounds.y + currentFonts.headerAscent);
+        }
+
+        // Labels and values, one line each.
+        float valueX = bounds.x + currentFonts.labelColumnWidth;
+        for (int field = 0; field < FIELD_LABELS.length; field++) {
+            int top = bounds.y + currentFonts.lineTop(field);
+            if (clip.y >= top + currentFonts.lineHeight || clip.y + clip.height <= top) {
+                continue;
+            }
+            float baseline = top + currentFonts.lineAscent;
+            g2.setColor(card.isMissing(field) ? MISSING_COLOR : LABEL_COLOR);
+            currentFonts.labelLayouts[field].draw(g2, bounds.x, baseline);
+            g2.setColor(getForeground());
+            card.valueLayouts[field].draw(g2, valueX, baseline);
+        }
+    }
+
+    /**
+     * Gets the area taken by a card, centered in the component.
+     *
+     * @param shownCard The card, laid out for the current fonts.
+     * @return Its bounds.
+     */
+    private Rectangle cardBounds(Card shownCard) {
+        Insets insets = getInsets();
+        int availableWidth = getWidth() - insets.left - insets.right;
+        int availableHeight = getHeight() - insets.top - insets.bottom;
+        int x = insets.left + Math.max(0, (availableWidth - shownCard.width) / 2);
+        int y = insets.top + Math.max(0, (availableHeight - fonts.cardHeight) / 2);
+        return new Rectangle(x, y, shownCard.width, fonts.cardHeight);
+    }
+
+    /**
+     * Gets the fonts derived from the current font of the component, deriving them again if the font has changed.
+     *
+     * @return The derived fonts.
+     */
+    private Fonts fonts() {
+        Font font = getFont();
+        if (fonts == null || !fonts.baseFont.equals(font)) {
+            fonts = new Fonts(font, getFontMetrics(font).getFontRenderContext(), this);
+        }
+        return fonts;
+    }
+
+    /**
+     * Lays out a text, which may be empty (TextLayout doesn't accept empty strings).
+     *
+     * @param text The text.
+     * @param font The font.
+     * @param fontRenderContext The font render context.
+     * @return The text layout.
+     */
+    private static TextLayout layOut(String text, Font font, FontRenderContext fontRenderContext) {
+        return new TextLayout(text.isEmpty() ? " " : text, font, fontRenderContext);
+    }
+
+    /**
+     * Fonts, font metrics, label layouts and line geometry derived from a font of the component. Immutable.
+     */
+    private static final class Fonts {
+        /**
+         * The font of the component they were derived from.
+         */
+        private final Font baseFont;
+
+        /**
+         * Font render context the text is laid out with.
+         */
+        private final FontRenderContext fontRenderContext;
+
+        /**
+         * Font of the header (bold and larger).
+         */
+        private final Font headerFont;
+
+        /**
+         * Font of the values (the font of the component).
+         */
+        private final Font valueFont;
+
+        /**
+         * Metrics of the value font.
+         */
+        private final FontMetrics valueMetrics;
+
+        /**
+         * Laid out labels of the values (bold).
+         */
+        private final TextLayout[] labelLayouts;
+
+        /**
+         * Width of the label column, including the space before the values.
+         */
+        private final int labelColumnWidth;
+
+        /**
+         * Minimum width of the value column.
+         */
+        private final int typicalValueWidth;
+
+        /**
+         * Height and ascent of the header line.
+         */
+        private final int headerHeight, headerAscent;
+
+        /**
+         * Height and ascent of a label and value line.
+         */
+        private final int lineHeight, lineAscent;
+
+        /**
+         * Height of a whole card.
+         */
+        private final int cardHeight;
+
+        /**
+         * Derives everything from a font.
+         *
+         * @param baseFont The font of the component.
+         * @param fontRenderContext The font render context of the component.
+         * @param component The component, to get the font metrics from.
+         */
+        private Fonts(Font baseFont, FontRenderContext fontRenderContext, JComponent component) {
+            this.baseFont = baseFont;
+            this.fontRenderContext = fontRenderContext;
+            this.valueFont = baseFont.deriveFont(Font.PLAIN);
+            this.headerFont = baseFont.deriveFont(Font.BOLD, baseFont.getSize2D() * HEADER_SCALE);
+            Font labelFont = baseFont.deriveFont(Font.BOLD);
+
+            this.valueMetrics = component.getFontMetrics(valueFont);
+            FontMetrics labelMetrics = component.getFontMetrics(labelFont);
+            FontMetrics headerMetrics = component.getFontMetrics(headerFont);
+
+            this.labelLayouts = new TextLayout[FIELD_LABELS.length];
+            int widestLabel = 0;
+            for (int field = 0; field < FIELD_LABELS.length; field++) {
+                labelLayouts[field] = layOut(FIELD_LABELS[field], labelFont, fontRenderContext);
+                widestLabel = Math.max(widestLabel, (int) Math.ceil(labelLayouts[field].getAdvance()));
+            }
+            this.labelColumnWidth = widestLabel + valueMetrics.charWidth(' ');
+            this.typicalValueWidth = TYPICAL_VALUE_CHARACTERS * valueMetrics.charWidth('n');
+
+            this.headerHeight = headerMetrics.getHeight();
+            this.headerAscent = headerMetrics.getAscent();
+            this.lineHeight = Math.max(labelMetrics.getHeight(), valueMetrics.getHeight());
+            this.lineAscent = Math.max(labelMetrics.getAscent(), valueMetrics.getAscent());
+            // Header, a blank line, then one line per value.
+            this.cardHeight = headerHeight + (FIELD_LABELS.length + 1) * lineHeight;
+        }
+
+        /**
+         * Gets the top of the line of a value, relative to the top of the card.
+         *
+         * @param field The index of the value.
+         * @return The offset of its line.
+         */
+        private int lineTop(int field) {
+            return headerHeight + (field + 1) * lineHeight;
+        }
+    }
+
+    /**
+     * Card of an employee rendered by an EmployeeCardComponent: its texts, laid out for the fonts of the component.
+     * If the font of the component changes, the card is laid out again the next time it is shown.
+     */
+    public static final class Card {
+        /**
+         * The header text.
+         */
+        private final String header;
+
+        /**
+         * The values, or null for the missing ones.
+         */
+        private final String[] values;
+
+        /**
+         * The fonts the card is laid out for, or null if it isn't laid out yet.
+         */
+        private Fonts fonts;
+
+        /**
+         * The laid out header.
+         */
+        private TextLayout headerLayout;
+
+        /**
+         * The laid out values (or the missing value text).
+         */
+        private TextLayout[] valueLayouts;
+
+        /**
+         * The width of the card.
+         */
+        private int width;
+
+        /**
+         * Initializes a card that isn't laid out yet.
+         *
+         * @param header The header text.
+         * @param values The values, or null for the missing ones.
+         */
+        private Card(String header, String[] values) {
+            this.header = header;
+            this.values = values;
+        }
+
+        /**
+         * Gets the text shown for a value.
+         *
+         * @param field The index of the value.
+         * @return The value, or the missing value text.
+         */
+        private String text(int field) {
+            return values[field] == null ? NOT_SPECIFIED : values[field];
+        }
+
+        /**
+         * Checks if a value is missing.
+         *
+         * @param field The index of the value.
+         * @return True if it is missing.
+         */
+        private boolean isMissing(int field) {
+            return values[field] == null;
+        }
+
+        /**
+         * Lays out the card for some fonts, unless it already is.
+         *
+         * @param newFonts The fonts.
+         */
+        private void layOut(Fonts newFonts) {
+            if (fonts == newFonts) {
+                return;
+            }
+            headerLayout = EmployeeCardComponent.layOut(header, newFonts.headerFont, newFonts.fontRenderContext);
+            valueLayouts = new TextLayout[values.length];
+            int widestValue = newFonts.typicalValueWidth;
+            for (int field = 0; field < values.length; field++) {
+                valueLayouts[field] = EmployeeCardComponent.layOut(text(field), newFonts.valueFont, newFonts.fontRenderContext);
+                widestValue = Math.max(widestValue, (int) Math.ceil(valueLayouts[field].getAdvance()));
+            }
+            width = Math.max((int) Math.ceil(headerLayout.getAdvance()), newFonts.labelColumnWidth + widestValue);
+            fonts = newFonts;
+        }
+
+        /**
+         * Gets the plain text of the card (DEBUGGING PURPOSES).
+         *
+         * @return The header followed by every label and value.
+         */
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(header);
+            for (int field = 0; field < values.length; field++) {
+                text.append(", ").append(FIELD_LABELS[field]).append(' ').append(text(field));
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,554 @@
+package practiceMVC;
+
+// For reading the file.
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+// For the parsed rows and the errors.
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+// For parsing chunks in parallel.
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Imports employees from a CSV file (such as an HR export) into a list.
+ * The file is streamed through a fixed-size buffer and cut into chunks of whole lines. Chunks are parsed and validated
+ * in parallel on a ForkJoinPool, with the same rules as the creation form, and are then added to the list in file
+ * order, each one in a single ListController.addAll (on the Event Dispatch Thread with importFileInBackground, while the
+ * user keeps navigating the list). Only a few chunks are in flight at any time, so memory stays bounded whatever the
+ * size of the file.
+ * Invalid rows (and rows whose employee number is already in use) are reported with their line number and skipped; they
+ * don't abort the import.
+ *
+ * Expected format: one employee per line, with the fields name, employee number, hire date (DD/MM/YYYY), phone and
+ * email, separated by commas. Only the name and the employee number are required; the other fields may be empty or
+ * left out. Fields may be enclosed in double quotes (doubling any quote inside), but can't span several lines. A first
+ * line made of exactly the column names written by EmployeeExporter (see HEADER, in any case) is taken as a header and
+ * skipped. Lines longer than a chunk (1 MB) are reported as errors and skipped without being held in memory.
+ */
+public class EmployeeCsvImporter {
+    /**
+     * Size of the chunks of the file parsed by each task, in bytes.
+     */
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Maximum number of row errors kept in a result. Further errors are only counted.
+     */
+    private static final int MAX_STORED_ERRORS = 1000;
+
+    /**
+     * Number of fields of a complete row.
+     */
+    private static final int FIELD_COUNT = 5;
+
+    /**
+     * Header line of the CSV files written by EmployeeExporter, without its line break.
+     */
+    static final String HEADER = "name,employeeNumber,hireDate,phone,email";
+
+    /**
+     * Pool on which chunks are parsed.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Off-heap store in which the imported employees are kept, or null to keep them in the Java heap.
+     */
+    private final OffHeapEmployeeStore store;
+
+    /**
+     * Initializes an importer that parses on the common ForkJoinPool.
+     */
+    public EmployeeCsvImporter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initializes an importer that parses on the given pool.
+     *
+     * @param pool The pool on which chunks are parsed.
+     */
+    public EmployeeCsvImporter(ForkJoinPool pool) {
+        this(pool, null);
+    }
+
+    /**
+     * Initializes an importer that parses on the given pool and keeps the imported employees off the Java heap.
+     *
+     * @param pool The pool on which chunks are parsed.
+     * @param store The off-heap store in which the imported employees are kept, or null to keep them in the Java heap.
+     *              It should listen to the list, so that the blocks of removed employees are freed.
+     */
+    public EmployeeCsvImporter(ForkJoinPool pool, OffHeapEmployeeStore store) {
+        this.pool = pool;
+        this.store = store;
+    }
+
+    /**
+     * Imports every valid row of a CSV file at the end of a list, in file order.
+     * The list is only modified from the calling thread.
+     *
+     * @param file The CSV file.
+     * @param employeeController The list to add the employees to. It must keep a key index (by employee number).
+     * @return The outcome of the import: number of employees added and row errors.
+     * @throws IOException If the file can't be read.
+     * @throws IllegalStateException If the list keeps no key index.
+     */
+    public Result importFile(Path file, ListController<EmployeeModel> employeeController) throws IOException {
+        ChunkAdder adder = new ChunkAdder(employeeController, store);
+        readChunks(file, adder::add);
+        return adder.result;
+    }
+
+    /**
+     * Imports every valid row of a CSV file at the end of a list owned by the Event Dispatch Thread (EDT), in file
+     * order, while the user keeps navigating it. The file is read and parsed on the calling thread and the pool, and
+     * each chunk is added to the list on the EDT (see ListLoader), where the employee numbers are checked against it.
+     *
+     * @param file The CSV file.
+     * @param employeeController The list to add the employees to, owned by the EDT. It must keep a key index (by
+     *                           employee number).
+     * @return The outcome of the import: number of employees added and row errors.
+     * @throws IOException If the file can't be read.
+     * @throws InterruptedIOException If the calling thread is interrupted; the chunks already handed over to the EDT are
+     *                                still added.
+     * @throws IllegalStateException If called on the EDT, or if the list keeps no key index.
+     */
+    public Result importFileInBackground(Path file, ListController<EmployeeModel> employeeController) throws IOException {
+        ChunkAdder adder = new ChunkAdder(employeeController, store);
+        ListLoader<ParsedChunk> loader = new ListLoader<>(chunks -> chunks.forEach(adder::add), 1, maxInFlight());
+        try {
+            readChunks(file, loader::add);
+            loader.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The import of " + file + " was interrupted.");
+        }
+        return adder.result;
+    }
+
+    /**
+     * Reads a CSV file chunk by chunk, parses the chunks on the pool and hands them over in file order.
+     *
+     * @param file The CSV file.
+     * @param sink Receives the parsed chunks, in file order.
+     * @param <X> The exception thrown by the sink.
+     * @throws IOException If the file can't be read.
+     * @throws X If the sink throws it.
+     */
+    private <X extends Exception> void readChunks(Path file, ChunkSink<X> sink) throws IOException, X {
+        Deque<ForkJoinTask<ParsedChunk>> inFlight = new ArrayDeque<>();
+        int maxInFlight = maxInFlight();
+        boolean firstChunk = true;
+        boolean skippingLine = false;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                endOfFile = channel.read(buffer) < 0;
+                if (skippingLine) {
+                    // Drop the rest of a line that was too long, up to its line break.
+                    int lineBreak = 0;
+                    while (lineBreak < buffer.position() && buffer.get(lineBreak) != '\n') {
+                        lineBreak++;
+                    }
+                    if (lineBreak < buffer.position()) {
+                        skippingLine = false;
+                        buffer.limit(buffer.position()).position(lineBreak + 1);
+                        buffer.compact();
+                    } else {
+                        buffer.clear();
+                    }
+                }
+                if (!endOfFile && buffer.hasRemaining()) {
+                    continue; // Fill the buffer before cutting a chunk.
+                }
+
+                // Cut the buffer after its last line break (or take everything at the end of the file).
+                int end = buffer.position();
+                if (!endOfFile) {
+                    while (end > 0 && buffer.get(end - 1) != '\n') {
+                        end--;
+                    }
+                    if (end == 0) {
+                        // A single line doesn't fit in a chunk: report it in its place, and drop it up to its line break.
+                        inFlight.addLast(pool.submit(ParsedChunk::lineTooLong));
+                        firstChunk = false;
+                        skippingLine = true;
+                        buffer.clear();
+                    }
+                }
+                if (end > 0) {
+                    byte[] chunk = new byte[end];
+                    buffer.get(0, chunk);
+                    inFlight.addLast(pool.submit(new ParseTask(chunk, firstChunk)));
+                    firstChunk = false;
+                }
+                // Keep the incomplete last line for the next chunk.
+                buffer.limit(buffer.position()).position(end);
+                buffer.compact();
+
+                // Hand the oldest chunks over once too many are in flight.
+                while (inFlight.size() >= maxInFlight || (endOfFile && !inFlight.isEmpty())) {
+                    sink.accept(inFlight.removeFirst().join());
+                }
+            }
+        } finally {
+            // Don't leave tasks running if reading failed.
+            for (ForkJoinTask<ParsedChunk> task : inFlight) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of chunks parsed ahead of those being added, which bounds the memory used by an import.
+     *
+     * @return The number of chunks in flight.
+     */
+    private int maxInFlight() {
+        return Math.max(2, 2 * pool.getParallelism());
+    }
+
+    /**
+     * Parses and validates one row.
+     *
+     * @param fields The fields of the row.
+     * @return The employee described by the row.
+     * @throws IllegalArgumentException If the row is invalid, with a message for the user.
+     */
+    static EmployeeModel parseEmployee(List<String> fields) {
+        if (fields.size() > FIELD_COUNT) {
+            throw new IllegalArgumentException("Too many fields (" + fields.size() + ", expected " + FIELD_COUNT + ").");
+        }
+        String name = field(fields, 0);
+        String employeeNumberText = field(fields, 1);
+        String hireDate = field(fields, 2);
+        String phoneNumber = field(fields, 3);
+        String emailAddress = field(fields, 4);
+
+        // Same rules as the creation form.
+        EmployeeValidator.Problem problem = EmployeeValidator.validate(name, employeeNumberText, hireDate, phoneNumber, emailAddress);
+        if (problem != EmployeeValidator.Problem.VALID) {
+            throw new IllegalArgumentException(problem.getMessage());
+        }
+        int employeeNumber = Integer.parseInt(employeeNumberText);
+
+        EmployeeModel employee = new EmployeeModel(name, employeeNumber);
+        if (!hireDate.isEmpty()) {
+            employee.setHireEpochDay(EpochDays.parse(hireDate));
+        }
+        employee.setPhoneNumber(phoneNumber);
+        employee.setEmailAddress(emailAddress);
+        return employee;
+    }
+
+    /**
+     * Gets a trimmed field of a row, or an empty string if the row doesn't have it.
+     *
+     * @param fields The fields of the row.
+     * @param index The index of the field.
+     * @return The field.
+     */
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+
+    /**
+     * Splits a CSV line into fields, handling double-quoted fields.
+     *
+     * @param line The line, without its line break.
+     * @param fields The list to fill with the fields (cleared first).
+     * @throws IllegalArgumentException If a quoted field isn't closed.
+     */
+    static void splitFields(String line, List<String> fields) {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < line.length() && line.charAt(i) == '"') {
+                // Quoted field: read up to the closing quote, turning doubled quotes into one.
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("Unclosed quoted field.");
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                // Ignore anything between the closing quote and the next separator.
+                int separator = line.indexOf(',', i);
+                i = separator < 0 ? line.length() : separator;
+            } else {
+                int separator = line.indexOf(',', i);
+                int end = separator < 0 ? line.length() : separator;
+                field.append(line, i, end);
+                i = end;
+            }
+            fields.add(field.toString());
+            if (i >= line.length()) {
+                return;
+            }
+            i++; // Skip the separator.
+        }
+    }
+
+    /**
+     * Receives the parsed chunks of a file, in file order.
+     *
+     * @param <X> The exception thrown when a chunk can't be received.
+     */
+    private interface ChunkSink<X extends Exception> {
+        /**
+         * Receives the next parsed chunk.
+         *
+         * @param chunk The parsed chunk.
+         * @throws X If the chunk can't be received.
+         */
+        void accept(ParsedChunk chunk) throws X;
+    }
+
+    /**
+     * Adds the parsed chunks of a file to the list, on the thread that owns it, and keeps track of their line numbers.
+     */
+    private static class ChunkAdder {
+        /**
+         * The list.
+         */
+        private final ListController<EmployeeModel> employeeController;
+
+        /**
+         * The off-heap store in which the employees are kept, or null to keep them in the Java heap.
+         */
+        private final OffHeapEmployeeStore store;
+
+        /**
+         * The outcome of the import so far.
+         */
+        private final Result result = new Result();
+
+        /**
+         * The line number of the first line of the next chunk.
+         */
+        private long nextLine = 1;
+
+        /**
+         * Initializes the adder.
+         *
+         * @param employeeController The list.
+         * @param store The off-heap store in which the employees are kept, or null to keep them in the Java heap.
+         */
+        private ChunkAdder(ListController<EmployeeModel> employeeController, OffHeapEmployeeStore store) {
+            this.employeeController = employeeController;
+            this.store = store;
+        }
+
+        /**
+         * Adds the valid employees of the next parsed chunk to the list, skipping those whose employee number is
+         * already in use.
+         *
+         * @param chunk The parsed chunk.
+         */
+        private void add(ParsedChunk chunk) {
+            // Rows rejected while parsing are reported first, then those rejected for their employee number.
+            for (int i = 0; i < chunk.errorLines.size(); i++) {
+                result.addError(nextLine + chunk.errorLines.get(i), chunk.errorMessages.get(i));
+            }
+
+            List<EmployeeModel> accepted = new ArrayList<>(chunk.employees.size());
+            Set<Integer> employeeNumbers = new HashSet<>();
+            for (int i = 0; i < chunk.employees.size(); i++) {
+                EmployeeModel employee = chunk.employees.get(i);
+                int employeeNumber = employee.getEmployeeNumber();
+                if (employeeController.containsKey(employeeNumber) || !employeeNumbers.add(employeeNumber)) {
+                    result.addError(nextLine + chunk.employeeLines.get(i), "Employee number " + employeeNumber + " is already in use.");
+                } else {
+                    // The store isn't thread safe, so employees are only moved off the heap here, on the list's thread.
+                    accepted.add(store == null ? employee : store.copyOf(employee));
+                }
+            }
+            result.importedCount += employeeController.addAll(accepted);
+            nextLine += chunk.lineCount;
+        }
+    }
+
+    /**
+     * Task parsing and validating the lines of one chunk.
+     */
+    private static class ParseTask implements Callable<ParsedChunk> {
+        /**
+         * The bytes of the chunk (whole lines only, except maybe at the end of the file).
+         */
+        private final byte[] chunk;
+
+        /**
+         * Whether this is the first chunk of the file, which may start with a header and a byte order mark.
+         */
+        private final boolean firstChunk;
+
+        /**
+         * Initializes the task.
+         *
+         * @param chunk The bytes of the chunk.
+         * @param firstChunk Whether this is the first chunk of the file.
+         */
+        private ParseTask(byte[] chunk, boolean firstChunk) {
+            this.chunk = chunk;
+            this.firstChunk = firstChunk;
+        }
+
+        @Override
+        public ParsedChunk call() {
+            ParsedChunk parsed = new ParsedChunk();
+            String text = new String(chunk, StandardCharsets.UTF_8);
+            List<String> fields = new ArrayList<>(FIELD_COUNT);
+            int start = firstChunk && text.startsWith("\uFEFF") ? 1 : 0;
+            while (start < text.length()) {
+                int lineBreak = text.indexOf('\n', start);
+                int end = lineBreak < 0 ? text.length() : lineBreak;
+                String line = text.substring(start, end > start && text.charAt(end - 1) == '\r' ? end - 1 : end);
+                int lineIndex = parsed.lineCount++;
+                start = end + 1;
+
+                if (line.isBlank() || (firstChunk && lineIndex == 0 && line.equalsIgnoreCase(HEADER))) {
+                    continue; // Blank line or header.
+                }
+                try {
+                    splitFields(line, fields);
+                    parsed.employees.add(parseEmployee(fields));
+                    parsed.employeeLines.add(lineIndex);
+                } catch (IllegalArgumentException e) {
+                    parsed.errorLines.add(lineIndex);
+                    parsed.errorMessages.add(e.getMessage());
+                }
+            }
+            return parsed;
+        }
+    }
+
+    /**
+     * Outcome of parsing one chunk. Line numbers are relative to the first line of the chunk.
+     */
+    private static class ParsedChunk {
+        /**
+         * Number of lines in the chunk.
+         */
+        private int lineCount = 0;
+
+        /**
+         * Valid employees, in line order.
+         */
+        private final List<EmployeeModel> employees = new ArrayList<>();
+
+        /**
+         * Line of each valid employee.
+         */
+        private final List<Integer> employeeLines = new ArrayList<>();
+
+        /**
+         * Lines of the invalid rows.
+         */
+        private final List<Integer> errorLines = new ArrayList<>();
+
+        /**
+         * Reason why each invalid row was rejected.
+         */
+        private final List<String> errorMessages = new ArrayList<>();
+
+        /**
+         * Creates the outcome of a line too long to fit in a chunk, which is rejected without being parsed.
+         *
+         * @return A chunk of one line, rejected.
+         */
+        private static ParsedChunk lineTooLong() {
+            ParsedChunk parsed = new ParsedChunk();
+            parsed.lineCount = 1;
+            parsed.errorLines.add(0);
+            parsed.errorMessages.add("Line too long (more than " + CHUNK_SIZE + " bytes).");
+            return parsed;
+        }
+    }
+
+    /**
+     * Outcome of an import.
+     */
+    public static class Result {
+        /**
+         * Number of employees added to the list.
+         */
+        private int importedCount = 0;
+
+        /**
+         * Number of rows rejected.
+         */
+        private long errorCount = 0;
+
+        /**
+         * The first rejected rows, as "Line N: reason".
+         */
+        private final List<String> errors = new ArrayList<>();
+
+        /**
+         * Records a rejected row.
+         *
+         * @param line The line number of the row.
+         * @param message The reason why it was rejected.
+         */
+        private void addError(long line, String message) {
+            errorCount++;
+            if (errors.size() < MAX_STORED_ERRORS) {
+                errors.add("Line " + line + ": " + message);
+            }
+        }
+
+        /**
+         * Gets the number of employees added to the list.
+         *
+         * @return The number of imported employees.
+         */
+        public int getImportedCount() {
+            return importedCount;
+        }
+
+        /**
+         * Gets the number of rows rejected.
+         *
+         * @return The number of errors.
+         */
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        /**
+         * Gets the first rejected rows (up to 1000), in line order.
+         *
+         * @return The errors, as "Line N: reason".
+         */
+        public List<String> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+    }
+}
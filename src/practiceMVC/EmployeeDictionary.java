@@ -0,0 +1,208 @@
+package practiceMVC;
+
+// For the canonical instances, forgotten once no employee uses them.
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Canonical instances shared by every EmployeeModel, so that strings that repeat across employees are stored only once:
+ * - Names: equal names share one String, which each employee keeps as is (so getting a name builds nothing).
+ * - Email domains: email addresses are stored as their local part plus a canonical Domain, so a handful of domains serve
+ *   the whole roster, and domains can be compared by reference, with or without case (see Domain.getLowerCase).
+ * The instances are only weakly referenced by the dictionary, so a name or domain is forgotten as soon as no employee,
+ * filter or cache slot uses it anymore: the dictionary follows the rosters alive instead of growing for good.
+ * Employees may be created on several threads (such as the parsing tasks of EmployeeCsvImporter), so the dictionary is
+ * thread safe.
+ */
+public final class EmployeeDictionary {
+    /**
+     * Number of slots of the caches of recently used names and domains (a power of two). They keep at most that many
+     * names and domains alive on their own.
+     */
+    private static final int CACHE_SIZE = 4096;
+
+    /**
+     * Canonical name of each name in use. Guarded by its own lock.
+     */
+    private static final Map<String, WeakReference<String>> NAMES = new WeakHashMap<>();
+
+    /**
+     * Cache of recently interned names, indexed by the hash of the name, so that repeated names are found without
+     * locking. Slots are simply overwritten on collisions, so the cache never grows.
+     */
+    private static final String[] NAME_CACHE = new String[CACHE_SIZE];
+
+    /**
+     * Canonical Domain of each domain in use, as written. Guarded by its own lock.
+     */
+    private static final Map<String, WeakReference<Domain>> DOMAINS = new WeakHashMap<>();
+
+    /**
+     * Cache of recently interned domains, indexed by the hash of the domain, so that the domain of an email address
+     * can be found without cutting it out of the address nor locking. Slots are simply overwritten on collisions.
+     */
+    private static final Domain[] DOMAIN_CACHE = new Domain[CACHE_SIZE];
+
+    /**
+     * This class only offers static methods.
+     */
+    private EmployeeDictionary() {
+    }
+
+    /**
+     * Gets the canonical instance of a name, registering it if no employee uses the name yet.
+     *
+     * @param name The name, or null.
+     * @return A string equal to the name, shared with every other employee with the same name, or null for a null name.
+     */
+    public static String internName(String name) {
+        if (name == null) {
+            return null;
+        }
+        int slot = name.hashCode() & (CACHE_SIZE - 1);
+        String cached = NAME_CACHE[slot];
+        if (cached != null && cached.equals(name)) {
+            return cached;
+        }
+        String canonical;
+        synchronized (NAMES) {
+            WeakReference<String> known = NAMES.get(name);
+            canonical = known == null ? null : known.get();
+            if (canonical == null) {
+                canonical = name;
+                NAMES.put(name, new WeakReference<>(name));
+            }
+        }
+        NAME_CACHE[slot] = canonical;
+        return canonical;
+    }
+
+    /**
+     * Gets the canonical Domain of the lower-case form of a domain, without registering it (so that looking up domains,
+     * such as those typed in a filter, doesn't keep them in the dictionary).
+     *
+     * @param domain The domain, without the at sign.
+     * @return The Domain to compare against Domain.getLowerCase, or null if no email address in use has the domain (in
+     *         any case).
+     */
+    public static Domain findDomain(String domain) {
+        String lowerCase = domain.toLowerCase(Locale.ROOT);
+        synchronized (DOMAINS) {
+            WeakReference<Domain> known = DOMAINS.get(lowerCase);
+            return known == null ? null : known.get();
+        }
+    }
+
+    /**
+     * Gets the canonical Domain of the domain of an email address, registering it if it is new.
+     *
+     * @param emailAddress The email address (the domain follows its last at sign).
+     * @return The Domain, or null if the address has no at sign.
+     */
+    public static Domain domainOf(String emailAddress) {
+        int at = emailAddress.lastIndexOf('@');
+        return at < 0 ? null : internDomain(emailAddress, at + 1);
+    }
+
+    /**
+     * Gets the canonical Domain of a domain that ends a string, registering it if it is new. Recently used domains are
+     * found without cutting them out of the string.
+     *
+     * @param text The string, such as an email address.
+     * @param start The index of the first character of the domain.
+     * @return The Domain.
+     */
+    public static Domain internDomain(String text, int start) {
+        // Same hash as String.hashCode of the domain.
+        int hash = 0;
+        for (int i = start; i < text.length(); i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        int slot = hash & (CACHE_SIZE - 1);
+        int length = text.length() - start;
+        Domain cached = DOMAIN_CACHE[slot];
+        if (cached != null && cached.name.length() == length && cached.name.regionMatches(0, text, start, length)) {
+            return cached;
+        }
+        String name = text.substring(start);
+        String lowerCase = name.toLowerCase(Locale.ROOT);
+        Domain domain;
+        synchronized (DOMAINS) {
+            domain = lowerCase.equals(name) ? canonicalDomain(name, null) : canonicalDomain(name, canonicalDomain(lowerCase, null));
+        }
+        DOMAIN_CACHE[slot] = domain;
+        return domain;
+    }
+
+    /**
+     * Gets the canonical Domain of a domain, registering it if it is new. Called while holding the lock of DOMAINS.
+     *
+     * @param name The domain, as written.
+     * @param lowerCase The Domain of its lower-case form, or null if it is already in lower case.
+     * @return The Domain.
+     */
+    private static Domain canonicalDomain(String name, Domain lowerCase) {
+        WeakReference<Domain> known = DOMAINS.get(name);
+        Domain domain = known == null ? null : known.get();
+        if (domain == null) {
+            domain = new Domain(name, lowerCase);
+            // The key is the name kept by the Domain, so the entry lives exactly as long as the Domain.
+            DOMAINS.put(domain.name, new WeakReference<>(domain));
+        }
+        return domain;
+    }
+
+    /**
+     * Canonical email domain: there is at most one Domain in use per domain as written, so domains are equal if and
+     * only if they are the same object. Immutable, so it can be shared between threads through the plain cache arrays.
+     */
+    public static final class Domain {
+        /**
+         * The domain, as written.
+         */
+        private final String name;
+
+        /**
+         * The Domain of the lower-case form of the domain (this Domain if it is already in lower case). Kept alive by
+         * every domain differing from it only in case.
+         */
+        private final Domain lowerCase;
+
+        /**
+         * Initializes a Domain.
+         *
+         * @param name The domain, as written.
+         * @param lowerCase The Domain of its lower-case form, or null if it is already in lower case.
+         */
+        private Domain(String name, Domain lowerCase) {
+            this.name = name;
+            this.lowerCase = lowerCase == null ? this : lowerCase;
+        }
+
+        /**
+         * Gets the domain, as written.
+         *
+         * @return The domain, without the at sign.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the Domain of the lower-case form of the domain. Two domains are equal ignoring case if and only if
+         * their lower-case Domains are the same object.
+         *
+         * @return The Domain of the lower-case form (this Domain if it is already in lower case).
+         */
+        public Domain getLowerCase() {
+            return lowerCase;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
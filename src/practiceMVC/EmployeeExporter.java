@@ -0,0 +1,390 @@
+package practiceMVC;
+
+// For writing the file.
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+// For detecting changes made to the list during the export.
+import java.util.ConcurrentModificationException;
+// For the optional filter.
+import java.util.function.Predicate;
+
+/**
+ * Exports the employees of a list to a CSV or JSON file, for downstream systems such as payroll.
+ * The list is walked from its first node and every employee is encoded straight into a reusable direct buffer, which is
+ * written to a FileChannel whenever it fills up. No per-employee text is built, so memory stays constant whatever the
+ * size of the roster.
+ * The CSV format is the one EmployeeCsvImporter reads. The JSON format is an array with one object per employee.
+ *
+ * An export may run outside the Event Dispatch Thread, as long as the list isn't modified meanwhile (e.g. while the
+ * buttons that modify it are disabled); it fails with a ConcurrentModificationException if it detects a change.
+ * Interrupting the exporting thread cancels the export. An exporter reuses its buffers, so it must not run two exports
+ * at the same time.
+ */
+public class EmployeeExporter {
+    /**
+     * Supported output formats.
+     */
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    /**
+     * Listener of the progress of an export (e.g. to update a progress bar).
+     */
+    public interface ProgressListener {
+        /**
+         * Called regularly during the export, and once at the end, on the exporting thread. Swing components must be
+         * updated through SwingUtilities.invokeLater.
+         *
+         * @param visited The number of employees visited so far.
+         * @param total The total number of employees in the list.
+         */
+        void progress(int visited, int total);
+    }
+
+    /**
+     * Number of employees visited between two progress notifications.
+     */
+    private static final int PROGRESS_INTERVAL = 8192;
+
+    /**
+     * Size of the encode buffer, in bytes.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Room kept free in the buffer for the longest fixed-size piece of text (numbers, dates, separators).
+     */
+    private static final int RESERVED_BYTES = 64;
+
+    /**
+     * Header of the CSV format.
+     */
+    private static final String CSV_HEADER = EmployeeCsvImporter.HEADER + "\n";
+
+    /**
+     * The output format.
+     */
+    private final Format format;
+
+    /**
+     * Buffer into which employees are encoded, reused for every export.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Builder reused to format dates and numbers.
+     */
+    private final StringBuilder scratch = new StringBuilder(16);
+
+    /**
+     * The file being written during an export.
+     */
+    private FileChannel channel;
+
+    /**
+     * Initializes an exporter.
+     *
+     * @param format The output format.
+     */
+    public EmployeeExporter(Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Exports the employees of a list, in list order. The file is written under a temporary name and renamed at the
+     * end, so a failed or cancelled export never leaves a partial file behind.
+     *
+     * @param employeeController The list to export.
+     * @param file The file to write.
+     * @param filter The condition that exported employees satisfy, or null to export them all.
+     * @param progressListener The listener of the progress, or null.
+     * @return The number of employees exported.
+     * @throws IOException If the file can't be written (including java.nio.channels.ClosedByInterruptException if the
+     *                     thread is interrupted).
+     * @throws ConcurrentModificationException If the list is modified during the export.
+     */
+    public int export(ListController<EmployeeModel> employeeController, Path file, Predicate<? super EmployeeModel> filter,
+                      ProgressListener progressListener) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        int expectedModificationCount = employeeController.getModificationCount();
+        int total = employeeController.getTotalElements();
+        int visited = 0;
+        int exported = 0;
+
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            this.channel = channel;
+            buffer.clear();
+            writeAscii(format == Format.CSV ? CSV_HEADER : "[");
+
+            for (ListController<EmployeeModel>.Node<EmployeeModel> node = employeeController.getFirstNode(); node != null; node = node.getNextNode()) {
+                EmployeeModel employee = node.getMain();
+                if (filter == null || filter.test(employee)) {
+                    if (format == Format.CSV) {
+                        writeCsv(employee);
+                    } else {
+                        writeAscii(exported == 0 ? "\n" : ",\n");
+                        writeJson(employee);
+                    }
+                    exported++;
+                }
+                if (++visited % PROGRESS_INTERVAL == 0) {
+                    checkUnmodified(employeeController, expectedModificationCount);
+                    if (progressListener != null) {
+                        progressListener.progress(visited, total);
+                    }
+                }
+            }
+
+            if (format == Format.JSON) {
+                writeAscii(exported == 0 ? "]\n" : "\n]\n");
+            }
+            flush();
+            checkUnmodified(employeeController, expectedModificationCount);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        } finally {
+            this.channel = null;
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (progressListener != null) {
+            progressListener.progress(visited, total);
+        }
+        return exported;
+    }
+
+    /**
+     * Makes sure that the list hasn't been modified since the export started.
+     *
+     * @param employeeController The list.
+     * @param expectedModificationCount Its modification count when the export started.
+     * @throws ConcurrentModificationException If the list has been modified.
+     */
+    private static void checkUnmodified(ListController<EmployeeModel> employeeController, int expectedModificationCount) {
+        if (employeeController.getModificationCount() != expectedModificationCount) {
+            throw new ConcurrentModificationException("The list was modified during the export.");
+        }
+    }
+
+    /**
+     * Encodes an employee as a CSV line.
+     *
+     * @param employee The employee.
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeCsv(EmployeeModel employee) throws IOException {
+        writeCsvField(employee.getName());
+        writeAscii(',');
+        writeNumber(employee.getEmployeeNumber());
+        writeAscii(',');
+        if (employee.hasHireDate()) {
+            writeDate(employee.getHireEpochDay());
+        }
+        writeAscii(',');
+        writeCsvField(employee.getPhoneNumber());
+        writeAscii(',');
+        writeCsvField(employee.getEmailAddress());
+        writeAscii('\n');
+    }
+
+    /**
+     * Encodes a CSV field, enclosed in double quotes if it contains a separator, a quote or a line break.
+     *
+     * @param value The field.
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeCsvField(String value) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writeText(value);
+            return;
+        }
+        writeAscii('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writeAscii('"'); // Quotes are doubled.
+            }
+            writeChar(value, i, c);
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                i++;
+            }
+        }
+        writeAscii('"');
+    }
+
+    /**
+     * Encodes an employee as a JSON object.
+     *
+     * @param employee The employee.
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeJson(EmployeeModel employee) throws IOException {
+        writeAscii("  {\"name\": ");
+        writeJsonString(employee.getName());
+        writeAscii(", \"employeeNumber\": ");
+        writeNumber(employee.getEmployeeNumber());
+        writeAscii(", \"hireDate\": ");
+        if (employee.hasHireDate()) {
+            writeAscii('"');
+            writeDate(employee.getHireEpochDay());
+            writeAscii('"');
+        } else {
+            writeAscii("null");
+        }
+        writeAscii(", \"phone\": ");
+        writeJsonString(employee.getPhoneNumber());
+        writeAscii(", \"email\": ");
+        writeJsonString(employee.getEmailAddress());
+        writeAscii('}');
+    }
+
+    /**
+     * Encodes a JSON string, escaping quotes, backslashes and control characters.
+     *
+     * @param value The string.
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeJsonString(String value) throws IOException {
+        writeAscii('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writeAscii('\\');
+                writeAscii(c);
+            } else if (c < 0x20) {
+                writeAscii("\\u00");
+                writeAscii(Character.forDigit(c >> 4, 16));
+                writeAscii(Character.forDigit(c & 0xF, 16));
+            } else {
+                writeChar(value, i, c);
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                    i++;
+                }
+            }
+        }
+        writeAscii('"');
+    }
+
+    /**
+     * Encodes a date in DD/MM/YYYY format.
+     *
+     * @param epochDay The date as an epoch day.
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeDate(int epochDay) throws IOException {
+        scratch.setLength(0);
+        writeAscii(EpochDays.formatTo(epochDay, scratch));
+    }
+
+    /**
+     * Encodes a number.
+     *
+     * @param number The number.
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeNumber(int number) throws IOException {
+        scratch.setLength(0);
+        writeAscii(scratch.append(number));
+    }
+
+    /**
+     * Encodes a piece of text in UTF-8.
+     *
+     * @param value The text.
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeText(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            writeChar(value, i, c);
+            if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Encodes one character of a text in UTF-8. A high surrogate is encoded together with the following low surrogate,
+     * which the caller must then skip.
+     *
+     * @param value The text.
+     * @param index The index of the character.
+     * @param c The character.
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeChar(String value, int index, char c) throws IOException {
+        ensureRoom();
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            buffer.put((byte) (0xF0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                    .put((byte) (0x80 | codePoint >> 6 & 0x3F)).put((byte) (0x80 | codePoint & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?'); // Unpaired surrogate, which UTF-8 can't represent.
+        } else {
+            buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+        }
+    }
+
+    /**
+     * Encodes ASCII text.
+     *
+     * @param value The text (ASCII only, e.g. separators, numbers and dates).
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeAscii(CharSequence value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            writeAscii(value.charAt(i));
+        }
+    }
+
+    /**
+     * Encodes an ASCII character.
+     *
+     * @param c The character.
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void writeAscii(char c) throws IOException {
+        ensureRoom();
+        buffer.put((byte) c);
+    }
+
+    /**
+     * Flushes the buffer if it is nearly full, so that any character fits.
+     *
+     * @throws IOException If the buffer can't be flushed.
+     */
+    private void ensureRoom() throws IOException {
+        if (buffer.remaining() < RESERVED_BYTES) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the contents of the buffer to the file and clears it.
+     *
+     * @throws IOException If the buffer can't be written.
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
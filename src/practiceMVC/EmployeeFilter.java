@@ -0,0 +1,197 @@
+package practiceMVC;
+
+// For the underlying condition.
+import java.util.function.Predicate;
+// For comparing domains without case.
+import java.util.Locale;
+
+/**
+ * Class representing a condition on the fields of an employee, which can be combined with other conditions.
+ * Filters are immutable. They only describe the condition; CompiledFilter evaluates them over a whole list.
+ */
+public final class EmployeeFilter {
+    /**
+     * The condition itself.
+     */
+    private final Predicate<EmployeeModel> predicate;
+
+    /**
+     * Human-readable description of the condition, to be shown to the user.
+     */
+    private final String description;
+
+    /**
+     * First hire day (as days since 1970-01-01) that can match, or null if the filter does not require a hire date.
+     * Used to evaluate the filter on the candidates of a HireDateIndex only.
+     */
+    private final Integer fromEpochDay;
+
+    /**
+     * Last hire day (as days since 1970-01-01) that can match, or null if the filter does not require a hire date.
+     */
+    private final Integer toEpochDay;
+
+    /**
+     * Initializes a filter.
+     *
+     * @param predicate The condition.
+     * @param description The description of the condition.
+     * @param fromEpochDay First hire day that can match, or null.
+     * @param toEpochDay Last hire day that can match, or null.
+     */
+    private EmployeeFilter(Predicate<EmployeeModel> predicate, String description, Integer fromEpochDay, Integer toEpochDay) {
+        this.predicate = predicate;
+        this.description = description;
+        this.fromEpochDay = fromEpochDay;
+        this.toEpochDay = toEpochDay;
+    }
+
+    /**
+     * Creates a filter that every employee matches.
+     *
+     * @return The new filter.
+     */
+    public static EmployeeFilter all() {
+        return new EmployeeFilter(employee -> true, "all employees", null, null);
+    }
+
+    /**
+     * Creates a filter matching the employees hired between two years (both included).
+     *
+     * @param fromYear The first year.
+     * @param toYear The last year.
+     * @return The new filter.
+     */
+    public static EmployeeFilter hiredBetweenYears(int fromYear, int toYear) {
+        String description = fromYear == toYear ? "hired in " + fromYear : "hired between " + fromYear + " and " + toYear;
+        int fromEpochDay = EpochDays.of(fromYear, 1, 1);
+        int toEpochDay = EpochDays.of(toYear, 12, 31);
+        // Compare the stored epoch days directly, without building any calendar.
+        return new EmployeeFilter(employee -> employee.hasHireDate() && employee.getHireEpochDay() >= fromEpochDay && employee.getHireEpochDay() <= toEpochDay,
+                description, fromEpochDay, toEpochDay);
+    }
+
+    /**
+     * Creates a filter matching the employees whose email address belongs to a domain (case insensitive).
+     *
+     * @param domain The domain, without the at sign (e.g. "mail.com").
+     * @return The new filter.
+     */
+    public static EmployeeFilter emailDomain(String domain) {
+        // Compare the lower-case forms of the domains by reference, without building any email address. The filter
+        // keeps the canonical domain alive, so employees added later with the domain get the same one.
+        EmployeeDictionary.Domain lowerCase = EmployeeDictionary.findDomain(domain);
+        if (lowerCase == null) {
+            // No employee has the domain: compare the names of the lower-case forms, in case it is added since.
+            String lowerCaseName = domain.toLowerCase(Locale.ROOT);
+            return new EmployeeFilter(employee -> employee.getEmailDomain() != null
+                    && employee.getEmailDomain().getLowerCase().getName().equals(lowerCaseName),
+                    "email domain " + domain, null, null);
+        }
+        return new EmployeeFilter(employee -> employee.getEmailDomain() != null && employee.getEmailDomain().getLowerCase() == lowerCase,
+                "email domain " + domain, null, null);
+    }
+
+    /**
+     * Creates a filter matching the employees whose name starts with a prefix (case insensitive).
+     *
+     * @param prefix The prefix.
+     * @return The new filter.
+     */
+    public static EmployeeFilter namePrefix(String prefix) {
+        return new EmployeeFilter(employee -> employee.getName().regionMatches(true, 0, prefix, 0, prefix.length()),
+                "name starting with \"" + prefix + "\"", null, null);
+    }
+
+    /**
+     * Creates a filter matching the employees without a phone number.
+     *
+     * @return The new filter.
+     */
+    public static EmployeeFilter missingPhone() {
+        return new EmployeeFilter(employee -> employee.getPhoneNumber().isEmpty(), "missing phone", null, null);
+    }
+
+    /**
+     * Combines this filter with another one, so that both must match.
+     *
+     * @param other The other filter.
+     * @return The combined filter.
+     */
+    public EmployeeFilter and(EmployeeFilter other) {
+        // The hire-date bounds of a conjunction are the intersection of both bounds.
+        // (Integer.valueOf keeps the conditional expressions boxed, so that missing bounds aren't unboxed.)
+        Integer from = fromEpochDay == null ? other.fromEpochDay : (other.fromEpochDay == null ? fromEpochDay : Integer.valueOf(Math.max(fromEpochDay, other.fromEpochDay)));
+        Integer to = toEpochDay == null ? other.toEpochDay : (other.toEpochDay == null ? toEpochDay : Integer.valueOf(Math.min(toEpochDay, other.toEpochDay)));
+        return new EmployeeFilter(predicate.and(other.predicate), description + " and " + other.description, from, to);
+    }
+
+    /**
+     * Combines this filter with another one, so that either may match.
+     *
+     * @param other The other filter.
+     * @return The combined filter.
+     */
+    public EmployeeFilter or(EmployeeFilter other) {
+        // Both sides must require a hire date for the disjunction to require one.
+        Integer from = fromEpochDay == null || other.fromEpochDay == null ? null : Math.min(fromEpochDay, other.fromEpochDay);
+        Integer to = toEpochDay == null || other.toEpochDay == null ? null : Math.max(toEpochDay, other.toEpochDay);
+        return new EmployeeFilter(predicate.or(other.predicate), "(" + description + " or " + other.description + ")", from, to);
+    }
+
+    /**
+     * Creates the opposite of this filter.
+     *
+     * @return The negated filter.
+     */
+    public EmployeeFilter negate() {
+        return new EmployeeFilter(predicate.negate(), "not (" + description + ")", null, null);
+    }
+
+    /**
+     * Checks if an employee matches the filter.
+     *
+     * @param employee The employee to check.
+     * @return `true` if the employee matches, `false` otherwise.
+     */
+    public boolean test(EmployeeModel employee) {
+        return predicate.test(employee);
+    }
+
+    /**
+     * Gets the description of the filter.
+     *
+     * @return The human-readable description of the condition.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Gets the first hire day that can match.
+     *
+     * @return The first hire day (days since 1970-01-01), or null if the filter does not require a hire date.
+     */
+    public Integer getFromEpochDay() {
+        return fromEpochDay;
+    }
+
+    /**
+     * Gets the last hire day that can match.
+     *
+     * @return The last hire day (days since 1970-01-01), or null if the filter does not require a hire date.
+     */
+    public Integer getToEpochDay() {
+        return toEpochDay;
+    }
+
+    /**
+     * Returns the description of the filter.
+     *
+     * @return The human-readable description of the condition.
+     */
+    @Override
+    public String toString() {
+        return description;
+    }
+}
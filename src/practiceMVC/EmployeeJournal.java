@@ -0,0 +1,899 @@
+package practiceMVC;
+
+// For the journal file.
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+// For collecting consecutive additions during replay.
+import java.util.ArrayList;
+import java.util.List;
+// For reporting records that can't be written.
+import java.util.function.Consumer;
+// For detecting torn or corrupt records.
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary journal of the changes made to a list of employees, so that the roster survives restarts.
+ * Every add, modification, removal and move made through the list is appended as a compact record (see the format
+ * below) as soon as it happens, and the records of each operation of the list are synced together (see
+ * changesFinished). On startup, replay reads the journal sequentially through memory-mapped windows and
+ * applies the records to a list, which is either empty or already holds a snapshot of the roster.
+ * A crash in the middle of a write can only leave a torn record at the end of the file. Every record carries a checksum,
+ * so replay stops at the first incomplete or corrupt record, keeps everything before it and truncates the rest.
+ *
+ * Records are numbered in the order they were written (their sequence number), starting from the base sequence of the
+ * file. A snapshot of the roster (see EmployeeSnapshotter) stores the sequence number of the first record it doesn't
+ * include, so that replay can skip the records that it already contains, and compaction can drop them from the file.
+ * Compaction writes the remaining records to a new generation of the journal file (see GenerationFiles) rather than
+ * replacing the file in place, since replay may still map it.
+ *
+ * Records are written after the list has changed, so a record that can't be written can't undo the change. The journal
+ * then stops writing (a later record would be applied to a different roster on replay), and reports the failure to its
+ * failure handler (see setFailureHandler) instead of throwing through the listeners of the list.
+ *
+ * File format: a 16-byte header (magic number, format version and base sequence number), followed by records made of:
+ * the length of the body (int), the body (a type byte and its payload) and the CRC32C checksum of the body (int).
+ * Payloads:
+ * - ADD and UPDATE: position (int), employee number (int), hire epoch day (int), then name, phone and email (each as
+ *   an unsigned short length followed by UTF-8 bytes).
+ * - REMOVE: employee number (int).
+ * - MOVE: employee number (int), new position (int).
+ */
+public class EmployeeJournal implements ListController.Listener<EmployeeModel>, Closeable {
+    /**
+     * Magic number at the start of every journal file ("EMPJ").
+     */
+    private static final int MAGIC = 0x454D504A;
+
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the file header, in bytes.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * Record type of an employee added to the list.
+     */
+    private static final byte ADD = 1;
+
+    /**
+     * Record type of an employee modified through the list.
+     */
+    private static final byte UPDATE = 2;
+
+    /**
+     * Record type of an employee removed from the list.
+     */
+    private static final byte REMOVE = 3;
+
+    /**
+     * Record type of an employee moved to another position.
+     */
+    private static final byte MOVE = 4;
+
+    /**
+     * Largest body length accepted by replay. Anything larger can only come from a torn or corrupt length field.
+     */
+    private static final int MAX_BODY_SIZE = 1 + 12 + 3 * (2 + 0xFFFF);
+
+    /**
+     * Largest number of consecutive additions collected during replay before adding them to the list.
+     */
+    private static final int MAX_PENDING_ADDS = 1 << 16;
+
+    /**
+     * Size of the windows in which the journal is mapped during replay.
+     */
+    private static final long REPLAY_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The base journal file, whose name the generation files extend.
+     */
+    private final Path baseFile;
+
+    /**
+     * Generation of the current journal file. Incremented by compaction.
+     */
+    private long generation;
+
+    /**
+     * The path of the current journal file (its latest generation). Replaced by compaction.
+     */
+    private Path file;
+
+    /**
+     * The journal file. Replaced by compaction.
+     */
+    private FileChannel channel;
+
+    /**
+     * Sequence number of the first record of the journal file.
+     */
+    private long baseSequence;
+
+    /**
+     * Offset at which the next record will be written.
+     */
+    private long endOffset;
+
+    /**
+     * Sequence number of the next record that will be written.
+     */
+    private long nextSequence;
+
+    /**
+     * Time during which the last compaction blocked writers, in nanoseconds.
+     */
+    private long lastCompactionPauseNanos;
+
+    /**
+     * Whether the records of every operation of the list are forced to the storage device once the operation is
+     * complete, so that they survive a power failure too.
+     */
+    private final boolean syncChanges;
+
+    /**
+     * Whether records were written since the journal was last forced to the storage device.
+     */
+    private boolean unsynced;
+
+    /**
+     * Buffer reused to encode every record.
+     */
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(256);
+
+    /**
+     * Checksum reused for every record.
+     */
+    private final CRC32C checksum = new CRC32C();
+
+    /**
+     * The first error writing a record, after which nothing is written anymore, or null while the journal works.
+     */
+    private IOException failure;
+
+    /**
+     * Handler of the error that stops the journal, or null if there is none.
+     */
+    private volatile Consumer<? super IOException> failureHandler;
+
+    /**
+     * The list whose changes are being written, or null while detached.
+     */
+    private ListController<EmployeeModel> employeeController;
+
+    /**
+     * Opens the latest generation of a journal file, creating the first one if there is none yet. Older generations
+     * left over by an interrupted compaction are deleted.
+     *
+     * @param file The base journal file, whose name the generation files extend.
+     * @param syncChanges `true` to force the records to the storage device after every operation of the list, such as
+     *                    an add or a whole addAll (safe against power failures), `false` to leave it to the operating
+     *                    system (safe against crashes of the application only).
+     * @throws IOException If the file can't be opened or isn't a journal.
+     */
+    public EmployeeJournal(Path file, boolean syncChanges) throws IOException {
+        this.baseFile = file;
+        this.generation = Math.max(1, GenerationFiles.latestGeneration(file));
+        this.file = GenerationFiles.generationFile(file, generation);
+        this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.syncChanges = syncChanges;
+
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Keep reading until the header is complete (or the file ends).
+            }
+            // Whatever was read must start like the header of a journal (a torn one may only have part of it).
+            ByteBuffer expected = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION).flip();
+            for (int i = 0; i < Math.min(header.position(), expected.limit()); i++) {
+                if (header.get(i) != expected.get(i)) {
+                    throw new IOException("Not an employee journal (or an unsupported version): " + this.file);
+                }
+            }
+            if (header.position() < HEADER_SIZE) {
+                // New, or torn while its header was being written (so it holds no record yet): start it from scratch.
+                restart(0);
+            } else {
+                this.baseSequence = header.getLong(8);
+            }
+            GenerationFiles.deleteGenerationsBefore(file, generation);
+        } catch (IOException e) {
+            // Don't leave the file open when it can't be used.
+            try {
+                channel.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        this.endOffset = channel.size();
+        this.nextSequence = baseSequence;
+    }
+
+    /**
+     * Empties the journal file and gives it a new base sequence number.
+     *
+     * @param sequence The sequence number of the next record.
+     * @throws IOException If the file can't be written.
+     */
+    private void restart(long sequence) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(sequence).flip();
+        channel.truncate(0);
+        writeFully(header, 0);
+        channel.force(true);
+        baseSequence = sequence;
+        endOffset = HEADER_SIZE;
+        nextSequence = sequence;
+    }
+
+    /**
+     * Replays the whole journal into an empty list, then starts writing the changes of the list to the journal.
+     * A torn or corrupt tail is dropped from the file.
+     *
+     * @param employeeController The empty list to fill.
+     * @return The number of records replayed.
+     * @throws IOException If the journal can't be read, or contains a record that can't be applied to the list. The
+     *                     journal is closed in that case.
+     * @throws IllegalStateException If the journal is already attached to a list.
+     */
+    public long replayAndAttach(ListController<EmployeeModel> employeeController) throws IOException {
+        return replayAndAttach(employeeController, 0);
+    }
+
+    /**
+     * Replays the journal into a list restored from a snapshot, skipping the records that the snapshot already
+     * contains, then starts writing the changes of the list to the journal.
+     * A torn or corrupt tail is dropped from the file. If the journal ends before the snapshot (its last records were
+     * lost, but the snapshot has them), it is restarted empty after the snapshot.
+     *
+     * @param employeeController The list to fill, holding the contents of the snapshot (or empty if fromSequence is 0).
+     * @param fromSequence The sequence number of the first record that isn't in the snapshot.
+     * @return The number of records replayed.
+     * @throws IOException If the journal can't be read, misses records that aren't in the snapshot, or contains a
+     *                     record that can't be applied to the list. The journal is closed in that case.
+     * @throws IllegalStateException If the journal is already attached to a list.
+     */
+    public synchronized long replayAndAttach(ListController<EmployeeModel> employeeController, long fromSequence) throws IOException {
+        if (this.employeeController != null) {
+            throw new IllegalStateException("The journal is already attached to a list.");
+        }
+        long records;
+        try {
+            if (fromSequence < baseSequence) {
+                throw new IOException("The journal starts at record " + baseSequence + ", after the end of the snapshot (record " + fromSequence + ").");
+            }
+            long fileSize = channel.size();
+            Checkpoint end = replay(channel, new Checkpoint(baseSequence, HEADER_SIZE, baseSequence), fileSize, fromSequence, employeeController);
+            if (end.offset < fileSize) {
+                // Drop the torn or corrupt tail, so that new records follow the last valid one.
+                channel.truncate(end.offset);
+                channel.force(true);
+            }
+            endOffset = end.offset;
+            nextSequence = end.sequence;
+            records = Math.max(0, end.sequence - fromSequence);
+            if (end.sequence < fromSequence) {
+                // Everything in the journal is already in the snapshot: number the next records after it.
+                restart(fromSequence);
+            }
+        } catch (IOException e) {
+            // The journal can't be trusted, so don't let anything be appended to it.
+            channel.close();
+            throw e;
+        }
+        this.employeeController = employeeController;
+        employeeController.addListener(this);
+        return records;
+    }
+
+    /**
+     * Marks the current end of the journal. Everything written before the checkpoint can later be replayed into a
+     * snapshot (see replayUntil), and then dropped from the journal (see compact).
+     *
+     * @return The current end of the journal.
+     */
+    public synchronized Checkpoint checkpoint() {
+        return new Checkpoint(baseSequence, endOffset, nextSequence);
+    }
+
+    /**
+     * Replays the records of the journal written before a checkpoint into a list, skipping the records that it
+     * already contains. The records are read through a separate read-only channel, so new records can be written to
+     * the journal meanwhile.
+     *
+     * @param employeeController The list to fill, holding a snapshot of the roster (or empty if fromSequence is 0).
+     * @param fromSequence The sequence number of the first record that isn't in the list.
+     * @param checkpoint Where to stop, as returned by checkpoint() since the last compaction.
+     * @return The number of records replayed.
+     * @throws IOException If the journal can't be read, misses records that aren't in the list, or contains a record
+     *                     that can't be applied to the list.
+     * @throws IllegalArgumentException If the checkpoint is older than the last compaction.
+     */
+    public long replayUntil(ListController<EmployeeModel> employeeController, long fromSequence, Checkpoint checkpoint) throws IOException {
+        Path source;
+        synchronized (this) {
+            requireCurrent(checkpoint);
+            source = file;
+        }
+        if (fromSequence < checkpoint.baseSequence) {
+            throw new IOException("The journal starts at record " + checkpoint.baseSequence + ", after the end of the snapshot (record " + fromSequence + ").");
+        }
+        try (FileChannel reader = FileChannel.open(source, StandardOpenOption.READ)) {
+            Checkpoint end = replay(reader, new Checkpoint(checkpoint.baseSequence, HEADER_SIZE, checkpoint.baseSequence), checkpoint.offset, fromSequence, employeeController);
+            if (end.offset != checkpoint.offset) {
+                throw new IOException("Journal record at offset " + end.offset + " is corrupt.");
+            }
+        }
+        return Math.max(0, checkpoint.sequence - fromSequence);
+    }
+
+    /**
+     * Drops the records written before a checkpoint from the journal, once they have been saved in a snapshot.
+     * The records written after the checkpoint are copied to the next generation of the journal file, which then
+     * becomes the current one. The previous generation is deleted rather than replaced, as it may still be mapped by
+     * replay (see replayUntil); if it can't be deleted yet, the next compaction or startup does it. Most of them are copied and forced to the storage device while writers keep appending; writers are
+     * only blocked while the last few records are copied and the files are swapped.
+     * Must not be called by several threads at the same time.
+     *
+     * @param checkpoint The checkpoint, as returned by checkpoint() since the last compaction.
+     * @return The size of the compacted journal, in bytes.
+     * @throws IOException If the journal can't be compacted. The current journal is then left untouched.
+     * @throws IllegalArgumentException If the checkpoint is older than the last compaction.
+     */
+    public long compact(Checkpoint checkpoint) throws IOException {
+        long copiedEnd;
+        FileChannel source;
+        long nextGeneration;
+        synchronized (this) {
+            requireCurrent(checkpoint);
+            copiedEnd = endOffset;
+            source = channel;
+            nextGeneration = generation + 1;
+        }
+        Path temporaryFile = GenerationFiles.temporaryFile(baseFile, nextGeneration);
+        long compactedEnd;
+        FileChannel compacted = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(checkpoint.sequence).flip();
+            while (header.hasRemaining()) {
+                compacted.write(header, header.position());
+            }
+            // Copy what has been written so far without blocking writers (positional reads don't interfere with appends).
+            compactedEnd = HEADER_SIZE + copy(source, checkpoint.offset, copiedEnd, compacted, HEADER_SIZE);
+            compacted.force(true);
+
+            synchronized (this) {
+                long pauseStart = System.nanoTime();
+                compactedEnd += copy(channel, copiedEnd, endOffset, compacted, compactedEnd);
+                compacted.force(true);
+                // The new generation doesn't exist yet, so nothing is replaced.
+                Path compactedFile = GenerationFiles.generationFile(baseFile, nextGeneration);
+                Files.move(temporaryFile, compactedFile, StandardCopyOption.ATOMIC_MOVE);
+
+                FileChannel previous = channel;
+                channel = compacted;
+                file = compactedFile;
+                generation = nextGeneration;
+                baseSequence = checkpoint.sequence;
+                endOffset = compactedEnd;
+                lastCompactionPauseNanos = System.nanoTime() - pauseStart;
+                previous.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            if (compacted.isOpen() && compacted != channel) {
+                compacted.close();
+                Files.deleteIfExists(temporaryFile);
+            }
+            throw e;
+        }
+        try {
+            GenerationFiles.deleteGenerationsBefore(baseFile, nextGeneration);
+        } catch (IOException e) {
+            // The compaction is complete: the previous generation will be deleted by the next one, or on startup.
+        }
+        return compactedEnd;
+    }
+
+    /**
+     * Copies a range of a file to another file.
+     *
+     * @param source The file to copy from.
+     * @param start The offset of the first byte to copy.
+     * @param end The offset after the last byte to copy.
+     * @param target The file to copy to.
+     * @param offset The offset in the target file.
+     * @return The number of bytes copied.
+     * @throws IOException If the range can't be copied.
+     */
+    private static long copy(FileChannel source, long start, long end, FileChannel target, long offset) throws IOException {
+        long position = start;
+        while (position < end) {
+            long copied = target.transferFrom(source.position(position), offset + position - start, end - position);
+            if (copied <= 0) {
+                throw new IOException("The journal ended unexpectedly at offset " + position);
+            }
+            position += copied;
+        }
+        return end - start;
+    }
+
+    /**
+     * Makes sure that a checkpoint was taken since the last compaction.
+     *
+     * @param checkpoint The checkpoint.
+     * @throws IllegalArgumentException If the checkpoint is older than the last compaction.
+     */
+    private void requireCurrent(Checkpoint checkpoint) {
+        if (checkpoint.baseSequence != baseSequence || checkpoint.offset > endOffset) {
+            throw new IllegalArgumentException("The checkpoint is older than the last compaction of the journal.");
+        }
+    }
+
+    /**
+     * Reads the records sequentially through memory-mapped windows and applies them to the list, skipping the ones
+     * that are already in it.
+     *
+     * @param source The journal file.
+     * @param start Where to start reading: the offset and sequence number of the first record.
+     * @param end The offset after the last byte to read.
+     * @param fromSequence The sequence number of the first record to apply.
+     * @param employeeController The list to fill.
+     * @return Where reading stopped: the offset and sequence number after the last valid record.
+     * @throws IOException If the journal can't be read, or contains a record that can't be applied to the list.
+     */
+    private static Checkpoint replay(FileChannel source, Checkpoint start, long end, long fromSequence, ListController<EmployeeModel> employeeController) throws IOException {
+        long windowStart = start.offset;
+        long validEnd = start.offset;
+        long sequence = start.sequence;
+        byte[] stringBytes = new byte[0xFFFF];
+        List<EmployeeModel> pendingAdds = new ArrayList<>();
+        CRC32C replayChecksum = new CRC32C();
+
+        replay:
+        while (windowStart < end) {
+            MappedByteBuffer window = source.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(REPLAY_WINDOW_SIZE, end - windowStart));
+            while (true) {
+                int recordStart = window.position();
+                if (window.remaining() < 4) {
+                    break; // The next length field continues in the next window, or is torn.
+                }
+                int bodySize = window.getInt(recordStart);
+                if (bodySize < 1 || bodySize > MAX_BODY_SIZE) {
+                    break replay; // Corrupt length field.
+                }
+                if (window.remaining() < 4 + bodySize + 4) {
+                    break; // The record continues in the next window, or is torn.
+                }
+
+                // Check the body before applying anything.
+                ByteBuffer body = window.slice(recordStart + 4, bodySize);
+                replayChecksum.reset();
+                replayChecksum.update(body);
+                if ((int) replayChecksum.getValue() != window.getInt(recordStart + 4 + bodySize)) {
+                    break replay; // Torn or corrupt record.
+                }
+
+                if (sequence >= fromSequence) {
+                    body.rewind();
+                    try {
+                        apply(employeeController, body, stringBytes, pendingAdds);
+                    } catch (RuntimeException e) {
+                        throw new IOException("Journal record at offset " + (windowStart + recordStart) + " can't be applied.", e);
+                    }
+                }
+                sequence++;
+                window.position(recordStart + 4 + bodySize + 4);
+                validEnd = windowStart + window.position();
+            }
+            if (validEnd == windowStart) {
+                break; // Not even one whole record fits in what is left of the file: the tail is torn.
+            }
+            // Map the next window from the first record that didn't fit completely in this one.
+            windowStart = validEnd;
+        }
+
+        try {
+            addPending(employeeController, pendingAdds);
+        } catch (RuntimeException e) {
+            throw new IOException("Journal records before offset " + validEnd + " can't be applied.", e);
+        }
+        return new Checkpoint(start.baseSequence, validEnd, sequence);
+    }
+
+    /**
+     * Applies a record to the list. Consecutive additions at the end of the list are collected and added in a single
+     * ListController.addAll, before any other record is applied.
+     *
+     * @param employeeController The list.
+     * @param body The body of the record (type and payload).
+     * @param stringBytes Scratch array for decoding strings.
+     * @param pendingAdds Employees waiting to be added at the end of the list.
+     */
+    private static void apply(ListController<EmployeeModel> employeeController, ByteBuffer body, byte[] stringBytes, List<EmployeeModel> pendingAdds) {
+        byte type = body.get();
+        if (type == ADD) {
+            int position = body.getInt();
+            EmployeeModel employee = new EmployeeModel("", body.getInt());
+            readFields(body, employee, stringBytes);
+            if (position == employeeController.getTotalElements() + pendingAdds.size()) {
+                pendingAdds.add(employee);
+                if (pendingAdds.size() == MAX_PENDING_ADDS) {
+                    addPending(employeeController, pendingAdds);
+                }
+            } else {
+                addPending(employeeController, pendingAdds);
+                employeeController.insertBefore(employeeController.getNode(position), employee);
+            }
+            return;
+        }
+        addPending(employeeController, pendingAdds);
+
+        switch (type) {
+            case UPDATE: {
+                ListController<EmployeeModel>.Node<EmployeeModel> node = employeeController.getNode(body.getInt());
+                int employeeNumber = body.getInt();
+                employeeController.update(node, employeeNumber, employee -> {
+                    employee.setEmployeeNumber(employeeNumber);
+                    readFields(body, employee, stringBytes);
+                });
+                break;
+            }
+            case REMOVE:
+                employeeController.removeNode(requireNode(employeeController, body.getInt()));
+                break;
+            case MOVE:
+                employeeController.moveTo(requireNode(employeeController, body.getInt()), body.getInt());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown record type: " + type);
+        }
+    }
+
+    /**
+     * Adds the collected employees at the end of the list at once.
+     *
+     * @param employeeController The list.
+     * @param pendingAdds Employees waiting to be added at the end of the list. Emptied afterwards.
+     */
+    private static void addPending(ListController<EmployeeModel> employeeController, List<EmployeeModel> pendingAdds) {
+        if (!pendingAdds.isEmpty()) {
+            employeeController.addAll(pendingAdds);
+            pendingAdds.clear();
+        }
+    }
+
+    /**
+     * Reads the hire date, name, phone and email of a record into an employee.
+     *
+     * @param body The body of the record, positioned at the hire date.
+     * @param employee The employee to fill.
+     * @param stringBytes Scratch array for decoding strings.
+     */
+    private static void readFields(ByteBuffer body, EmployeeModel employee, byte[] stringBytes) {
+        employee.setHireEpochDay(body.getInt());
+        employee.setName(readString(body, stringBytes));
+        employee.setPhoneNumber(readString(body, stringBytes));
+        employee.setEmailAddress(readString(body, stringBytes));
+    }
+
+    /**
+     * Reads a string (unsigned short length and UTF-8 bytes).
+     *
+     * @param body The buffer to read from.
+     * @param stringBytes Scratch array for decoding strings.
+     * @return The string.
+     */
+    private static String readString(ByteBuffer body, byte[] stringBytes) {
+        int length = Short.toUnsignedInt(body.getShort());
+        body.get(stringBytes, 0, length);
+        return new String(stringBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Looks up the node of an employee number, which must exist.
+     *
+     * @param employeeController The list.
+     * @param employeeNumber The employee number.
+     * @return The node of the employee.
+     * @throws IllegalArgumentException If no employee has that number.
+     */
+    private static ListController<EmployeeModel>.Node<EmployeeModel> requireNode(ListController<EmployeeModel> employeeController, int employeeNumber) {
+        ListController<EmployeeModel>.Node<EmployeeModel> node = employeeController.lookupByKey(employeeNumber);
+        if (node == null) {
+            throw new IllegalArgumentException("No employee with number " + employeeNumber);
+        }
+        return node;
+    }
+
+    /**
+     * Writes an ADD record for a node that has just been added to the list.
+     *
+     * @param node The added node.
+     */
+    @Override
+    public synchronized void nodeAdded(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        if (failure == null) {
+            try {
+                writeEmployee(ADD, node);
+            } catch (IOException e) {
+                stopWriting(e);
+            }
+        }
+    }
+
+    /**
+     * Writes a REMOVE record for a node that has just been removed from the list.
+     *
+     * @param node The removed node.
+     */
+    @Override
+    public synchronized void nodeRemoved(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        if (failure == null) {
+            try {
+                ByteBuffer buffer = startRecord(REMOVE, 4);
+                buffer.putInt(node.getMain().getEmployeeNumber());
+                finishRecord(buffer);
+            } catch (IOException e) {
+                stopWriting(e);
+            }
+        }
+    }
+
+    /**
+     * Writes an UPDATE record for a node whose employee has just been modified.
+     *
+     * @param node The updated node.
+     */
+    @Override
+    public synchronized void nodeUpdated(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        if (failure == null) {
+            try {
+                writeEmployee(UPDATE, node);
+            } catch (IOException e) {
+                stopWriting(e);
+            }
+        }
+    }
+
+    /**
+     * Writes a MOVE record for a node that has just been moved.
+     *
+     * @param node The moved node.
+     */
+    @Override
+    public synchronized void nodeMoved(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        if (failure == null) {
+            try {
+                ByteBuffer buffer = startRecord(MOVE, 8);
+                buffer.putInt(node.getMain().getEmployeeNumber());
+                buffer.putInt(employeeController.getPosition(node));
+                finishRecord(buffer);
+            } catch (IOException e) {
+                stopWriting(e);
+            }
+        }
+    }
+
+    /**
+     * Forces the records of the operation that has just completed to the storage device, if requested, with a single
+     * sync however many records the operation wrote (group commit).
+     */
+    @Override
+    public synchronized void changesFinished() {
+        if (failure == null && syncChanges && unsynced) {
+            try {
+                channel.force(false);
+                unsynced = false;
+            } catch (IOException e) {
+                stopWriting(e);
+            }
+        }
+    }
+
+    /**
+     * Stops writing records after one couldn't be written, and reports the failure.
+     *
+     * @param writeFailure The error writing the record.
+     */
+    private void stopWriting(IOException writeFailure) {
+        failure = writeFailure;
+        Consumer<? super IOException> handler = failureHandler;
+        if (handler != null) {
+            handler.accept(writeFailure);
+        }
+    }
+
+    /**
+     * Sets the handler of the error that stops the journal. It is called once, on the thread that changed the list,
+     * after the list has been changed, so it must not change the list itself.
+     *
+     * @param failureHandler The handler, or null to only keep the failure for getFailure.
+     */
+    public void setFailureHandler(Consumer<? super IOException> failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Gets the error that stopped the journal, if any. The changes made since then aren't saved.
+     *
+     * @return The error, or null if the journal works.
+     */
+    public synchronized IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Writes an ADD or UPDATE record, which holds the position and every field of the employee.
+     * Updates are located by position rather than by employee number, because the number itself may have changed.
+     *
+     * @param type The record type.
+     * @param node The node of the employee.
+     * @throws IOException If the record can't be written.
+     */
+    private void writeEmployee(byte type, ListController<EmployeeModel>.Node<EmployeeModel> node) throws IOException {
+        EmployeeModel employee = node.getMain();
+        byte[] name = encode(employee.getName());
+        byte[] phone = encode(employee.getPhoneNumber());
+        byte[] email = encode(employee.getEmailAddress());
+
+        ByteBuffer buffer = startRecord(type, 12 + 6 + name.length + phone.length + email.length);
+        buffer.putInt(employeeController.getPosition(node));
+        buffer.putInt(employee.getEmployeeNumber());
+        buffer.putInt(employee.getHireEpochDay());
+        buffer.putShort((short) name.length).put(name);
+        buffer.putShort((short) phone.length).put(phone);
+        buffer.putShort((short) email.length).put(email);
+        finishRecord(buffer);
+    }
+
+    /**
+     * Encodes a string to UTF-8, making sure that its length fits in a record.
+     *
+     * @param value The string.
+     * @return The UTF-8 bytes.
+     * @throws IOException If the encoded string is longer than 65535 bytes.
+     */
+    private static byte[] encode(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("Text too long to be saved: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * Prepares the write buffer for a record, leaving room for its length.
+     *
+     * @param type The record type.
+     * @param payloadSize The size of the payload, in bytes.
+     * @return The write buffer, positioned at the payload.
+     */
+    private ByteBuffer startRecord(byte type, int payloadSize) {
+        int recordSize = 4 + 1 + payloadSize + 4;
+        if (writeBuffer.capacity() < recordSize) {
+            writeBuffer = ByteBuffer.allocate(Math.max(recordSize, 2 * writeBuffer.capacity()));
+        }
+        writeBuffer.clear();
+        writeBuffer.putInt(1 + payloadSize).put(type);
+        return writeBuffer;
+    }
+
+    /**
+     * Appends the checksum to the record in the write buffer and writes it at the end of the journal.
+     *
+     * @param buffer The write buffer, positioned at the end of the payload.
+     * @throws IOException If the record can't be written.
+     */
+    private void finishRecord(ByteBuffer buffer) throws IOException {
+        checksum.reset();
+        checksum.update(buffer.array(), 4, buffer.position() - 4);
+        buffer.putInt((int) checksum.getValue());
+        buffer.flip();
+        int recordSize = buffer.remaining();
+        writeFully(buffer, endOffset);
+        unsynced = true;
+        endOffset += recordSize;
+        nextSequence++;
+    }
+
+    /**
+     * Writes a whole buffer at a given offset of the journal.
+     *
+     * @param buffer The buffer to write.
+     * @param offset The offset in the file.
+     * @throws IOException If the buffer can't be written.
+     */
+    private void writeFully(ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Gets the size of the journal, in bytes.
+     *
+     * @return The size of the journal.
+     */
+    public synchronized long size() {
+        return endOffset;
+    }
+
+    /**
+     * Gets the time during which the last compaction blocked writers.
+     *
+     * @return The pause, in nanoseconds, or 0 if the journal has never been compacted.
+     */
+    public synchronized long getLastCompactionPauseNanos() {
+        return lastCompactionPauseNanos;
+    }
+
+    /**
+     * Stops writing the changes of the list and closes the journal file.
+     *
+     * @throws IOException If the file can't be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (employeeController != null) {
+            employeeController.removeListener(this);
+            employeeController = null;
+        }
+        channel.close();
+    }
+
+    /**
+     * Position in the journal: the offset and sequence number of the next record at the time the checkpoint was taken.
+     * Only valid until the journal is compacted.
+     */
+    public static final class Checkpoint {
+        /**
+         * Base sequence number of the journal file the checkpoint belongs to.
+         */
+        private final long baseSequence;
+
+        /**
+         * Offset of the next record in the journal file.
+         */
+        private final long offset;
+
+        /**
+         * Sequence number of the next record.
+         */
+        private final long sequence;
+
+        /**
+         * Initializes a checkpoint.
+         *
+         * @param baseSequence Base sequence number of the journal file.
+         * @param offset Offset of the next record.
+         * @param sequence Sequence number of the next record.
+         */
+        private Checkpoint(long baseSequence, long offset, long sequence) {
+            this.baseSequence = baseSequence;
+            this.offset = offset;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Gets the sequence number of the first record written after the checkpoint, which is the number to store in
+         * a snapshot taken at the checkpoint.
+         *
+         * @return The sequence number.
+         */
+        public long getSequence() {
+            return sequence;
+        }
+    }
+}
@@ -1,26 +1,47 @@
 package practiceMVC;
 
 // For working with dates and times
+import java.util.Calendar;
 import java.util.GregorianCalendar;
+// For storing the email local part compactly.
+import java.nio.charset.StandardCharsets;
 
 /**
  * Class for storing and managing employee information.
+ * Names and email addresses are stored through EmployeeDictionary, so that the names and email domains shared by many
+ * employees are stored only once: a name as its canonical string, returned as is, and an email address as its local
+ * part (UTF-8 bytes) plus its canonical domain, rebuilt when requested.
  */
 public class EmployeeModel {
+    /**
+     * Value of the hire date (as an epoch day) of employees whose hire date is not specified.
+     */
+    public static final int NO_HIRE_DATE = Integer.MIN_VALUE;
+
+    /**
+     * Local part of empty email addresses, shared by every employee without one.
+     */
+    private static final byte[] NO_BYTES = new byte[0];
+
     /**
      * Stores the unique identifier for the employee.
      */
     private int employeeNumber;
 
     /**
-     * Stores the employee's name.
+     * Stores the employee's name, as its canonical instance in EmployeeDictionary.
      */
     private String name;
 
     /**
-     * Stores the date when the employee was hired.
+     * Stores the date when the employee was hired, as a number of days since 1970-01-01 (NO_HIRE_DATE if not specified).
      */
-    private GregorianCalendar hireDate;
+    private int hireEpochDay;
+
+    /**
+     * GregorianCalendar view of the hire date, created the first time it is requested.
+     */
+    private GregorianCalendar hireDateView;
 
     /**
      * Stores the employee's phone number.
@@ -28,9 +49,15 @@ public class EmployeeModel {
     private String phoneNumber;
 
     /**
-     * Stores the employee's email address.
+     * Stores the part of the employee's email address before its last at sign (the whole address if it has none), in UTF-8.
+     */
+    private byte[] emailLocalPart;
+
+    /**
+     * Stores the canonical domain of the employee's email address in EmployeeDictionary, or null if the address has no
+     * at sign.
      */
-    private String emailAddress;
+    private EmployeeDictionary.Domain emailDomain;
 
     /**
      * Constructor for creating an EmployeeModel object.
@@ -43,11 +70,10 @@ public class EmployeeModel {
      */
     public EmployeeModel(String name, int employeeNumber, String hireDate, String phoneNumber, String emailAddress) {
         this.employeeNumber = employeeNumber;
-        this.name = name;
-        this.hireDate = createGregorianCalendar(hireDate);
+        this.name = EmployeeDictionary.internName(name);
+        this.hireEpochDay = EpochDays.parse(hireDate);
         this.phoneNumber = phoneNumber;
-        this.emailAddress = emailAddress;
-
+        storeEmailAddress(emailAddress);
     }
 
     /**
@@ -58,11 +84,12 @@ public class EmployeeModel {
      */
     public EmployeeModel(String name, int employeeNumber) {
         this.employeeNumber = employeeNumber;
-        this.name = name;
+        this.name = EmployeeDictionary.internName(name);
         // Initialize hireDate, phoneNumber, and emailAddress to default values.
-        this.hireDate = null;
+        this.hireEpochDay = NO_HIRE_DATE;
         this.phoneNumber = "";
-        this.emailAddress = "";
+        this.emailLocalPart = NO_BYTES;
+        this.emailDomain = null;
     }
 
     // Getter methods for retrieving employee data.
@@ -87,11 +114,43 @@ public class EmployeeModel {
 
     /**
      * Getter method for retrieving the date when the employee was hired.
+     * The calendar is derived from the stored epoch day the first time it is requested. Changes made to the returned
+     * calendar are not reflected in the employee; use setHireDate instead.
      *
-     * @return A GregorianCalendar instance representing the date of hire.
+     * @return A GregorianCalendar instance representing the date of hire, or null if it is not specified.
      */
     public GregorianCalendar getHireDate() {
-        return hireDate;
+        if (hireDateView == null && hireEpochDay != NO_HIRE_DATE) {
+            hireDateView = new GregorianCalendar(EpochDays.year(hireEpochDay), EpochDays.month(hireEpochDay) - 1, EpochDays.dayOfMonth(hireEpochDay));
+        }
+        return hireDateView;
+    }
+
+    /**
+     * Getter method for retrieving the date when the employee was hired, as stored.
+     *
+     * @return The number of days between 1970-01-01 and the date of hire, or NO_HIRE_DATE if it is not specified.
+     */
+    public int getHireEpochDay() {
+        return hireEpochDay;
+    }
+
+    /**
+     * Checks if the hire date of the employee is specified.
+     *
+     * @return `true` if the employee has a hire date, `false` otherwise.
+     */
+    public boolean hasHireDate() {
+        return getHireEpochDay() != NO_HIRE_DATE;
+    }
+
+    /**
+     * Getter method for retrieving the year when the employee was hired, without building any calendar.
+     *
+     * @return The year of hire. Only meaningful if hasHireDate() is true.
+     */
+    public int getHireYear() {
+        return EpochDays.year(getHireEpochDay());
     }
 
     /**
@@ -109,7 +168,19 @@ public class EmployeeModel {
      * @return The email address of the employee.
      */
     public String getEmailAddress() {
-        return emailAddress;
+        String localPart = emailLocalPart.length == 0 ? "" : new String(emailLocalPart, StandardCharsets.UTF_8);
+        return emailDomain == null ? localPart : localPart + "@" + emailDomain.getName();
+    }
+
+    /**
+     * Getter method for retrieving the domain of the employee's email address, as its canonical instance in
+     * EmployeeDictionary. Domains can be compared by reference: two employees share a domain if and only if they have
+     * the same Domain (and ignoring case if and only if they have the same Domain.getLowerCase).
+     *
+     * @return The domain, or null if the email address has no at sign.
+     */
+    public EmployeeDictionary.Domain getEmailDomain() {
+        return emailDomain;
     }
 
     // Setter methods for modifying employee data.
@@ -129,16 +200,31 @@ public class EmployeeModel {
      * @param name The new name of the employee.
      */
     public void setName(String name) {
-        this.name = name;
+        this.name = EmployeeDictionary.internName(name);
     }
 
     /**
      * Setter method for modifying the date when the employee was hired.
      *
-     * @param hireDate A GregorianCalendar instance representing the new date of hire.
+     * @param hireDate A GregorianCalendar instance representing the new date of hire, or null to leave it unspecified.
      */
     public void setHireDate(GregorianCalendar hireDate) {
-        this.hireDate = hireDate;
+        if (hireDate == null) {
+            setHireEpochDay(NO_HIRE_DATE);
+        } else {
+            setHireEpochDay(EpochDays.of(hireDate.get(Calendar.YEAR), hireDate.get(Calendar.MONTH) + 1, hireDate.get(Calendar.DAY_OF_MONTH)));
+        }
+    }
+
+    /**
+     * Setter method for modifying the date when the employee was hired, given as an epoch day.
+     *
+     * @param hireEpochDay The number of days between 1970-01-01 and the new date of hire, or NO_HIRE_DATE.
+     */
+    public void setHireEpochDay(int hireEpochDay) {
+        this.hireEpochDay = hireEpochDay;
+        // The calendar view will be derived again when requested.
+        this.hireDateView = null;
     }
 
     /**
@@ -156,7 +242,29 @@ public class EmployeeModel {
      * @param emailAddress The new email address of the employee.
      */
     public void setEmailAddress(String emailAddress) {
-        this.emailAddress = emailAddress;
+        storeEmailAddress(emailAddress);
+    }
+
+    /**
+     * Splits an email address into its local part and its canonical domain.
+     *
+     * @param emailAddress The email address.
+     */
+    private void storeEmailAddress(String emailAddress) {
+        int at = emailAddress.lastIndexOf('@');
+        int localLength = at < 0 ? emailAddress.length() : at;
+        byte[] localPart = localLength == 0 ? NO_BYTES : new byte[localLength];
+        for (int i = 0; i < localLength; i++) {
+            char c = emailAddress.charAt(i);
+            if (c >= 0x80) {
+                // Not ASCII: let the encoder deal with it.
+                localPart = emailAddress.substring(0, localLength).getBytes(StandardCharsets.UTF_8);
+                break;
+            }
+            localPart[i] = (byte) c;
+        }
+        this.emailLocalPart = localPart;
+        this.emailDomain = at < 0 ? null : EmployeeDictionary.internDomain(emailAddress, at + 1);
     }
 
     /**
@@ -165,15 +273,10 @@ public class EmployeeModel {
      * @return A GregorianCalendar instance representing the provided date.
      */
     public GregorianCalendar createGregorianCalendar(String date) {
-        // Split the date string into day, month, and year parts using the slash (/) as a delimiter.
-        String[] parts = date.split("/");
-        // Extract day, month (adjusted for zero-based indexing) and year.
-        int day = Integer.parseInt(parts[0]);
-        int month = Integer.parseInt(parts[1]) - 1; // Calendar months are zero-based.
-        int year = Integer.parseInt(parts[2]);
-
-        // Create and return the GregorianCalendar instance.
-        return new GregorianCalendar(year, month, day);
+        // Parse the date without splitting it, then build the calendar from the normalized fields.
+        int epochDay = EpochDays.parse(date);
+        // Calendar months are zero-based.
+        return new GregorianCalendar(EpochDays.year(epochDay), EpochDays.month(epochDay) - 1, EpochDays.dayOfMonth(epochDay));
     }
 
     /**
@@ -183,7 +286,7 @@ public class EmployeeModel {
      */
     @Override
     public String toString() {
-        return name + " " + employeeNumber + " " + hireDate + " " + phoneNumber + " " + emailAddress;
+        return getName() + " " + employeeNumber + " " + (hasHireDate() ? EpochDays.format(hireEpochDay) : "null") + " " + phoneNumber + " " + getEmailAddress();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,578 @@
+package practiceMVC;
+
+// For the record file.
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+// For adding the views to a list at once.
+import java.util.ArrayList;
+import java.util.List;
+// For the calendar view of the hire date.
+import java.util.GregorianCalendar;
+
+/**
+ * Read-only roster file made of fixed-width record slots plus a heap of strings, opened through memory mapping.
+ * Opening a file only maps it, whatever its size, so it is near-instant. Fields are read straight from the mapped
+ * buffers when requested: numbers and hire dates from the slot of the employee, and strings from the heap. Views (see
+ * view) keep reading from the file until they are modified, so the heap only holds the employees that were changed.
+ * The file also stores a sequence number, which EmployeeSnapshotter uses to know which journal records it contains.
+ *
+ * File format: a 40-byte header (magic number, version, number of records, offset and size of the string heap,
+ * sequence number),
+ * the record slots (32 bytes each: employee number, hire epoch day, and references to the name, phone and email), and
+ * the string heap (UTF-8 bytes, one string after the other). A string reference packs the offset of the string in the
+ * heap (upper 48 bits) and its length in bytes (lower 16 bits).
+ */
+public class EmployeeRecordFile implements Closeable {
+    /**
+     * Magic number at the start of every record file ("EMPR").
+     */
+    private static final int MAGIC = 0x454D5052;
+
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the file header, in bytes.
+     */
+    private static final int HEADER_SIZE = 40;
+
+    /**
+     * Size of a record slot, in bytes.
+     */
+    private static final int SLOT_SIZE = 32;
+
+    /**
+     * Longest string that can be stored, in UTF-8 bytes.
+     */
+    private static final int MAX_STRING_SIZE = 0xFFFF;
+
+    /**
+     * Size of the mapped segments (a single buffer can't map more than 2 GB). Slots never cross segments, and heap
+     * segments overlap by MAX_STRING_SIZE bytes so that strings don't either.
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    /**
+     * Size of the buffers used to write a file.
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Number of records in the file.
+     */
+    private final int size;
+
+    /**
+     * Sequence number stored in the file.
+     */
+    private final long sequence;
+
+    /**
+     * Mapped segments of the record slots.
+     */
+    private final MappedByteBuffer[] slotSegments;
+
+    /**
+     * Mapped segments of the string heap.
+     */
+    private final MappedByteBuffer[] heapSegments;
+
+    /**
+     * Size of the string heap, in bytes.
+     */
+    private final long heapSize;
+
+    /**
+     * The path of the file, for error messages.
+     */
+    private final Path file;
+
+    /**
+     * Maps a record file.
+     *
+     * @param channel The open file.
+     * @param file The path of the file, for error messages.
+     * @throws IOException If the file can't be mapped or isn't a record file.
+     */
+    private EmployeeRecordFile(FileChannel channel, Path file) throws IOException {
+        this.channel = channel;
+        this.file = file;
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Not an employee record file: " + file);
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("Not an employee record file (or an unsupported version): " + file);
+        }
+        long count = header.getLong(8);
+        long heapOffset = header.getLong(16);
+        long heapSize = header.getLong(24);
+        if (count < 0 || count > Integer.MAX_VALUE || heapOffset != HEADER_SIZE + count * SLOT_SIZE || heapSize < 0 || heapOffset + heapSize > channel.size()) {
+            throw new IOException("Corrupt employee record file: " + file);
+        }
+        this.size = (int) count;
+        this.sequence = header.getLong(32);
+        this.heapSize = heapSize;
+
+        long slotsSize = count * SLOT_SIZE;
+        slotSegments = new MappedByteBuffer[(int) ((slotsSize + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        for (int i = 0; i < slotSegments.length; i++) {
+            long start = i * SEGMENT_SIZE;
+            slotSegments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + start, Math.min(SEGMENT_SIZE, slotsSize - start));
+        }
+        heapSegments = new MappedByteBuffer[(int) ((heapSize + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        for (int i = 0; i < heapSegments.length; i++) {
+            long start = i * SEGMENT_SIZE;
+            heapSegments[i] = channel.map(FileChannel.MapMode.READ_ONLY, heapOffset + start, Math.min(SEGMENT_SIZE + MAX_STRING_SIZE, heapSize - start));
+        }
+    }
+
+    /**
+     * Opens a record file. Only the header is read; the rest is mapped and read on demand.
+     *
+     * @param file The record file.
+     * @return The open file.
+     * @throws IOException If the file can't be opened or isn't a record file.
+     */
+    public static EmployeeRecordFile open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new EmployeeRecordFile(channel, file);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes every employee of a list to a record file, in list order, with constant memory.
+     * The file is written under a temporary name first and then renamed, so an existing file is only replaced by a
+     * complete one.
+     *
+     * @param file The record file.
+     * @param employeeController The list to write.
+     * @return The size of the written file, in bytes.
+     * @throws IOException If the file can't be written.
+     * @throws IllegalArgumentException If a string of an employee is longer than 65535 UTF-8 bytes.
+     */
+    public static long write(Path file, ListController<EmployeeModel> employeeController) throws IOException {
+        return write(file, employeeController, 0);
+    }
+
+    /**
+     * Writes every employee of a list to a record file, in list order, with constant memory, along with a sequence
+     * number.
+     * The file is written under a temporary name first and then renamed, so an existing file is only replaced by a
+     * complete one.
+     *
+     * @param file The record file.
+     * @param employeeController The list to write.
+     * @param sequence The sequence number to store (see getSequence).
+     * @return The size of the written file, in bytes.
+     * @throws IOException If the file can't be written.
+     * @throws IllegalArgumentException If a string of an employee is longer than 65535 UTF-8 bytes.
+     */
+    public static long write(Path file, ListController<EmployeeModel> employeeController, long sequence) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        long count = employeeController.getTotalElements();
+        long heapOffset = HEADER_SIZE + count * SLOT_SIZE;
+        long heapSize;
+
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // Slots and strings are buffered separately and flushed to their own region of the file.
+            ByteBuffer slots = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            ByteBuffer heap = ByteBuffer.allocate(WRITE_BUFFER_SIZE + 3 * MAX_STRING_SIZE);
+            long slotsWritten = HEADER_SIZE;
+            long heapWritten = heapOffset;
+            long heapPosition = 0;
+
+            for (ListController<EmployeeModel>.Node<EmployeeModel> node = employeeController.getFirstNode(); node != null; node = node.getNextNode()) {
+                EmployeeModel employee = node.getMain();
+                if (slots.remaining() < SLOT_SIZE) {
+                    slotsWritten += flush(channel, slots, slotsWritten);
+                }
+                if (heap.position() > WRITE_BUFFER_SIZE) {
+                    heapWritten += flush(channel, heap, heapWritten);
+                }
+                slots.putInt(employee.getEmployeeNumber());
+                slots.putInt(employee.getHireEpochDay());
+                for (String value : new String[]{employee.getName(), employee.getPhoneNumber(), employee.getEmailAddress()}) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    if (bytes.length > MAX_STRING_SIZE) {
+                        throw new IllegalArgumentException("Text too long to be saved: " + bytes.length + " bytes");
+                    }
+                    slots.putLong(heapPosition << 16 | bytes.length);
+                    heap.put(bytes);
+                    heapPosition += bytes.length;
+                }
+            }
+            flush(channel, slots, slotsWritten);
+            flush(channel, heap, heapWritten);
+            heapSize = heapPosition;
+
+            // Write the header last, once the contents are complete.
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(heapOffset).putLong(heapSize).putLong(sequence);
+            flush(channel, header, 0);
+            channel.force(true);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return heapOffset + heapSize;
+    }
+
+    /**
+     * Writes the contents of a buffer at an offset of a file and clears the buffer.
+     *
+     * @param channel The file.
+     * @param buffer The buffer, positioned at the end of its contents.
+     * @param offset The offset in the file.
+     * @return The number of bytes written.
+     * @throws IOException If the buffer can't be written.
+     */
+    private static int flush(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        buffer.flip();
+        int written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+        buffer.clear();
+        return written;
+    }
+
+    /**
+     * Gets the number of employees in the file.
+     *
+     * @return The number of records.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the sequence number stored in the file. For a snapshot, it is the sequence number of the first journal
+     * record that the snapshot doesn't contain.
+     *
+     * @return The sequence number, or 0 if none was stored.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the employee number of a record, straight from the mapped file.
+     *
+     * @param index The index of the record.
+     * @return The employee number.
+     */
+    public int getEmployeeNumber(int index) {
+        return slotInt(index, 0);
+    }
+
+    /**
+     * Gets the hire date of a record, straight from the mapped file.
+     *
+     * @param index The index of the record.
+     * @return The hire date as an epoch day, or EmployeeModel.NO_HIRE_DATE if there is none.
+     */
+    public int getHireEpochDay(int index) {
+        return slotInt(index, 4);
+    }
+
+    /**
+     * Gets the name of a record, decoded from the mapped file.
+     *
+     * @param index The index of the record.
+     * @return The name.
+     */
+    public String getName(int index) {
+        return readString(slotLong(index, 8));
+    }
+
+    /**
+     * Gets the phone number of a record, decoded from the mapped file.
+     *
+     * @param index The index of the record.
+     * @return The phone number, possibly empty.
+     */
+    public String getPhoneNumber(int index) {
+        return readString(slotLong(index, 16));
+    }
+
+    /**
+     * Gets the email address of a record, decoded from the mapped file.
+     *
+     * @param index The index of the record.
+     * @return The email address, possibly empty.
+     */
+    public String getEmailAddress(int index) {
+        return readString(slotLong(index, 24));
+    }
+
+    /**
+     * Gets a lazy view of a record. The view reads its fields from the mapped file every time, and copies the record
+     * into itself the first time any field is changed. Changes are only made to the view, never to the file.
+     *
+     * @param index The index of the record.
+     * @return An EmployeeModel backed by the record.
+     */
+    public EmployeeModel view(int index) {
+        checkIndex(index);
+        return new RecordView(index);
+    }
+
+    /**
+     * Adds a lazy view of every record to the end of a list, in file order. No string is read, so the list only
+     * costs its nodes and the (small) views until employees are modified.
+     *
+     * @param employeeController The list to fill.
+     * @throws IOException If an employee number of the file is already in the list (or twice in the file, which is then
+     *                     corrupt). Nothing is added then.
+     */
+    public void addViewsTo(ListController<EmployeeModel> employeeController) throws IOException {
+        try {
+            employeeController.addAll(views());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt employee record file: " + file + " (" + e.getMessage() + ")", e);
+        }
+    }
+
+    /**
+     * Adds a lazy view of every record to an empty list, in file order, with a key index of the file (see
+     * ListController.addAllIndexed): not even the employee numbers are read then, until they are needed.
+     *
+     * @param employeeController The empty list to fill.
+     * @param keyIndex The index of the employee numbers of the file, giving the index of the record of each number.
+     */
+    public void addViewsTo(ListController<EmployeeModel> employeeController, ListController.BaseKeyIndex keyIndex) {
+        employeeController.addAllIndexed(views(), keyIndex);
+    }
+
+    /**
+     * Creates a lazy view of every record, in file order.
+     *
+     * @return The views.
+     */
+    private List<EmployeeModel> views() {
+        List<EmployeeModel> views = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            views.add(new RecordView(i));
+        }
+        return views;
+    }
+
+    /**
+     * Reads an int field of a slot.
+     *
+     * @param index The index of the record.
+     * @param fieldOffset The offset of the field in the slot.
+     * @return The value of the field.
+     */
+    private int slotInt(int index, int fieldOffset) {
+        checkIndex(index);
+        long offset = (long) index * SLOT_SIZE + fieldOffset;
+        return slotSegments[(int) (offset / SEGMENT_SIZE)].getInt((int) (offset % SEGMENT_SIZE));
+    }
+
+    /**
+     * Reads a long field of a slot.
+     *
+     * @param index The index of the record.
+     * @param fieldOffset The offset of the field in the slot.
+     * @return The value of the field.
+     */
+    private long slotLong(int index, int fieldOffset) {
+        checkIndex(index);
+        long offset = (long) index * SLOT_SIZE + fieldOffset;
+        return slotSegments[(int) (offset / SEGMENT_SIZE)].getLong((int) (offset % SEGMENT_SIZE));
+    }
+
+    /**
+     * Decodes a string of the heap.
+     *
+     * @param reference The reference to the string (offset and length).
+     * @return The string.
+     * @throws UncheckedIOException If the reference points outside of the heap (the file is corrupt).
+     */
+    private String readString(long reference) {
+        int length = (int) (reference & MAX_STRING_SIZE);
+        if (length == 0) {
+            return "";
+        }
+        long offset = reference >>> 16;
+        if (offset + length > heapSize) {
+            throw new UncheckedIOException(new IOException("Corrupt string reference in employee record file: " + file));
+        }
+        byte[] bytes = new byte[length];
+        heapSegments[(int) (offset / SEGMENT_SIZE)].get((int) (offset % SEGMENT_SIZE), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Makes sure that a record exists.
+     *
+     * @param index The index to check.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Closes the file. Views that haven't copied their record yet must not be used afterwards.
+     *
+     * @throws IOException If the file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Lazy EmployeeModel backed by a record of the file. Until it is loaded, it keeps only the index of the record and
+     * reads every field from the mapped file, without keeping the decoded strings. Changing any field (or getting the
+     * hire date as a calendar, which is cached) loads the whole record into the view, which from then on behaves as a
+     * plain EmployeeModel.
+     */
+    private class RecordView extends EmployeeModel {
+        /**
+         * The index of the record this view is backed by.
+         */
+        private final int index;
+
+        /**
+         * Whether the record has been copied into the view.
+         */
+        private boolean loaded = false;
+
+        /**
+         * Whether the email domain of the record has been read into emailDomain. Filters by domain ask for it on every
+         * pass, so it is only decoded and looked up once per view.
+         */
+        private boolean emailDomainRead = false;
+
+        /**
+         * The canonical email domain of the record (null if it has none), once emailDomainRead.
+         */
+        private EmployeeDictionary.Domain emailDomain;
+
+        /**
+         * Initializes a view of a record.
+         *
+         * @param index The index of the record.
+         */
+        private RecordView(int index) {
+            super(null, 0);
+            this.index = index;
+        }
+
+        /**
+         * Copies the record into the view, if it hasn't been done yet.
+         */
+        private void load() {
+            if (!loaded) {
+                loaded = true;
+                super.setEmployeeNumber(EmployeeRecordFile.this.getEmployeeNumber(index));
+                super.setName(EmployeeRecordFile.this.getName(index));
+                super.setHireEpochDay(EmployeeRecordFile.this.getHireEpochDay(index));
+                super.setPhoneNumber(EmployeeRecordFile.this.getPhoneNumber(index));
+                super.setEmailAddress(EmployeeRecordFile.this.getEmailAddress(index));
+            }
+        }
+
+        @Override
+        public int getEmployeeNumber() {
+            return loaded ? super.getEmployeeNumber() : EmployeeRecordFile.this.getEmployeeNumber(index);
+        }
+
+        @Override
+        public int getHireEpochDay() {
+            return loaded ? super.getHireEpochDay() : EmployeeRecordFile.this.getHireEpochDay(index);
+        }
+
+        @Override
+        public GregorianCalendar getHireDate() {
+            load();
+            return super.getHireDate();
+        }
+
+        @Override
+        public String getName() {
+            return loaded ? super.getName() : EmployeeRecordFile.this.getName(index);
+        }
+
+        @Override
+        public String getPhoneNumber() {
+            return loaded ? super.getPhoneNumber() : EmployeeRecordFile.this.getPhoneNumber(index);
+        }
+
+        @Override
+        public String getEmailAddress() {
+            return loaded ? super.getEmailAddress() : EmployeeRecordFile.this.getEmailAddress(index);
+        }
+
+        @Override
+        public EmployeeDictionary.Domain getEmailDomain() {
+            if (loaded) {
+                return super.getEmailDomain();
+            }
+            if (!emailDomainRead) {
+                emailDomain = EmployeeDictionary.domainOf(EmployeeRecordFile.this.getEmailAddress(index));
+                emailDomainRead = true;
+            }
+            return emailDomain;
+        }
+
+        @Override
+        public void setEmployeeNumber(int employeeNumber) {
+            load();
+            super.setEmployeeNumber(employeeNumber);
+        }
+
+        @Override
+        public void setName(String name) {
+            load();
+            super.setName(name);
+        }
+
+        @Override
+        public void setHireEpochDay(int hireEpochDay) {
+            load();
+            super.setHireEpochDay(hireEpochDay);
+        }
+
+        @Override
+        public void setPhoneNumber(String phoneNumber) {
+            load();
+            super.setPhoneNumber(phoneNumber);
+        }
+
+        @Override
+        public void setEmailAddress(String emailAddress) {
+            load();
+            super.setEmailAddress(emailAddress);
+        }
+
+        @Override
+        public String toString() {
+            load();
+            return super.toString();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package practiceMVC;
+
+// For the index files.
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+// For sorting the entries, and for the key index rebuilt from a snapshot.
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Key and hire date indexes of a snapshot of the roster (see EmployeeSnapshotter), saved next to its generation file so
+ * that restoring the snapshot doesn't read every employee to rebuild them: "employees.snapshot.3.keys" maps the employee
+ * numbers, and "employees.snapshot.3.hires" the hire dates, to the index of the record of the employee in the snapshot
+ * (see PersistedIndex). Both files are tagged with the sequence number of the snapshot, and index files that are missing
+ * or don't match it are ignored: the indexes are then built from the employees, as without them. Blocks are only
+ * verified when read; if one turns out to be corrupt, the index is built in memory from then on.
+ */
+public final class EmployeeSnapshotIndexes {
+    /**
+     * Suffix of the key index file, after the name of the snapshot file.
+     */
+    private static final String KEYS_SUFFIX = ".keys";
+
+    /**
+     * Suffix of the hire date index file, after the name of the snapshot file.
+     */
+    private static final String HIRE_DATES_SUFFIX = ".hires";
+
+    /**
+     * Prevents instantiation: this class only has static methods.
+     */
+    private EmployeeSnapshotIndexes() {
+    }
+
+    /**
+     * Writes the index files of a snapshot. They are written before the snapshot itself, so that the snapshot never
+     * exists without them (but they may exist without it, if it couldn't be written: they are then replaced by the next
+     * attempt).
+     *
+     * @param snapshotFile The generation file that the snapshot will be written to.
+     * @param image The roster, in the order in which it will be written.
+     * @param sequence The sequence number of the snapshot.
+     * @throws IOException If a file can't be written.
+     */
+    static void write(Path snapshotFile, ListController<EmployeeModel> image, long sequence) throws IOException {
+        long[] keys = new long[image.getTotalElements()];
+        long[] hireDates = new long[image.getTotalElements()];
+        int hireDateCount = 0;
+        int index = 0;
+        for (ListController<EmployeeModel>.Node<EmployeeModel> node = image.getFirstNode(); node != null; node = node.getNextNode()) {
+            EmployeeModel employee = node.getMain();
+            keys[index] = PersistedIndex.entry(employee.getEmployeeNumber(), index);
+            if (employee.hasHireDate()) {
+                hireDates[hireDateCount++] = PersistedIndex.entry(employee.getHireEpochDay(), index);
+            }
+            index++;
+        }
+        Arrays.sort(keys);
+        Arrays.sort(hireDates, 0, hireDateCount);
+        PersistedIndex.create(indexFile(snapshotFile, KEYS_SUFFIX), sequence, keys, keys.length);
+        PersistedIndex.create(indexFile(snapshotFile, HIRE_DATES_SUFFIX), sequence, hireDates, hireDateCount);
+    }
+
+    /**
+     * Adds the employees of a snapshot to an empty list, using the index files of the snapshot when they match it, and
+     * creates the hire date index of the list.
+     *
+     * @param snapshotFile The generation file of the snapshot.
+     * @param snapshot The open snapshot.
+     * @param employeeController The empty list to fill.
+     * @return The hire date index of the list, following its changes.
+     * @throws IOException If the snapshot is corrupt (when it is read without its index files).
+     */
+    public static HireDateIndex restore(Path snapshotFile, EmployeeRecordFile snapshot, ListController<EmployeeModel> employeeController) throws IOException {
+        PersistedIndex keys = open(indexFile(snapshotFile, KEYS_SUFFIX), snapshot.getSequence());
+        if (keys == null) {
+            snapshot.addViewsTo(employeeController);
+            return new HireDateIndex(employeeController);
+        }
+        snapshot.addViewsTo(employeeController, new KeyIndexFile(keys, snapshot));
+        PersistedIndex hireDates = open(indexFile(snapshotFile, HIRE_DATES_SUFFIX), snapshot.getSequence());
+        return hireDates != null ? new HireDateIndex(employeeController, hireDates) : new HireDateIndex(employeeController);
+    }
+
+    /**
+     * Opens an index file if it matches a snapshot.
+     *
+     * @param file The index file.
+     * @param sequence The sequence number of the snapshot.
+     * @return The index, or null if the file is missing, stale or unreadable.
+     */
+    private static PersistedIndex open(Path file, long sequence) {
+        try {
+            return PersistedIndex.open(file, sequence);
+        } catch (IOException e) {
+            return null; // Torn or not an index file: do without it.
+        }
+    }
+
+    /**
+     * Gets an index file of a snapshot.
+     *
+     * @param snapshotFile The generation file of the snapshot.
+     * @param suffix The suffix of the index file.
+     * @return The index file.
+     */
+    private static Path indexFile(Path snapshotFile, String suffix) {
+        return snapshotFile.resolveSibling(snapshotFile.getFileName() + suffix);
+    }
+
+    /**
+     * Key index of the employees of a snapshot read from its index file. If the file turns out to be corrupt, the index
+     * is rebuilt from the employee numbers of the snapshot instead.
+     */
+    private static final class KeyIndexFile implements ListController.BaseKeyIndex {
+        /**
+         * The key index file, or null once it has been found corrupt.
+         */
+        private PersistedIndex file;
+
+        /**
+         * The snapshot whose employee numbers are indexed.
+         */
+        private final EmployeeRecordFile snapshot;
+
+        /**
+         * Index of the record of each employee number, built from the snapshot if the file is corrupt, or null.
+         */
+        private Map<Integer, Integer> rebuilt;
+
+        /**
+         * Initializes the key index of a snapshot.
+         *
+         * @param file The key index file.
+         * @param snapshot The snapshot.
+         */
+        private KeyIndexFile(PersistedIndex file, EmployeeRecordFile snapshot) {
+            this.file = file;
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Finds the record of an employee number in the snapshot.
+         *
+         * @param key The employee number.
+         * @return The index of its record, or -1 if the snapshot has none.
+         */
+        @Override
+        public int find(Object key) {
+            if (!(key instanceof Integer)) {
+                return -1;
+            }
+            int employeeNumber = (Integer) key;
+            if (file != null) {
+                try {
+                    return file.find(employeeNumber);
+                } catch (UncheckedIOException e) {
+                    rebuild();
+                }
+            }
+            return rebuilt.getOrDefault(employeeNumber, -1);
+        }
+
+        /**
+         * Stops using the corrupt file, and indexes the employee numbers of the snapshot in memory instead.
+         */
+        private void rebuild() {
+            file = null;
+            rebuilt = new HashMap<>();
+            for (int i = 0; i < snapshot.size(); i++) {
+                rebuilt.put(snapshot.getEmployeeNumber(i), i);
+            }
+        }
+    }
+}
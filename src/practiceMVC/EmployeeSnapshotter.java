@@ -0,0 +1,407 @@
+package practiceMVC;
+
+// For the snapshot files.
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+// For taking snapshots in the background.
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+// For reporting failed snapshots.
+import java.util.function.Consumer;
+
+/**
+ * Keeps the journal of the roster short, so that startup replay stays fast. From time to time, a background thread
+ * writes a snapshot of the roster (an EmployeeRecordFile) and drops the journal records it contains (see
+ * EmployeeJournal.compact). On startup, the snapshot is opened, and only the journal records written after it are
+ * replayed.
+ *
+ * The image of the roster is never read from the list, which the user keeps modifying meanwhile: it is rebuilt on the
+ * background thread from the previous snapshot plus the journal records written before a checkpoint, so it is exactly
+ * the roster at the time of the checkpoint. Writers are only blocked while the checkpoint is taken and while the
+ * compacted journal replaces the old one (see EmployeeJournal.compact).
+ *
+ * Every snapshot is written to a new generation file (such as "employees.snapshot.3"; see GenerationFiles) rather than
+ * replacing the previous one, which may still be mapped since its views are read lazily. Its key and hire date indexes
+ * are saved along with it (see EmployeeSnapshotIndexes). The older generations are deleted after each snapshot.
+ *
+ * A crash at any point leaves a usable pair of files: a generation file only gets its final name once it is complete,
+ * and journal records that are already in the snapshot are skipped on replay until the journal is compacted.
+ *
+ * Snapshots are taken automatically once the journal grows beyond a threshold: the snapshotter listens to the list,
+ * after the journal, and checks the size of the journal after every operation. After a failed snapshot, automatic ones are only retried after a delay, doubled after every
+ * further failure, and the failure is reported to the failure handler (see setFailureHandler).
+ */
+public class EmployeeSnapshotter implements ListController.Listener<EmployeeModel>, Closeable {
+    /**
+     * Delay before the first automatic retry after a failed snapshot, in nanoseconds.
+     */
+    private static final long FIRST_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * Longest delay between automatic retries after failed snapshots, in nanoseconds.
+     */
+    private static final long MAX_RETRY_DELAY_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    /**
+     * The snapshot file, whose name the generation files extend.
+     */
+    private final Path snapshotFile;
+
+    /**
+     * The journal of the roster.
+     */
+    private final EmployeeJournal journal;
+
+    /**
+     * Size of the journal (in bytes) above which a snapshot is taken automatically.
+     */
+    private final long journalSizeThreshold;
+
+    /**
+     * The background thread taking the snapshots.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "Employee snapshotter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The snapshot being taken, or null if none is running.
+     */
+    private Future<Metrics> running;
+
+    /**
+     * Metrics of the last snapshot that was taken, or null if none was.
+     */
+    private volatile Metrics lastMetrics;
+
+    /**
+     * Error of the last snapshot that failed, or null if none did since the last successful one.
+     */
+    private volatile IOException lastFailure;
+
+    /**
+     * Delay before the next automatic retry (in nanoseconds), or 0 if the last snapshot didn't fail. Guarded by this
+     * snapshotter.
+     */
+    private long retryDelayNanos = 0;
+
+    /**
+     * Time (as in System.nanoTime) before which snapshots aren't retried automatically after a failure. Guarded by this
+     * snapshotter.
+     */
+    private long nextRetryNanos;
+
+    /**
+     * Receives the failures of snapshots, or null to only keep them for getLastFailure.
+     */
+    private volatile Consumer<? super IOException> failureHandler;
+
+    /**
+     * Initializes a snapshotter.
+     *
+     * @param snapshotFile The snapshot file, whose name the generation files extend. No generation needs to exist yet.
+     * @param journal The journal, attached to the list whose snapshots are taken.
+     * @param journalSizeThreshold Size of the journal (in bytes) above which a snapshot is taken automatically.
+     */
+    public EmployeeSnapshotter(Path snapshotFile, EmployeeJournal journal, long journalSizeThreshold) {
+        this.snapshotFile = snapshotFile;
+        this.journal = journal;
+        this.journalSizeThreshold = journalSizeThreshold;
+    }
+
+    /**
+     * Sets the handler of failed snapshots. It is called on the background thread, with the first failure of each series
+     * of failed snapshots (further failures aren't reported again until a snapshot succeeds).
+     *
+     * @param failureHandler The handler, or null to only keep the failures for getLastFailure.
+     */
+    public void setFailureHandler(Consumer<? super IOException> failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Starts taking a snapshot in the background, unless one is already being taken. Unlike snapshotIfNeeded, it
+     * doesn't wait for the retry delay after a failed snapshot.
+     *
+     * @return The snapshot being taken, which gives its metrics once done.
+     */
+    public synchronized Future<Metrics> snapshotNow() {
+        if (running == null || running.isDone()) {
+            running = executor.submit(this::takeSnapshot);
+        }
+        return running;
+    }
+
+    /**
+     * Rebuilds the roster at the current checkpoint of the journal, writes it to a new generation file, compacts the
+     * journal and deletes the older generations. Runs on the background thread.
+     *
+     * @return The metrics of the snapshot.
+     * @throws IOException If the snapshot can't be taken. The previous snapshot and the journal stay usable.
+     */
+    private Metrics takeSnapshot() throws IOException {
+        try {
+            long start = System.nanoTime();
+            EmployeeJournal.Checkpoint checkpoint = journal.checkpoint();
+
+            ListController<EmployeeModel> image = new ListController<>(EmployeeModel::getEmployeeNumber);
+            long previousGeneration = GenerationFiles.latestGeneration(snapshotFile);
+            EmployeeRecordFile previous = previousGeneration > 0 ? EmployeeRecordFile.open(GenerationFiles.generationFile(snapshotFile, previousGeneration)) : null;
+            long snapshotSize;
+            try {
+                long fromSequence = 0;
+                if (previous != null) {
+                    // The views read the previous snapshot lazily, so the image doesn't copy the unchanged employees.
+                    previous.addViewsTo(image);
+                    fromSequence = previous.getSequence();
+                }
+                journal.replayUntil(image, fromSequence, checkpoint);
+                Path generationFile = GenerationFiles.generationFile(snapshotFile, previousGeneration + 1);
+                EmployeeSnapshotIndexes.write(generationFile, image, checkpoint.getSequence());
+                snapshotSize = EmployeeRecordFile.write(generationFile, image, checkpoint.getSequence());
+            } finally {
+                if (previous != null) {
+                    previous.close();
+                }
+            }
+
+            long journalSize = journal.compact(checkpoint);
+            GenerationFiles.deleteGenerationsBefore(snapshotFile, previousGeneration + 1);
+            Metrics metrics = new Metrics(image.getTotalElements(), System.nanoTime() - start, snapshotSize, journalSize, journal.getLastCompactionPauseNanos());
+            lastMetrics = metrics;
+            synchronized (this) {
+                retryDelayNanos = 0;
+                lastFailure = null;
+            }
+            return metrics;
+        } catch (IOException e) {
+            recordFailure(e);
+            throw e;
+        } catch (RuntimeException e) {
+            IOException failure = new IOException("The snapshot couldn't be taken.", e);
+            recordFailure(failure);
+            throw failure;
+        }
+    }
+
+    /**
+     * Records a failed snapshot: delays the next automatic retry, and reports the failure if it is the first of a series.
+     *
+     * @param failure The error of the snapshot.
+     */
+    private void recordFailure(IOException failure) {
+        boolean firstFailure;
+        synchronized (this) {
+            firstFailure = retryDelayNanos == 0;
+            retryDelayNanos = firstFailure ? FIRST_RETRY_DELAY_NANOS : Math.min(2 * retryDelayNanos, MAX_RETRY_DELAY_NANOS);
+            nextRetryNanos = System.nanoTime() + retryDelayNanos;
+            lastFailure = failure;
+        }
+        Consumer<? super IOException> handler = failureHandler;
+        if (firstFailure && handler != null) {
+            handler.accept(failure);
+        }
+    }
+
+    /**
+     * Gets the latest generation of a snapshot, which is the one to restore.
+     *
+     * @param snapshotFile The snapshot file, whose name the generation files extend.
+     * @return The file of the latest generation, or null if no snapshot was taken yet.
+     * @throws IOException If the directory of the snapshots can't be listed.
+     */
+    public static Path latestSnapshot(Path snapshotFile) throws IOException {
+        long generation = GenerationFiles.latestGeneration(snapshotFile);
+        return generation == 0 ? null : GenerationFiles.generationFile(snapshotFile, generation);
+    }
+
+    /**
+     * Gets the metrics of the last snapshot that was taken.
+     *
+     * @return The metrics, or null if no snapshot was taken yet.
+     */
+    public Metrics getLastMetrics() {
+        return lastMetrics;
+    }
+
+    /**
+     * Gets the error of the last snapshot, if it failed.
+     *
+     * @return The error, or null if the last snapshot succeeded (or none was taken yet).
+     */
+    public IOException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Starts taking a snapshot in the background if the journal has grown beyond the threshold, unless the last snapshot
+     * failed and its retry delay hasn't elapsed yet.
+     */
+    public synchronized void snapshotIfNeeded() {
+        if (retryDelayNanos != 0 && System.nanoTime() - nextRetryNanos < 0) {
+            return;
+        }
+        if (journal.size() > journalSizeThreshold) {
+            snapshotNow();
+        }
+    }
+
+    /**
+     * Does nothing: the size of the journal is checked once the whole operation is complete (see changesFinished).
+     *
+     * @param node The added node.
+     */
+    @Override
+    public void nodeAdded(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+    }
+
+    /**
+     * Does nothing: the size of the journal is checked once the whole operation is complete (see changesFinished).
+     *
+     * @param node The removed node.
+     */
+    @Override
+    public void nodeRemoved(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+    }
+
+    /**
+     * Does nothing: the size of the journal is checked once the whole operation is complete (see changesFinished).
+     *
+     * @param node The updated node.
+     */
+    @Override
+    public void nodeUpdated(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+    }
+
+    /**
+     * Checks the size of the journal once an operation of the list is complete, so a bulk operation only checks it once.
+     */
+    @Override
+    public void changesFinished() {
+        snapshotIfNeeded();
+    }
+
+    /**
+     * Stops taking snapshots, waiting for the one being taken (if any) to finish.
+     *
+     * @throws IOException If interrupted while waiting.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the snapshot to finish.", e);
+        }
+    }
+
+    /**
+     * Measurements of a snapshot.
+     */
+    public static final class Metrics {
+        /**
+         * Number of employees in the snapshot.
+         */
+        private final int employeeCount;
+
+        /**
+         * Time taken by the whole snapshot, in nanoseconds.
+         */
+        private final long durationNanos;
+
+        /**
+         * Size of the written snapshot file, in bytes.
+         */
+        private final long snapshotBytes;
+
+        /**
+         * Size of the compacted journal, in bytes.
+         */
+        private final long journalBytes;
+
+        /**
+         * Time during which writers were blocked by the compaction, in nanoseconds.
+         */
+        private final long writerPauseNanos;
+
+        /**
+         * Initializes the metrics of a snapshot.
+         *
+         * @param employeeCount Number of employees in the snapshot.
+         * @param durationNanos Time taken by the whole snapshot, in nanoseconds.
+         * @param snapshotBytes Size of the written snapshot file, in bytes.
+         * @param journalBytes Size of the compacted journal, in bytes.
+         * @param writerPauseNanos Time during which writers were blocked by the compaction, in nanoseconds.
+         */
+        private Metrics(int employeeCount, long durationNanos, long snapshotBytes, long journalBytes, long writerPauseNanos) {
+            this.employeeCount = employeeCount;
+            this.durationNanos = durationNanos;
+            this.snapshotBytes = snapshotBytes;
+            this.journalBytes = journalBytes;
+            this.writerPauseNanos = writerPauseNanos;
+        }
+
+        /**
+         * Gets the number of employees in the snapshot.
+         *
+         * @return The number of employees.
+         */
+        public int getEmployeeCount() {
+            return employeeCount;
+        }
+
+        /**
+         * Gets the time taken by the whole snapshot (rebuilding the image, writing it and compacting the journal).
+         *
+         * @return The duration, in nanoseconds.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Gets the number of bytes written to the snapshot file.
+         *
+         * @return The size of the snapshot file.
+         */
+        public long getSnapshotBytes() {
+            return snapshotBytes;
+        }
+
+        /**
+         * Gets the size of the journal right after compaction.
+         *
+         * @return The size of the compacted journal, in bytes.
+         */
+        public long getJournalBytes() {
+            return journalBytes;
+        }
+
+        /**
+         * Gets the time during which writers were blocked by the compaction.
+         *
+         * @return The pause, in nanoseconds.
+         */
+        public long getWriterPauseNanos() {
+            return writerPauseNanos;
+        }
+
+        /**
+         * DEBUGGING PURPOSES. Returns a string representation of the metrics.
+         *
+         * @return A string containing every measurement.
+         */
+        @Override
+        public String toString() {
+            return "Snapshot of " + employeeCount + " employees: " + durationNanos / 1_000_000 + " ms, " + snapshotBytes + " bytes written, journal compacted to "
+                    + journalBytes + " bytes, writers paused for " + writerPauseNanos / 1_000 + " \u00B5s";
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package practiceMVC;
+
+// For the table model.
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Table model showing the employees of a ListController, one row per employee in list order, without copying them.
+ * JTable only asks for the cells of the visible rows, so the cost of painting doesn't depend on the size of the roster:
+ * the node of a row is found through the position index of the list (logarithmic time), and the node of the last
+ * asked row is remembered, so the rest of its cells and the neighbouring rows (painted right after it) are found in
+ * constant time.
+ * The model follows the changes of the list by itself and tells its tables about them. Like the rest of the view, it
+ * must only be used (and the list only modified) on the Event Dispatch Thread.
+ */
+public class EmployeeTableModel extends AbstractTableModel implements ListController.Listener<EmployeeModel> {
+    /**
+     * Version of the serialized form of the model, which Swing models are expected to declare.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Names of the columns.
+     */
+    private static final String[] COLUMN_NAMES = {"#", "Name", "Employee Number", "Hire Date", "Phone", "Email"};
+
+    /**
+     * The list shown by the model.
+     */
+    private final ListController<EmployeeModel> employeeController;
+
+    /**
+     * Number of rows the tables were last told about. It only changes when they are notified, so that they never ask
+     * for rows they don't know about yet (or that they still believe exist).
+     */
+    private int rowCount;
+
+    /**
+     * Row of the last node found, or -1 if there is none.
+     */
+    private int cachedRow = -1;
+
+    /**
+     * The last node found.
+     */
+    private ListController<EmployeeModel>.Node<EmployeeModel> cachedNode;
+
+    /**
+     * Modification count of the list when the last node was found. Any change to the list may move rows around, so
+     * the remembered node is only used while the list keeps this count.
+     */
+    private int cachedModificationCount;
+
+    /**
+     * Creates a model over the current contents of a list and starts following its changes.
+     *
+     * @param employeeController The list to show.
+     */
+    public EmployeeTableModel(ListController<EmployeeModel> employeeController) {
+        this.employeeController = employeeController;
+        this.rowCount = employeeController.getTotalElements();
+        employeeController.addListener(this);
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of employees.
+     */
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return The number of columns.
+     */
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    /**
+     * Gets the name of a column.
+     *
+     * @param column The column.
+     * @return Its name.
+     */
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    /**
+     * Gets the class of the values of a column, so that numbers are right-aligned.
+     *
+     * @param column The column.
+     * @return The class of its values.
+     */
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 || column == 2 ? Integer.class : String.class;
+    }
+
+    /**
+     * Gets the value of a cell.
+     *
+     * @param row The row (the position of the employee in the list).
+     * @param column The column.
+     * @return The value of the cell. Missing hire dates, phone numbers and email addresses are shown as empty cells.
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (column == 0) {
+            return row + 1;
+        }
+        EmployeeModel employee = getNodeAt(row).getMain();
+        switch (column) {
+            case 1:
+                return employee.getName();
+            case 2:
+                return employee.getEmployeeNumber();
+            case 3:
+                return employee.hasHireDate() ? EpochDays.format(employee.getHireEpochDay()) : "";
+            case 4:
+                return employee.getPhoneNumber();
+            default:
+                return employee.getEmailAddress();
+        }
+    }
+
+    /**
+     * Gets the node shown in a row. Consecutive calls for the same row or its neighbours take constant time.
+     *
+     * @param row The row.
+     * @return The node of the employee shown in that row.
+     * @throws IndexOutOfBoundsException If the row doesn't exist.
+     */
+    public ListController<EmployeeModel>.Node<EmployeeModel> getNodeAt(int row) {
+        ListController<EmployeeModel>.Node<EmployeeModel> node = null;
+        if (cachedRow >= 0 && cachedModificationCount == employeeController.getModificationCount()) {
+            if (row == cachedRow) {
+                node = cachedNode;
+            } else if (row == cachedRow + 1) {
+                node = cachedNode.getNextNode();
+            } else if (row == cachedRow - 1) {
+                node = cachedNode.getPreviousNode();
+            }
+        }
+        if (node == null) {
+            node = employeeController.getNode(row);
+        }
+        cachedRow = row;
+        cachedNode = node;
+        cachedModificationCount = employeeController.getModificationCount();
+        return node;
+    }
+
+    /**
+     * Gets the row showing a node.
+     *
+     * @param node The node.
+     * @return Its row, or -1 if the node is null or no longer in the list.
+     */
+    public int getRowOf(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        return employeeController.getPosition(node);
+    }
+
+    /**
+     * Tells the tables about a new row.
+     *
+     * @param node The added node.
+     */
+    @Override
+    public void nodeAdded(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        int totalElements = employeeController.getTotalElements();
+        if (totalElements == rowCount + 1) {
+            rowCount = totalElements;
+            int row = employeeController.getPosition(node);
+            fireTableRowsInserted(row, row);
+        } else if (totalElements != rowCount) {
+            // Several nodes were added at once (ListController.addAll): tell about all of them with the first one, and
+            // ignore the rest.
+            rowCount = totalElements;
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Tells the tables about a removed row. The removed node still points to its former neighbours, so its row is the
+     * one after its previous node.
+     *
+     * @param node The removed node.
+     */
+    @Override
+    public void nodeRemoved(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        int totalElements = employeeController.getTotalElements();
+        ListController<EmployeeModel>.Node<EmployeeModel> previous = node.getPreviousNode();
+        int previousRow = employeeController.getPosition(previous);
+        // The neighbours only tell where the node was if they are still linked to each other.
+        boolean rowKnown = previous == null ? employeeController.getFirstNode() == node.getNextNode() : previousRow >= 0;
+        if (totalElements == rowCount - 1 && rowKnown) {
+            rowCount = totalElements;
+            fireTableRowsDeleted(previousRow + 1, previousRow + 1);
+        } else if (totalElements != rowCount) {
+            // Several nodes were removed at once (ListController.removeIf): tell about all of them with the first one,
+            // and ignore the rest.
+            rowCount = totalElements;
+            fireTableDataChanged();
+        }
+    }
+
+    /**
+     * Tells the tables that the employee of a row has changed.
+     *
+     * @param node The updated node.
+     */
+    @Override
+    public void nodeUpdated(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        int row = employeeController.getPosition(node);
+        if (row >= 0) {
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    /**
+     * Tells the tables that the rows may have changed order. They keep their selection and only repaint the visible
+     * rows.
+     *
+     * @param node The moved node.
+     */
+    @Override
+    public void nodeMoved(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        if (rowCount > 0) {
+            fireTableRowsUpdated(0, rowCount - 1);
+        }
+    }
+
+    /**
+     * Stops following the changes of the list. The model cannot be used afterwards.
+     */
+    public void close() {
+        employeeController.removeListener(this);
+    }
+}
@@ -0,0 +1,385 @@
+package practiceMVC;
+
+// For the batches.
+import java.util.List;
+// For validating large batches in parallel.
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validation rules of the employee fields, shared by the creation form and the bulk paths (such as the CSV importer).
+ * Every rule is a hand-written scan of the string, equivalent to the regular expression it documents, so validating a
+ * field never compiles a pattern nor allocates anything. Whole rows can be validated one by one (see validate) or in
+ * batches (see validateBatch), which report an error code per row instead of throwing exceptions.
+ * Rows hold their fields as text, in the order of the CSV files: name, employee number, hire date, phone number and
+ * email address. Hire date, phone number and email address are optional (empty).
+ */
+public final class EmployeeValidator {
+    /**
+     * Number of fields of a row.
+     */
+    public static final int FIELD_COUNT = 5;
+
+    /**
+     * Rows validated by a single task in parallel mode.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * This class only offers static methods.
+     */
+    private EmployeeValidator() {
+    }
+
+    /**
+     * Outcome of the validation of a row: either VALID, or the first rule it breaks.
+     */
+    public enum Problem {
+        VALID(""),
+        TOO_MANY_FIELDS("Too many fields (expected " + FIELD_COUNT + ")."),
+        BLANK_NAME_OR_NUMBER("Name and employee number cannot be blank."),
+        NAME_WITH_DIGITS("Name cannot contain numbers."),
+        INVALID_EMPLOYEE_NUMBER("Employee number must be a valid integer."),
+        INVALID_HIRE_DATE("Invalid date format (DD/MM/YYYY)."),
+        INVALID_PHONE_NUMBER("Invalid phone number format (9 digits)."),
+        INVALID_EMAIL_ADDRESS("Invalid email address format (example@mail.com).");
+
+        /**
+         * Message for the user.
+         */
+        private final String message;
+
+        /**
+         * Initializes a problem.
+         *
+         * @param message Message for the user.
+         */
+        Problem(String message) {
+            this.message = message;
+        }
+
+        /**
+         * Gets the message for the user, the same one the creation form shows.
+         *
+         * @return The message, empty for VALID.
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Validates a row.
+     *
+     * @param name The name.
+     * @param employeeNumber The employee number, as text.
+     * @param hireDate The hire date (DD/MM/YYYY), or an empty string.
+     * @param phoneNumber The phone number, or an empty string.
+     * @param emailAddress The email address, or an empty string.
+     * @return VALID, or the first rule the row breaks.
+     */
+    public static Problem validate(String name, String employeeNumber, String hireDate, String phoneNumber, String emailAddress) {
+        if (name.isEmpty() || employeeNumber.isEmpty()) {
+            return Problem.BLANK_NAME_OR_NUMBER;
+        }
+        if (!isValidName(name)) {
+            return Problem.NAME_WITH_DIGITS;
+        }
+        if (!isValidEmployeeNumber(employeeNumber)) {
+            return Problem.INVALID_EMPLOYEE_NUMBER;
+        }
+        if (!hireDate.isEmpty() && !isValidDateFormat(hireDate)) {
+            return Problem.INVALID_HIRE_DATE;
+        }
+        if (!phoneNumber.isEmpty() && !isValidPhoneNumber(phoneNumber)) {
+            return Problem.INVALID_PHONE_NUMBER;
+        }
+        if (!emailAddress.isEmpty() && !isValidEmailAddress(emailAddress)) {
+            return Problem.INVALID_EMAIL_ADDRESS;
+        }
+        return Problem.VALID;
+    }
+
+    /**
+     * Validates a row given as an array of fields. Missing trailing fields count as empty.
+     *
+     * @param row The fields of the row (null fields count as empty).
+     * @return VALID, or the first rule the row breaks.
+     */
+    public static Problem validate(String[] row) {
+        if (row.length > FIELD_COUNT) {
+            return Problem.TOO_MANY_FIELDS;
+        }
+        return validate(field(row, 0), field(row, 1), field(row, 2), field(row, 3), field(row, 4));
+    }
+
+    /**
+     * Validates a batch of rows on the calling thread.
+     *
+     * @param rows The rows, as arrays of fields.
+     * @return The outcome of every row, in the same order.
+     */
+    public static Problem[] validateBatch(List<String[]> rows) {
+        return validateBatch(rows, false);
+    }
+
+    /**
+     * Validates a batch of rows, optionally splitting it into tasks validated in parallel on the common ForkJoinPool.
+     * Validation has no shared state, so both modes give the same outcome.
+     *
+     * @param rows The rows, as arrays of fields. Must support fast random access.
+     * @param parallel `true` to validate in parallel, `false` to validate on the calling thread.
+     * @return The outcome of every row, in the same order.
+     */
+    public static Problem[] validateBatch(List<String[]> rows, boolean parallel) {
+        Problem[] problems = new Problem[rows.size()];
+        if (parallel && rows.size() > PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new BatchTask(rows, problems, 0, rows.size()));
+        } else {
+            validateRange(rows, problems, 0, rows.size());
+        }
+        return problems;
+    }
+
+    /**
+     * Validates a range of rows of a batch.
+     *
+     * @param rows The rows.
+     * @param problems Where to store the outcome of every row.
+     * @param start The first row to validate.
+     * @param end The row after the last one to validate.
+     */
+    private static void validateRange(List<String[]> rows, Problem[] problems, int start, int end) {
+        for (int i = start; i < end; i++) {
+            problems[i] = validate(rows.get(i));
+        }
+    }
+
+    /**
+     * Gets a field of a row, or an empty string if the row doesn't have it.
+     *
+     * @param row The fields of the row.
+     * @param index The index of the field.
+     * @return The field.
+     */
+    private static String field(String[] row, int index) {
+        return index < row.length && row[index] != null ? row[index] : "";
+    }
+
+    /**
+     * Checks if a name is valid, i.e. doesn't contain any numbers (regular expression ".*\d+.*" doesn't match).
+     *
+     * @param name The name to validate.
+     * @return True if the name contains no digits; false otherwise.
+     */
+    public static boolean isValidName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if an employee number is a valid integer: an optional sign and ASCII decimal digits, within the int range.
+     * This is narrower than Integer.parseInt, which also accepts the decimal digits of other scripts; every number it
+     * accepts is parsed by Integer.parseInt to the same value, so callers validate with it and then parse.
+     *
+     * @param employeeNumber The employee number to validate.
+     * @return True if the employee number can be parsed; false otherwise.
+     */
+    public static boolean isValidEmployeeNumber(String employeeNumber) {
+        int length = employeeNumber.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (employeeNumber.charAt(0) == '-' || employeeNumber.charAt(0) == '+')) {
+            negative = employeeNumber.charAt(0) == '-';
+            i = 1;
+        }
+        if (i == length) {
+            return false;
+        }
+        // Accumulate negatively, as the negative range is one larger than the positive one.
+        long limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        long value = 0;
+        for (; i < length; i++) {
+            char c = employeeNumber.charAt(i);
+            if (!isDigit(c)) {
+                return false;
+            }
+            value = value * 10 - (c - '0');
+            if (value < limit) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a date string is in the valid format, DD/MM/YYYY
+     * (regular expression "^(0[1-9]|[12][0-9]|3[01])/(0[1-9]|1[0-2])/\d{4}$").
+     *
+     * @param date The date string to validate.
+     * @return True if the date is in the correct format; false otherwise.
+     */
+    public static boolean isValidDateFormat(String date) {
+        if (date.length() != 10) {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            char c = date.charAt(i);
+            if (i == 2 || i == 5 ? c != '/' : !isDigit(c)) {
+                return false;
+            }
+        }
+        int day = (date.charAt(0) - '0') * 10 + (date.charAt(1) - '0');
+        int month = (date.charAt(3) - '0') * 10 + (date.charAt(4) - '0');
+        return day >= 1 && day <= 31 && month >= 1 && month <= 12;
+    }
+
+    /**
+     * Checks if a phone number string is in the valid format, 9 digits (regular expression "^[0-9]{9}$").
+     *
+     * @param phoneNumber The phone number string to validate.
+     * @return True if the phone number is in the correct format; false otherwise.
+     */
+    public static boolean isValidPhoneNumber(String phoneNumber) {
+        if (phoneNumber.length() != 9) {
+            return false;
+        }
+        for (int i = 0; i < 9; i++) {
+            if (!isDigit(phoneNumber.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if an email address string is in the valid format
+     * (regular expression "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$").
+     * The top-level domain can't contain dots, so the address matches if and only if the domain (after the single @)
+     * splits at its last dot into a non-empty head and at least two letters.
+     *
+     * @param emailAddress The email address string to validate.
+     * @return True if the email address is in the correct format; false otherwise.
+     */
+    public static boolean isValidEmailAddress(String emailAddress) {
+        int length = emailAddress.length();
+        int i = 0;
+        // Local part: one or more of [A-Za-z0-9+_.-].
+        while (i < length && isLocalPartCharacter(emailAddress.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i == length || emailAddress.charAt(i) != '@') {
+            return false;
+        }
+        int domainStart = i + 1;
+        int lastDot = -1;
+        // Domain: only [A-Za-z0-9.-], remembering the last dot.
+        for (i = domainStart; i < length; i++) {
+            char c = emailAddress.charAt(i);
+            if (c == '.') {
+                lastDot = i;
+            } else if (!isLetter(c) && !isDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        if (lastDot <= domainStart || length - lastDot - 1 < 2) {
+            return false;
+        }
+        // Top-level domain: letters only.
+        for (i = lastDot + 1; i < length; i++) {
+            if (!isLetter(emailAddress.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a character is an ASCII digit ([0-9], as \d matches by default).
+     *
+     * @param c The character.
+     * @return True if it is a digit.
+     */
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Checks if a character is an ASCII letter ([A-Za-z]).
+     *
+     * @param c The character.
+     * @return True if it is a letter.
+     */
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    /**
+     * Checks if a character can appear in the local part of an email address ([A-Za-z0-9+_.-]).
+     *
+     * @param c The character.
+     * @return True if it is allowed.
+     */
+    private static boolean isLocalPartCharacter(char c) {
+        return isLetter(c) || isDigit(c) || c == '+' || c == '_' || c == '.' || c == '-';
+    }
+
+    /**
+     * Task validating a range of rows of a batch, split in halves until ranges are small enough.
+     */
+    private static class BatchTask extends RecursiveAction {
+        /**
+         * Version of the serialized form (RecursiveAction is Serializable).
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The rows.
+         */
+        private final List<String[]> rows;
+
+        /**
+         * Where to store the outcome of every row.
+         */
+        private final Problem[] problems;
+
+        /**
+         * The first row to validate.
+         */
+        private final int start;
+
+        /**
+         * The row after the last one to validate.
+         */
+        private final int end;
+
+        /**
+         * Initializes a task.
+         *
+         * @param rows The rows.
+         * @param problems Where to store the outcome of every row.
+         * @param start The first row to validate.
+         * @param end The row after the last one to validate.
+         */
+        private BatchTask(List<String[]> rows, Problem[] problems, int start, int end) {
+            this.rows = rows;
+            this.problems = problems;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= PARALLEL_THRESHOLD) {
+                validateRange(rows, problems, start, end);
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new BatchTask(rows, problems, start, middle), new BatchTask(rows, problems, middle, end));
+            }
+        }
+    }
+}
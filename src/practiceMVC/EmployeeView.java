@@ -3,6 +3,7 @@ package practiceMVC;
 // For Swing and native system GUI functionality.
 import javax.imageio.ImageIO;
 import javax.swing.*;
+import javax.swing.table.TableColumnModel;
 import java.awt.*;
 // In order to find and set an icon image.
 import java.awt.image.BufferedImage;
@@ -16,7 +17,17 @@ public class EmployeeView {
     /**
      * Controller for managing employee data.
      */
-    private ListController employeeController;
+    private ListController<EmployeeModel> employeeController;
+
+    /**
+     * Index over the hire dates of the employees, used by the filters.
+     */
+    private HireDateIndex hireDateIndex;
+
+    /**
+     * Off-heap store in which the employees created or imported in the view are kept, or null to keep them in the heap.
+     */
+    private OffHeapEmployeeStore employeeStore;
 
     /**
      * Controller for view-related functionality.
@@ -29,9 +40,9 @@ public class EmployeeView {
     private EmployeeModel currentEmployee;
 
     /**
-     * Label for displaying employee information.
+     * Component for displaying employee information.
      */
-    private JLabel employeeInfoLabel = new JLabel();
+    private EmployeeCardComponent employeeInfoLabel;
 
     /**
      * Node representing the current employee in the controller's linked list.
@@ -84,7 +95,12 @@ public class EmployeeView {
     /**
      * Buttons for user interactions.
      */
-    private JButton backButton, nextButton, deleteButton, createButton, modifyButton, filterButton;
+    private JButton backButton, nextButton, deleteButton, createButton, modifyButton, filterButton, tableButton, importButton, exportButton;
+
+    /**
+     * Buttons for accepting or canceling the creation or modification of an employee.
+     */
+    private JButton acceptButton, cancelButton;
 
     /**
      * Flag indicating whether the filter is applied.
@@ -92,18 +108,53 @@ public class EmployeeView {
     private boolean isFilterApplied = false;
 
     /**
-     * Panels for displaying view and creation modes.
+     * Names of the cards of the mode panel: the view mode and the creation mode.
      */
-    private JPanel viewMode = new JPanel(new BorderLayout());
+    public static final String VIEW_MODE_CARD = "view", CREATION_MODE_CARD = "creation";
+
+    /**
+     * Names of the cards of the view content: the card of the current employee and the table of the whole roster.
+     */
+    public static final String EMPLOYEE_CARD = "employee", TABLE_CARD = "table";
+
+    /**
+     * Panels for displaying view and creation modes. Both are built once and shown one at a time by the mode panel.
+     */
+    private JPanel viewMode;
     private JPanel creationMode;
 
+    /**
+     * Panel holding both modes in a CardLayout, so switching modes doesn't rebuild any of them.
+     */
+    private JPanel modePanel;
+
+    /**
+     * Panel in the center of the view mode holding the employee card and the table in a CardLayout.
+     */
+    private JPanel viewContent;
+
     /**
      * Scroll pane for displaying content with added scrolling functionality.
      */
     private JScrollPane viewScrollPane;
 
     /**
-     * Main frame for the view.
+     * Table model showing the whole roster, read directly from the employee controller.
+     */
+    private EmployeeTableModel employeeTableModel;
+
+    /**
+     * Table showing the whole roster, one employee per row, as an alternative to the single employee card.
+     */
+    private JTable employeeTable;
+
+    /**
+     * Scroll pane of the employee table. Only the rows within its viewport are ever rendered.
+     */
+    private JScrollPane tableScrollPane;
+
+    /**
+     * Main frame for the view, or null if there is no display.
      */
     private JFrame frame;
 
@@ -112,9 +163,46 @@ public class EmployeeView {
      *
      * @param controller The controller for doubly-linked list employee data logic.
      */
-    public EmployeeView(ListController controller) {
+    public EmployeeView(ListController<EmployeeModel> controller) {
+        this(controller, new HireDateIndex(controller));
+    }
+
+    /**
+     * Constructor that initializes the EmployeeView with a list controller and an index over its hire dates, such as
+     * the one restored along with the list (see EmployeeSnapshotIndexes).
+     *
+     * @param controller The controller for doubly-linked list employee data logic.
+     * @param hireDateIndex The index over the hire dates of the list, following its changes.
+     */
+    public EmployeeView(ListController<EmployeeModel> controller, HireDateIndex hireDateIndex) {
+        this(controller, hireDateIndex, null);
+    }
+
+    /**
+     * Constructor that initializes the EmployeeView with a list controller, an index over its hire dates and an
+     * off-heap store for the employees created or imported in the view (see Main.OFF_HEAP_PROPERTY).
+     *
+     * @param controller The controller for doubly-linked list employee data logic.
+     * @param hireDateIndex The index over the hire dates of the list, following its changes.
+     * @param employeeStore The store in which new employees are kept, or null to keep them in the heap. It should listen
+     *                      to the list, so that the blocks of removed employees are freed.
+     */
+    public EmployeeView(ListController<EmployeeModel> controller, HireDateIndex hireDateIndex, OffHeapEmployeeStore employeeStore) {
         // Initialize the employee controller with the provided controller.
         this.employeeController = controller;
+        this.hireDateIndex = hireDateIndex;
+        this.employeeStore = employeeStore;
+
+        try {
+            // Set the look and feel to Nimbus for a modified UI appearance (before creating any component, so all of them use it).
+            UIManager.setLookAndFeel("javax.swing.plaf.nimbus.NimbusLookAndFeel");
+        } catch (Exception e) {
+            // Handle any exceptions that occur during look and feel setup and print the stack trace.
+            e.printStackTrace();
+        }
+
+        // Create the component that displays the employee cards (the ViewController renders cards for it).
+        employeeInfoLabel = new EmployeeCardComponent();
 
         // Create a new ViewController instance and associate it with this view.
         this.viewController = new ViewController(this);
@@ -125,30 +213,25 @@ public class EmployeeView {
         // Initialize the current employee node as the first node in the list.
         currentEmployeeNode = employeeController.getFirstNode();
 
-        try {
-            // Set the look and feel to Nimbus for a modified UI appearance.
-            UIManager.setLookAndFeel("javax.swing.plaf.nimbus.NimbusLookAndFeel");
-        } catch (Exception e) {
-            // Handle any exceptions that occur during look and feel setup and print the stack trace.
-            e.printStackTrace();
-        }
-
-        // Create a new JFrame for the application that will encapsulate the rest of elements.
-        frame = new JFrame("Employee Management");
+        // Create a new JFrame for the application that will encapsulate the rest of elements. Without a display (e.g. in
+        // the benchmarks) there can't be a window, but the rest of the view still works.
+        if (!GraphicsEnvironment.isHeadless()) {
+            frame = new JFrame("Employee Management");
 
-        // Create an ImageIcon from an image file to serve as the window icon.
-        ImageIcon icon = createImageIcon("resources/caimicon.png");
+            // Create an ImageIcon from an image file to serve as the window icon.
+            ImageIcon icon = createImageIcon("resources/caimicon.png");
 
-        if (icon != null) {
-            // Set the window icon.
-            frame.setIconImage(icon.getImage());
-        }
+            if (icon != null) {
+                // Set the window icon.
+                frame.setIconImage(icon.getImage());
+            }
 
-        // Set the default close operation to exit the application when the frame is closed.
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            // Set the default close operation to exit the application when the frame is closed.
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
-        // Set the initial size of the frame to 500x300 pixels. It will be able to be rescaled.
-        frame.setSize(500, 300);
+            // Set the initial size of the frame to 500x300 pixels. It will be able to be rescaled.
+            frame.setSize(500, 300);
+        }
 
         // Create GUI components
 
@@ -159,14 +242,13 @@ public class EmployeeView {
         phoneField = viewController.createLimitedTextField(20, placeHolderPhone, 9);
         emailField = viewController.createLimitedTextField(20, placeHolderEmail, 30);
 
-        // Set the horizontal and vertical alignment of the employee info to center.
-        employeeInfoLabel.setHorizontalAlignment(JLabel.CENTER);
-        employeeInfoLabel.setVerticalAlignment(JLabel.CENTER);
-
-        // Create panels to organize the view mode and creation mode.
+        // Create panels to organize the view mode and creation mode, and the panel that stacks them so that switching
+        // between them only changes which one is shown.
+        modePanel = new JPanel(new CardLayout());
         viewMode = new JPanel(new BorderLayout());
         viewMode.setBackground(new java.awt.Color(250, 255, 251));
         creationMode = new JPanel(new BorderLayout());
+        creationMode.setBackground(new java.awt.Color(250, 255, 251));
 
         // Create buttons for the view mode.
         backButton = new JButton("Back");
@@ -175,9 +257,28 @@ public class EmployeeView {
         createButton = new JButton("Create");
         modifyButton = new JButton("Modify");
         filterButton = new JButton("Apply Filter");
-
-        // Set attributes using the ViewController instance.
-        viewController.setAllAttributes();
+        tableButton = new JButton("Table");
+        importButton = new JButton("Import");
+        exportButton = new JButton("Export");
+
+        // Create buttons for the creation mode.
+        acceptButton = new JButton("Accept");
+        cancelButton = new JButton("Cancel");
+
+        // Create the table view of the roster. Every row has the same height and the column widths are fixed in advance,
+        // so the table never needs to look at rows out of sight (the model is asked for the visible cells only).
+        employeeTableModel = new EmployeeTableModel(employeeController);
+        employeeTable = new JTable(employeeTableModel);
+        employeeTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        employeeTable.setFillsViewportHeight(true);
+        employeeTable.getTableHeader().setReorderingAllowed(false);
+        employeeTable.setPreferredScrollableViewportSize(new Dimension(480, 160));
+        TableColumnModel columns = employeeTable.getColumnModel();
+        int[] columnWidths = {60, 140, 110, 80, 80, 160};
+        for (int column = 0; column < columnWidths.length; column++) {
+            columns.getColumn(column).setPreferredWidth(columnWidths[column]);
+        }
+        tableScrollPane = new JScrollPane(employeeTable);
 
         // Create a panel to hold the buttons in the view mode.
         JPanel buttonPanel = new JPanel(new FlowLayout()); // FlowLayout has centered alignment and a 5-unit horizontal gap by default.
@@ -187,9 +288,9 @@ public class EmployeeView {
         buttonPanel.add(createButton);
         buttonPanel.add(modifyButton);
         buttonPanel.add(filterButton);
-
-        // Add the button panel to the view mode panel in the south position.
-        viewMode.add(buttonPanel, BorderLayout.SOUTH);
+        buttonPanel.add(tableButton);
+        buttonPanel.add(importButton);
+        buttonPanel.add(exportButton);
 
         // Set the background color of buttons.
         backButton.setBackground(new java.awt.Color(204, 247, 255));
@@ -198,28 +299,53 @@ public class EmployeeView {
         createButton.setBackground(new java.awt.Color(204, 255, 212));
         modifyButton.setBackground(new java.awt.Color(255, 230, 204));
         filterButton.setBackground(new java.awt.Color(246, 204, 255));
+        tableButton.setBackground(new java.awt.Color(204, 247, 255));
+        importButton.setBackground(new java.awt.Color(204, 255, 212));
+        exportButton.setBackground(new java.awt.Color(255, 230, 204));
 
         // Add the button panel to the view mode panel in the south position.
         viewMode.add(buttonPanel, BorderLayout.SOUTH);
 
-        // Add the employeeInfoLabel to the view mode panel in the center.
-        viewMode.add(employeeInfoLabel, BorderLayout.CENTER);
+        // Add the employee card and the table to the view mode panel in the center, one at a time.
+        viewContent = new JPanel(new CardLayout());
+        viewContent.setOpaque(false);
+        viewContent.add(employeeInfoLabel, EMPLOYEE_CARD);
+        viewContent.add(tableScrollPane, TABLE_CARD);
+        viewMode.add(viewContent, BorderLayout.CENTER);
+
+        // Set attributes using the ViewController instance.
+        viewController.setAllAttributes();
+
+        // Build the creation mode once: the input fields with their labels, and the buttons to accept or cancel.
+        JPanel creationButtonPanel = new JPanel(new FlowLayout());
+        creationButtonPanel.add(acceptButton);
+        creationButtonPanel.add(cancelButton);
+        creationMode.add(viewController.createCreationModeComponents(), BorderLayout.CENTER);
+        creationMode.add(creationButtonPanel, BorderLayout.SOUTH);
+
+        // Stack both modes.
+        modePanel.add(viewMode, VIEW_MODE_CARD);
+        modePanel.add(creationMode, CREATION_MODE_CARD);
+
+        // Register the listeners of every button and of the table, once and for all.
+        viewController.registerListeners();
 
         // Update button states based on the current mode.
         viewController.updateButtonStates();
 
-        // Create a scroll pane for the view mode.
-        viewScrollPane = new JScrollPane(viewMode);
-
-        // Add the view scroll pane to the main frame.
-        frame.add(viewScrollPane);
+        // Create a scroll pane for both modes.
+        viewScrollPane = new JScrollPane(modePanel);
 
         // Initially, set the view mode using ViewController.
         viewController.switchToViewMode();
 
-        // Make the main frame visible to the user.
-        frame.setVisible(true);
+        if (frame != null) {
+            // Add the view scroll pane to the main frame.
+            frame.add(viewScrollPane);
 
+            // Make the main frame visible to the user.
+            frame.setVisible(true);
+        }
     }
 
     /**
@@ -251,6 +377,24 @@ public class EmployeeView {
         return employeeController;
     }
 
+    /**
+     * Get the index over the hire dates of the employees.
+     *
+     * @return The HireDateIndex of the list.
+     */
+    public HireDateIndex getHireDateIndex() {
+        return hireDateIndex;
+    }
+
+    /**
+     * Get the off-heap store in which new employees are kept.
+     *
+     * @return The OffHeapEmployeeStore, or null if new employees are kept in the heap.
+     */
+    public OffHeapEmployeeStore getEmployeeStore() {
+        return employeeStore;
+    }
+
     /**
      * Get the currently selected employee model.
      *
@@ -261,11 +405,11 @@ public class EmployeeView {
     }
 
     /**
-     * Get the label used for displaying employee information.
+     * Get the component used for displaying employee information.
      *
-     * @return The JLabel used for displaying employee information.
+     * @return The EmployeeCardComponent used for displaying employee information.
      */
-    public JLabel getEmployeeInfoLabel() {
+    public EmployeeCardComponent getEmployeeInfoLabel() {
         return employeeInfoLabel;
     }
 
@@ -377,6 +521,51 @@ public class EmployeeView {
         return filterButton;
     }
 
+    /**
+     * Get the "Table" button for switching between the employee card and the table of the whole roster.
+     *
+     * @return The "Table" JButton.
+     */
+    public JButton getTableButton() {
+        return tableButton;
+    }
+
+    /**
+     * Get the "Import" button for adding the employees of a CSV file.
+     *
+     * @return The "Import" JButton.
+     */
+    public JButton getImportButton() {
+        return importButton;
+    }
+
+    /**
+     * Get the "Export" button for saving the employees to a CSV or JSON file.
+     *
+     * @return The "Export" JButton.
+     */
+    public JButton getExportButton() {
+        return exportButton;
+    }
+
+    /**
+     * Get the "Accept" button of the creation mode.
+     *
+     * @return The "Accept" JButton.
+     */
+    public JButton getAcceptButton() {
+        return acceptButton;
+    }
+
+    /**
+     * Get the "Cancel" button of the creation mode.
+     *
+     * @return The "Cancel" JButton.
+     */
+    public JButton getCancelButton() {
+        return cancelButton;
+    }
+
     /**
      * Check if a filter is currently applied.
      *
@@ -404,6 +593,24 @@ public class EmployeeView {
         return creationMode;
     }
 
+    /**
+     * Get the panel holding both modes.
+     *
+     * @return The JPanel whose CardLayout shows either mode.
+     */
+    public JPanel getModePanel() {
+        return modePanel;
+    }
+
+    /**
+     * Get the panel in the center of the view mode.
+     *
+     * @return The JPanel whose CardLayout shows either the employee card or the table.
+     */
+    public JPanel getViewContent() {
+        return viewContent;
+    }
+
     /**
      * Get the scroll pane for displaying content in the view.
      *
@@ -413,6 +620,33 @@ public class EmployeeView {
         return viewScrollPane;
     }
 
+    /**
+     * Get the table model showing the whole roster.
+     *
+     * @return The EmployeeTableModel of the employee table.
+     */
+    public EmployeeTableModel getEmployeeTableModel() {
+        return employeeTableModel;
+    }
+
+    /**
+     * Get the table showing the whole roster.
+     *
+     * @return The JTable of employees.
+     */
+    public JTable getEmployeeTable() {
+        return employeeTable;
+    }
+
+    /**
+     * Get the scroll pane of the employee table.
+     *
+     * @return The JScrollPane holding the employee table.
+     */
+    public JScrollPane getTableScrollPane() {
+        return tableScrollPane;
+    }
+
     /**
      * Get the current mode of the view.
      *
@@ -425,7 +659,7 @@ public class EmployeeView {
     /**
      * Get the main frame for the view.
      *
-     * @return The main JFrame for the view.
+     * @return The main JFrame for the view, or null if there is no display.
      */
     public JFrame getFrame() {
         return frame;
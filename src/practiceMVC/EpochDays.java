@@ -0,0 +1,166 @@
+package practiceMVC;
+
+/**
+ * Allocation-free conversions between "DD/MM/YYYY" dates, calendar fields and epoch days (number of days since
+ * 1970-01-01 in the proleptic Gregorian calendar). Epoch days are how EmployeeModel stores hire dates: a single int
+ * instead of a GregorianCalendar.
+ * The conversions use the civil-from-days and days-from-civil algorithms by Howard Hinnant, which only need integer
+ * arithmetic.
+ * They match a (lenient) GregorianCalendar for dates from 1582-10-15 onward only: before that day GregorianCalendar
+ * switches to the Julian calendar, while these conversions stay proleptic Gregorian, so older dates differ by days.
+ */
+public final class EpochDays {
+    /**
+     * This class only offers static methods.
+     */
+    private EpochDays() {
+    }
+
+    /**
+     * Parses a date in "DD/MM/YYYY" format (one or two digits are also accepted for the day and month) without
+     * allocating anything. Out-of-range days and months roll over (31/02 is 03/03), like in a lenient GregorianCalendar
+     * for dates from 1582-10-15 onward.
+     *
+     * @param date The date text.
+     * @return The date as an epoch day.
+     * @throws IllegalArgumentException If the text is not three slash-separated numbers.
+     */
+    public static int parse(CharSequence date) {
+        // The three fields (day, month, year) are accumulated in locals to avoid allocating an array.
+        int day = 0;
+        int month = 0;
+        int value = 0;
+        int field = 0;
+        int digits = 0;
+        for (int i = 0; i < date.length(); i++) {
+            char c = date.charAt(i);
+            if (c >= '0' && c <= '9') {
+                // Values beyond 6 digits would overflow the epoch day arithmetic.
+                if (++digits > 6) {
+                    throw new IllegalArgumentException("Invalid date: " + date);
+                }
+                value = value * 10 + (c - '0');
+            } else if (c == '/' && digits > 0 && field < 2) {
+                if (field == 0) {
+                    day = value;
+                } else {
+                    month = value;
+                }
+                field++;
+                digits = 0;
+                value = 0;
+            } else {
+                throw new IllegalArgumentException("Invalid date: " + date);
+            }
+        }
+        if (field != 2 || digits == 0) {
+            throw new IllegalArgumentException("Invalid date: " + date);
+        }
+        return of(value, month, day);
+    }
+
+    /**
+     * Gets the epoch day of a date given by its fields. Out-of-range days and months roll over.
+     *
+     * @param year The year.
+     * @param month The month (1 to 12).
+     * @param day The day of the month (1 to 31).
+     * @return The date as an epoch day.
+     */
+    public static int of(int year, int month, int day) {
+        // Normalize the month first so that months outside 1..12 roll over into the year.
+        year += Math.floorDiv(month - 1, 12);
+        month = Math.floorMod(month - 1, 12) + 1;
+
+        // Count years from March, so that the leap day is the last day of the year.
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Gets the year of an epoch day.
+     *
+     * @param epochDay The date as an epoch day.
+     * @return The year.
+     */
+    public static int year(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        return yearOfEra + era * 400 + (shiftedMonth >= 10 ? 1 : 0);
+    }
+
+    /**
+     * Gets the month of an epoch day.
+     *
+     * @param epochDay The date as an epoch day.
+     * @return The month (1 to 12).
+     */
+    public static int month(int epochDay) {
+        int shiftedMonth = (5 * dayOfShiftedYear(epochDay) + 2) / 153;
+        return shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+    }
+
+    /**
+     * Gets the day of the month of an epoch day.
+     *
+     * @param epochDay The date as an epoch day.
+     * @return The day of the month (1 to 31).
+     */
+    public static int dayOfMonth(int epochDay) {
+        int dayOfYear = dayOfShiftedYear(epochDay);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        return dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    }
+
+    /**
+     * Appends an epoch day to a StringBuilder in "DD/MM/YYYY" format, without any intermediate object.
+     *
+     * @param epochDay The date as an epoch day.
+     * @param builder The StringBuilder to append to.
+     * @return The same StringBuilder.
+     */
+    public static StringBuilder formatTo(int epochDay, StringBuilder builder) {
+        int day = dayOfMonth(epochDay);
+        int month = month(epochDay);
+        int year = year(epochDay);
+        builder.append((char) ('0' + day / 10)).append((char) ('0' + day % 10)).append('/');
+        builder.append((char) ('0' + month / 10)).append((char) ('0' + month % 10)).append('/');
+        // Pad the year to four digits, as SimpleDateFormat("yyyy") does.
+        for (int limit = 1000; limit > 1 && year < limit && year >= 0; limit /= 10) {
+            builder.append('0');
+        }
+        return builder.append(year);
+    }
+
+    /**
+     * Formats an epoch day in "DD/MM/YYYY" format.
+     *
+     * @param epochDay The date as an epoch day.
+     * @return The formatted date.
+     */
+    public static String format(int epochDay) {
+        return formatTo(epochDay, new StringBuilder(10)).toString();
+    }
+
+    /**
+     * Gets the day of the year counted from March 1st (0 to 365), which the civil-from-days algorithm works with.
+     *
+     * @param epochDay The date as an epoch day.
+     * @return The day of the March-based year.
+     */
+    private static int dayOfShiftedYear(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        return dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    }
+}
@@ -0,0 +1,142 @@
+package practiceMVC;
+
+// For listing and deleting the generation files.
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Names the generations of a file that is never replaced in place, because it may still be mapped (or open) while its
+ * next version is written, and a mapped file can't be replaced or deleted on every platform (not on Windows). Every
+ * version is written to a new generation file instead, named after the base file plus a generation number starting at 1
+ * (such as "employees.snapshot.3"), and the latest generation is the current one. The older generations are deleted
+ * once a new one is complete; those that can't be deleted yet (because they are still mapped) are deleted later.
+ * Files that belong to a generation (named after the generation file plus a suffix, such as "employees.snapshot.3.keys")
+ * are deleted along with it.
+ */
+final class GenerationFiles {
+    /**
+     * Longest generation number suffix, in digits, so that it always fits in a long.
+     */
+    private static final int MAX_DIGITS = 18;
+
+    /**
+     * Prevents instantiation: this class only has static methods.
+     */
+    private GenerationFiles() {
+    }
+
+    /**
+     * Gets the number of the latest generation of a file.
+     *
+     * @param baseFile The base file, whose name the generation files extend.
+     * @return The number of the latest generation, or 0 if there is none yet.
+     * @throws IOException If the directory of the file can't be listed.
+     */
+    static long latestGeneration(Path baseFile) throws IOException {
+        long latest = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directoryOf(baseFile))) {
+            for (Path file : files) {
+                latest = Math.max(latest, generationOf(baseFile, file));
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Gets the file of a generation.
+     *
+     * @param baseFile The base file, whose name the generation files extend.
+     * @param generation The number of the generation, from 1.
+     * @return The file of the generation.
+     */
+    static Path generationFile(Path baseFile, long generation) {
+        return baseFile.resolveSibling(baseFile.getFileName() + "." + generation);
+    }
+
+    /**
+     * Gets the temporary file in which a generation is written before it gets its final name, so that a generation
+     * file is always complete.
+     *
+     * @param baseFile The base file, whose name the generation files extend.
+     * @param generation The number of the generation, from 1.
+     * @return The temporary file of the generation.
+     */
+    static Path temporaryFile(Path baseFile, long generation) {
+        return baseFile.resolveSibling(baseFile.getFileName() + "." + generation + ".tmp");
+    }
+
+    /**
+     * Deletes the generation files older than a generation, and the files that belong to them. Those that can't be
+     * deleted yet (such as mapped files, on Windows) are left for a later call.
+     *
+     * @param baseFile The base file, whose name the generation files extend.
+     * @param generation The oldest generation to keep.
+     * @throws IOException If the directory of the file can't be listed.
+     */
+    static void deleteGenerationsBefore(Path baseFile, long generation) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directoryOf(baseFile))) {
+            for (Path file : files) {
+                long fileGeneration = generationOf(baseFile, ownerOf(file));
+                if (fileGeneration > 0 && fileGeneration < generation) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        // Still in use: it will be deleted by a later call.
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of the generation a file holds, if it is a generation of a base file.
+     *
+     * @param baseFile The base file, whose name the generation files extend.
+     * @param file A file of the directory of the base file.
+     * @return The number of the generation, or 0 if the file isn't a generation of the base file (such as a temporary
+     *         file being written).
+     */
+    private static long generationOf(Path baseFile, Path file) {
+        String baseName = baseFile.getFileName().toString();
+        String name = file.getFileName().toString();
+        if (!name.startsWith(baseName + ".") || name.length() == baseName.length() + 1 || name.length() > baseName.length() + 1 + MAX_DIGITS) {
+            return 0;
+        }
+        for (int i = baseName.length() + 1; i < name.length(); i++) {
+            if (name.charAt(i) < '0' || name.charAt(i) > '9') {
+                return 0;
+            }
+        }
+        return Long.parseLong(name.substring(baseName.length() + 1));
+    }
+
+    /**
+     * Gets the file that a file belongs to: the name without its last suffix, if it has one after the generation number
+     * (such as "employees.snapshot.3" for "employees.snapshot.3.keys").
+     *
+     * @param file A file of the directory of the base file.
+     * @return The file it belongs to, or the file itself.
+     */
+    private static Path ownerOf(Path file) {
+        String name = file.getFileName().toString();
+        int suffix = name.lastIndexOf('.');
+        int generation = name.lastIndexOf('.', suffix - 1);
+        boolean numbered = suffix > generation + 1 && generation >= 0;
+        for (int i = generation + 1; numbered && i < suffix; i++) {
+            numbered = name.charAt(i) >= '0' && name.charAt(i) <= '9';
+        }
+        return numbered ? file.resolveSibling(name.substring(0, suffix)) : file;
+    }
+
+    /**
+     * Gets the directory holding the generations of a file.
+     *
+     * @param baseFile The base file.
+     * @return Its directory.
+     */
+    private static Path directoryOf(Path baseFile) {
+        return baseFile.toAbsolutePath().getParent();
+    }
+}
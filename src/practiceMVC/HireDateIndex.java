@@ -0,0 +1,201 @@
+package practiceMVC;
+
+// For the sorted map of hire dates.
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Secondary index over the hire dates of the employees of a ListController.
+ * Employees are grouped by hire date (as a number of days since 1970-01-01) in a sorted map, so the employees hired
+ * within a date range are found without a scan of the list (CompiledFilter evaluates hire-date filters on them only).
+ * The index follows the changes of the list by itself, as long as employees are modified through ListController.update.
+ *
+ * When the roster is restored from a snapshot, the hire dates of its employees can be read from the index file saved
+ * with it (see EmployeeSnapshotIndexes) instead of from every employee: the map then only holds the employees added or
+ * modified since, and the employees of the snapshot that were modified or removed are skipped in the file.
+ */
+public class HireDateIndex implements ListController.Listener<EmployeeModel> {
+    /**
+     * The indexed list.
+     */
+    private final ListController<EmployeeModel> employeeController;
+
+    /**
+     * Nodes grouped by hire date (epoch day). Employees without a hire date are not indexed.
+     */
+    private final NavigableMap<Integer, Set<ListController<EmployeeModel>.Node<EmployeeModel>>> nodesByHireDate = new TreeMap<>();
+
+    /**
+     * Hire date (epoch day) under which each node is currently indexed.
+     */
+    private final Map<ListController<EmployeeModel>.Node<EmployeeModel>, Integer> indexedHireDates = new HashMap<>();
+
+    /**
+     * Hire dates of the employees loaded from a snapshot (epoch day as key, index of the employee in the snapshot as
+     * location), or null if the index doesn't use a file.
+     */
+    private PersistedIndex baseHireDates;
+
+    /**
+     * Nodes of the snapshot that were modified or removed since it was loaded, so their hire date in the file is stale.
+     */
+    private final Set<ListController<EmployeeModel>.Node<EmployeeModel>> staleBaseNodes = new HashSet<>();
+
+    /**
+     * Builds the index over the current contents of a list and starts following its changes.
+     *
+     * @param employeeController The list to index.
+     */
+    public HireDateIndex(ListController<EmployeeModel> employeeController) {
+        this.employeeController = employeeController;
+        for (ListController<EmployeeModel>.Node<EmployeeModel> node = employeeController.getFirstNode(); node != null; node = node.getNextNode()) {
+            nodeAdded(node);
+        }
+        employeeController.addListener(this);
+    }
+
+    /**
+     * Starts indexing a list that has just been filled with the employees of a snapshot (with
+     * ListController.addAllIndexed), reading their hire dates from the index file of the snapshot rather than from
+     * every employee, and follows its changes.
+     *
+     * @param employeeController The list to index, holding nothing but the employees of the snapshot.
+     * @param baseHireDates The hire date index file of the snapshot.
+     */
+    HireDateIndex(ListController<EmployeeModel> employeeController, PersistedIndex baseHireDates) {
+        this.employeeController = employeeController;
+        this.baseHireDates = baseHireDates;
+        employeeController.addListener(this);
+    }
+
+    /**
+     * Visits the nodes of the employees hired within the given days (both included), in hire date order.
+     * Only those nodes are visited, not the whole list.
+     *
+     * @param fromEpochDay First day, as days since 1970-01-01.
+     * @param toEpochDay Last day, as days since 1970-01-01.
+     * @param action The action to perform on each node.
+     */
+    public void forEachNodeBetween(int fromEpochDay, int toEpochDay, Consumer<ListController<EmployeeModel>.Node<EmployeeModel>> action) {
+        if (fromEpochDay > toEpochDay) {
+            return; // Empty range.
+        }
+        List<Long> baseEntries = baseEntriesBetween(fromEpochDay, toEpochDay);
+        int next = 0;
+        for (Map.Entry<Integer, Set<ListController<EmployeeModel>.Node<EmployeeModel>>> day : nodesByHireDate.subMap(fromEpochDay, true, toEpochDay, true).entrySet()) {
+            // Visit the employees of the snapshot hired before, or on, that day first, to keep hire date order.
+            for (; next < baseEntries.size() && PersistedIndex.key(baseEntries.get(next)) <= day.getKey(); next++) {
+                action.accept(employeeController.getIndexedNode(PersistedIndex.location(baseEntries.get(next))));
+            }
+            for (ListController<EmployeeModel>.Node<EmployeeModel> node : day.getValue()) {
+                action.accept(node);
+            }
+        }
+        for (; next < baseEntries.size(); next++) {
+            action.accept(employeeController.getIndexedNode(PersistedIndex.location(baseEntries.get(next))));
+        }
+    }
+
+    /**
+     * Reads the entries of the employees of the snapshot hired within the given days from its index file, leaving out
+     * the ones that were modified or removed since. If the file turns out to be corrupt, the employees of the snapshot
+     * are indexed in memory instead, and the file isn't used anymore.
+     *
+     * @param fromEpochDay First day, as days since 1970-01-01.
+     * @param toEpochDay Last day, as days since 1970-01-01.
+     * @return The entries, in hire date order (empty if the index doesn't use a file).
+     */
+    private List<Long> baseEntriesBetween(int fromEpochDay, int toEpochDay) {
+        List<Long> entries = new ArrayList<>();
+        if (baseHireDates != null) {
+            try {
+                baseHireDates.forEach(fromEpochDay, toEpochDay, (entry, count) -> {
+                    if (!staleBaseNodes.contains(employeeController.getIndexedNode(PersistedIndex.location(entry)))) {
+                        entries.add(entry);
+                    }
+                    return true;
+                });
+            } catch (UncheckedIOException e) {
+                indexBaseNodes();
+                entries.clear();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Stops using the index file of the snapshot: indexes the employees of the snapshot that are still up to date in the
+     * file in memory, like any other.
+     */
+    private void indexBaseNodes() {
+        baseHireDates = null;
+        for (ListController<EmployeeModel>.Node<EmployeeModel> node = employeeController.getFirstNode(); node != null; node = node.getNextNode()) {
+            if (!indexedHireDates.containsKey(node)) {
+                nodeAdded(node);
+            }
+        }
+        staleBaseNodes.clear();
+    }
+
+    /**
+     * Indexes a node that has just been added to the list.
+     *
+     * @param node The added node.
+     */
+    @Override
+    public void nodeAdded(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        EmployeeModel employee = node.getMain();
+        if (!employee.hasHireDate()) {
+            return; // Employees without a hire date are not indexed.
+        }
+        int epochDay = employee.getHireEpochDay();
+        indexedHireDates.put(node, epochDay);
+        nodesByHireDate.computeIfAbsent(epochDay, day -> new HashSet<>()).add(node);
+    }
+
+    /**
+     * Forgets a node that has just been removed from the list.
+     *
+     * @param node The removed node.
+     */
+    @Override
+    public void nodeRemoved(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        Integer epochDay = indexedHireDates.remove(node);
+        if (epochDay != null) {
+            Set<ListController<EmployeeModel>.Node<EmployeeModel>> nodes = nodesByHireDate.get(epochDay);
+            nodes.remove(node);
+            if (nodes.isEmpty()) {
+                nodesByHireDate.remove(epochDay);
+            }
+        } else if (baseHireDates != null) {
+            // Not in the map: it may be an employee of the snapshot, whose hire date in the file no longer applies.
+            staleBaseNodes.add(node);
+        }
+    }
+
+    /**
+     * Re-indexes a node whose employee has just been modified.
+     *
+     * @param node The updated node.
+     */
+    @Override
+    public void nodeUpdated(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        nodeRemoved(node);
+        nodeAdded(node);
+    }
+
+    /**
+     * Stops following the changes of the list. The index cannot be used afterwards.
+     */
+    public void close() {
+        employeeController.removeListener(this);
+    }
+}
@@ -1,5 +1,18 @@
 package practiceMVC;
 
+// For the optional key index and the bulk operations.
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 /**
  * A generic double-linked list controller for managing elements of type E (generic).
  *
@@ -21,12 +34,68 @@ public class ListController<E> {
      */
     private int totalElements = 0;
 
+    /**
+     * Order-statistic index over the nodes, used to answer positional queries in logarithmic time.
+     */
+    private final PositionIndex<Node<E>> positionIndex = new PositionIndex<>();
+
+    /**
+     * Function that extracts the unique key of an element, or null if the list keeps no key index.
+     */
+    private final Function<? super E, ?> keyExtractor;
+
+    /**
+     * Unique-key index mapping each key to the node holding it, or null if the list keeps no key index. The nodes loaded
+     * by addAllIndexed are only put in it once their key changes.
+     */
+    private final Map<Object, Node<E>> keyIndex;
+
+    /**
+     * Key index of the elements loaded by addAllIndexed, kept outside of the list, or null if none were loaded.
+     */
+    private BaseKeyIndex baseKeyIndex;
+
+    /**
+     * Nodes created by addAllIndexed, in the order of the loaded elements, or null if none were loaded.
+     */
+    private Node<E>[] baseNodes;
+
+    /**
+     * Key of the nodes loaded by addAllIndexed until it is first needed (see keyOf).
+     */
+    private static final Object UNREAD_KEY = new Object();
+
+    /**
+     * Number of structural or element changes made to the list, used to detect changes during a traversal.
+     */
+    private int modificationCount = 0;
+
+    /**
+     * Listeners notified whenever a node is added, removed or updated.
+     */
+    private final List<Listener<E>> listeners = new ArrayList<>();
+
     /**
      * Initializes an empty ListController.
      */
     public ListController() {
         this.firstNode = null;
         this.lastNode = null;
+        this.keyExtractor = null;
+        this.keyIndex = null;
+    }
+
+    /**
+     * Initializes an empty ListController that keeps a unique-key index over its elements.
+     * Elements whose key is already in use are rejected, and keys can be looked up in constant time.
+     *
+     * @param keyExtractor The function that extracts the unique key of an element.
+     */
+    public ListController(Function<? super E, ?> keyExtractor) {
+        this.firstNode = null;
+        this.lastNode = null;
+        this.keyExtractor = keyExtractor;
+        this.keyIndex = new HashMap<>();
     }
 
     /**
@@ -57,23 +126,169 @@ public class ListController<E> {
      * @param p The element to be added to the list.
      */
     public void add(E p) {
+        // Reject the element before linking anything if its key is already in use.
+        Object key = checkKeyAvailable(p);
+
         // Create a new node containing the provided element.
         Node<E> newNode = new Node(p);
 
-        // If the list is empty, set the new node as both the first and last node.
-        if (firstNode == null) {
-            firstNode = newNode;
-            lastNode = newNode;
-        } else {
-            // Link the new node to the previous last node.
-            newNode.setPreviousNode(lastNode);
-            // Update the next node of the previous last node to point to the new node.
-            lastNode.setNextNode(newNode);
-            // Update the last node to be the new node.
-            lastNode = newNode;
+        // Link the new node after the last node and register it at the last position.
+        linkBetween(newNode, lastNode, null);
+        newNode.positionEntry = positionIndex.addLast(newNode);
+        registerKey(newNode, key);
+        notifyAdded(newNode);
+        notifyFinished();
+    }
+
+    /**
+     * Inserts an element right before a node of the list.
+     *
+     * @param node The node that will follow the new element.
+     * @param p The element to be inserted.
+     * @return The node created for the element.
+     */
+    public Node<E> insertBefore(Node<E> node, E p) {
+        requireLinked(node);
+        Object key = checkKeyAvailable(p);
+        Node<E> newNode = new Node<>(p);
+
+        // The new node takes the position of the given node, which moves one place forward.
+        int position = positionIndex.positionOf(node.positionEntry);
+        linkBetween(newNode, node.getPreviousNode(), node);
+        newNode.positionEntry = positionIndex.insertAt(position, newNode);
+        registerKey(newNode, key);
+        notifyAdded(newNode);
+        notifyFinished();
+        return newNode;
+    }
+
+    /**
+     * Inserts an element right after a node of the list.
+     *
+     * @param node The node that will precede the new element.
+     * @param p The element to be inserted.
+     * @return The node created for the element.
+     */
+    public Node<E> insertAfter(Node<E> node, E p) {
+        requireLinked(node);
+        Object key = checkKeyAvailable(p);
+        Node<E> newNode = new Node<>(p);
+
+        int position = positionIndex.positionOf(node.positionEntry) + 1;
+        linkBetween(newNode, node, node.getNextNode());
+        newNode.positionEntry = positionIndex.insertAt(position, newNode);
+        registerKey(newNode, key);
+        notifyAdded(newNode);
+        notifyFinished();
+        return newNode;
+    }
+
+    /**
+     * Adds several elements to the end of the list at once, in order. The nodes are linked as a chain and registered in
+     * the position index in a single step, which is much faster than adding them one by one.
+     * Either every element is added or none is: all keys are checked before anything is linked.
+     *
+     * @param elements The elements to be added to the list.
+     * @return The number of elements added.
+     * @throws IllegalArgumentException If the key of an element is already in use, in the list or in the batch itself.
+     */
+    public int addAll(Collection<? extends E> elements) {
+        // Reject the whole batch before linking anything if any key is already in use.
+        Object[] keys = new Object[elements.size()];
+        if (keyIndex != null) {
+            Set<Object> batchKeys = new HashSet<>();
+            int i = 0;
+            for (E p : elements) {
+                Object key = checkKeyAvailable(p);
+                if (!batchKeys.add(key)) {
+                    throw new IllegalArgumentException("Duplicate key: " + key);
+                }
+                keys[i++] = key;
+            }
+        }
+
+        Node<E>[] newNodes = appendAll(elements);
+        for (int i = 0; i < newNodes.length; i++) {
+            registerKey(newNodes[i], keys[i]);
+        }
+        notifyAllAdded(newNodes);
+        return newNodes.length;
+    }
+
+    /**
+     * Adds the elements of a file (or any other source that keeps a key index of its own) to an empty list, like addAll
+     * but without putting their keys in the key index: keys are looked up in the given base key index instead, and the
+     * key of an element is only read when it is needed. This makes loading a large roster much faster, as neither the
+     * keys nor the key index are touched for the elements that are never looked up or modified.
+     * The elements must have distinct keys, as given by the base key index; they are not checked.
+     *
+     * @param elements The elements to be added to the list.
+     * @param baseKeyIndex The key index of the elements, which finds an element by the key it has in the collection.
+     * @return The number of elements added.
+     * @throws IllegalStateException If the list keeps no key index, isn't empty, or already had elements loaded this way.
+     */
+    public int addAllIndexed(Collection<? extends E> elements, BaseKeyIndex baseKeyIndex) {
+        if (keyIndex == null || totalElements != 0 || baseNodes != null) {
+            throw new IllegalStateException("Indexed elements can only be loaded once, into an empty list that keeps a key index.");
+        }
+        Node<E>[] newNodes = appendAll(elements);
+        for (Node<E> newNode : newNodes) {
+            newNode.indexedKey = UNREAD_KEY;
+        }
+        this.baseKeyIndex = baseKeyIndex;
+        this.baseNodes = newNodes;
+        notifyAllAdded(newNodes);
+        return newNodes.length;
+    }
+
+    /**
+     * Gets a node created by addAllIndexed, whether it is still in the list or not.
+     *
+     * @param index The index of the element in the collection given to addAllIndexed.
+     * @return The node created for the element.
+     * @throws IndexOutOfBoundsException If no element was loaded at that index.
+     */
+    public Node<E> getIndexedNode(int index) {
+        if (baseNodes == null || index < 0 || index >= baseNodes.length) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return baseNodes[index];
+    }
+
+    /**
+     * Links new nodes holding some elements one after the other at the end of the list, and registers the whole chain
+     * at the last positions of the position index at once.
+     *
+     * @param elements The elements to be added to the list.
+     * @return The new nodes, in order.
+     */
+    private Node<E>[] appendAll(Collection<? extends E> elements) {
+        Node<E>[] newNodes = newNodeArray(elements.size());
+        int count = 0;
+        for (E p : elements) {
+            Node<E> newNode = new Node<>(p);
+            linkBetween(newNode, lastNode, null);
+            newNodes[count++] = newNode;
+        }
+        PositionIndex.Entry<Node<E>>[] entries = positionIndex.addAllLast(newNodes, count);
+        for (int i = 0; i < count; i++) {
+            newNodes[i].positionEntry = entries[i];
+        }
+        return newNodes;
+    }
+
+    /**
+     * Notifies the listeners that nodes have been added by a single operation.
+     *
+     * @param newNodes The added nodes, in order.
+     */
+    private void notifyAllAdded(Node<E>[] newNodes) {
+        for (Node<E> newNode : newNodes) {
+            notifyAdded(newNode);
+        }
+        if (newNodes.length > 0) {
+            notifyFinished();
         }
-        // Update the total elements count.
-        totalElements++;
     }
 
     /**
@@ -88,30 +303,259 @@ public class ListController<E> {
         // Traverse the list to find the element to remove.
         while (current != null) {
             if (current.getMain().equals(p)) {
-                Node<E> previous = current.getPreviousNode();
-                Node<E> next = current.getNextNode();
-                if (previous != null) {
-                    // Update the next node of the previous node to skip the current node.
-                    previous.setNextNode(next);
-                } else {
-                    // If the removed node was the first node, update the first node.
-                    firstNode = next;
-                }
-                if (next != null) {
-                    // Update the previous node of the next node to skip the current node.
-                    next.setPreviousNode(previous);
-                } else {
-                    // If the removed node was the last node, update the last node.
-                    lastNode = previous;
-                }
-                // Update the total elements count.
-                totalElements--;
+                removeNode(current);
                 return; // Element removed.
             }
             current = current.getNextNode();
         }
     }
 
+    /**
+     * Removes a node from the list without searching for it. Unlinking takes constant time and updating the position
+     * index takes logarithmic time.
+     * The removed node keeps its links to its former neighbours, so a caller standing on it can still move on.
+     *
+     * @param node The node to be removed from the list.
+     */
+    public void removeNode(Node<E> node) {
+        requireLinked(node);
+        unlink(node);
+        positionIndex.remove(node.positionEntry);
+        node.positionEntry = null;
+        unregisterKey(node);
+        notifyRemoved(node);
+        notifyFinished();
+    }
+
+    /**
+     * Moves a node to another position of the list, keeping the node itself (so handles to it stay valid).
+     *
+     * @param node The node to be moved.
+     * @param index The position (index) that the node will have after the move.
+     * @throws IndexOutOfBoundsException If the index is negative or not lower than the total number of elements.
+     */
+    public void moveTo(Node<E> node, int index) {
+        requireLinked(node);
+        if (index < 0 || index >= totalElements) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + totalElements);
+        }
+        if (positionIndex.positionOf(node.positionEntry) == index) {
+            return; // Already there.
+        }
+
+        // Take the node out of the list and the position index...
+        unlink(node);
+        positionIndex.remove(node.positionEntry);
+
+        // ...and put it back in front of the node now occupying the target position (or at the end).
+        if (index == totalElements) {
+            linkBetween(node, lastNode, null);
+        } else {
+            Node<E> successor = positionIndex.entryAt(index).value;
+            linkBetween(node, successor.getPreviousNode(), successor);
+        }
+        // The same entry goes back in, so the node keeps its marks (e.g. its membership in node sets).
+        positionIndex.insertAt(index, node.positionEntry);
+        for (Listener<E> listener : listeners) {
+            listener.nodeMoved(node);
+        }
+        notifyFinished();
+    }
+
+    /**
+     * Removes every element that matches a condition, in two passes over the list: the condition is evaluated on every
+     * element first, and the matching nodes are only unlinked afterwards, so the list is left untouched if the condition
+     * throws.
+     *
+     * @param filter The condition that the elements to be removed satisfy.
+     * @return The number of elements removed.
+     */
+    public int removeIf(Predicate<? super E> filter) {
+        // Evaluate the condition on every element before changing anything.
+        boolean[] matches = new boolean[totalElements];
+        int matchCount = 0;
+        int index = 0;
+        for (Node<E> node = firstNode; node != null; node = node.getNextNode()) {
+            if (filter.test(node.getMain())) {
+                matches[index] = true;
+                matchCount++;
+            }
+            index++;
+        }
+        if (matchCount == 0) {
+            return 0;
+        }
+
+        PositionIndex.Entry<Node<E>>[] survivors = PositionIndex.newEntryArray(totalElements - matchCount);
+        int survivorCount = 0;
+        List<Node<E>> removedNodes = new ArrayList<>(matchCount);
+
+        // Unlink the matching nodes and keep the entries of the rest, in list order.
+        Node<E> current = firstNode;
+        index = 0;
+        while (current != null) {
+            Node<E> next = current.getNextNode();
+            if (matches[index++]) {
+                unlink(current);
+                current.positionEntry = null;
+                unregisterKey(current);
+                removedNodes.add(current);
+            } else {
+                survivors[survivorCount++] = current.positionEntry;
+            }
+            current = next;
+        }
+
+        // Rebuild the position index from the survivors at once instead of removing entries one by one.
+        positionIndex.rebuild(survivors, survivorCount);
+        for (Node<E> removedNode : removedNodes) {
+            notifyRemoved(removedNode);
+        }
+        notifyFinished();
+        return removedNodes.size();
+    }
+
+    /**
+     * Links a node between two neighbours (either of them may be null at the ends of the list).
+     *
+     * @param node The node to be linked.
+     * @param previous The node that will precede it.
+     * @param next The node that will follow it.
+     */
+    private void linkBetween(Node<E> node, Node<E> previous, Node<E> next) {
+        node.setPreviousNode(previous);
+        node.setNextNode(next);
+        if (previous != null) {
+            previous.setNextNode(node);
+        } else {
+            // If there is no previous node, the new node becomes the first node.
+            firstNode = node;
+        }
+        if (next != null) {
+            next.setPreviousNode(node);
+        } else {
+            // If there is no next node, the new node becomes the last node.
+            lastNode = node;
+        }
+        // Update the total elements count.
+        totalElements++;
+        modificationCount++;
+    }
+
+    /**
+     * Unlinks a node from its neighbours in constant time. The node keeps its own links.
+     *
+     * @param node The node to be unlinked.
+     */
+    private void unlink(Node<E> node) {
+        Node<E> previous = node.getPreviousNode();
+        Node<E> next = node.getNextNode();
+        if (previous != null) {
+            // Update the next node of the previous node to skip the current node.
+            previous.setNextNode(next);
+        } else {
+            // If the removed node was the first node, update the first node.
+            firstNode = next;
+        }
+        if (next != null) {
+            // Update the previous node of the next node to skip the current node.
+            next.setPreviousNode(previous);
+        } else {
+            // If the removed node was the last node, update the last node.
+            lastNode = previous;
+        }
+        // Update the total elements count.
+        totalElements--;
+        modificationCount++;
+    }
+
+    /**
+     * Makes sure that a node currently belongs to this list.
+     *
+     * @param node The node to check.
+     * @throws IllegalArgumentException If the node is null, was removed, or belongs to another list.
+     */
+    private void requireLinked(Node<E> node) {
+        if (node == null || node.positionEntry == null || node.getList() != this) {
+            throw new IllegalArgumentException("The node does not belong to this list.");
+        }
+    }
+
+    /**
+     * Checks that the key of an element is not in use yet, if the list keeps a key index.
+     *
+     * @param p The element to check.
+     * @return The key of the element, or null if the list keeps no key index.
+     * @throws IllegalArgumentException If another element already uses the same key.
+     */
+    private Object checkKeyAvailable(E p) {
+        if (keyIndex == null) {
+            return null;
+        }
+        Object key = keyExtractor.apply(p);
+        if (findKey(key) != null) {
+            throw new IllegalArgumentException("Duplicate key: " + key);
+        }
+        return key;
+    }
+
+    /**
+     * Finds the node holding a key, in the key index or else in the base key index.
+     *
+     * @param key The key to look for.
+     * @return The node holding the key, or null if there is none.
+     */
+    private Node<E> findKey(Object key) {
+        Node<E> node = keyIndex.get(key);
+        if (node == null && baseKeyIndex != null) {
+            int index = baseKeyIndex.find(key);
+            // The base key index only knows the keys that the elements were loaded with: the node must still be in the
+            // list, under that key.
+            if (index >= 0 && baseNodes[index].positionEntry != null && Objects.equals(keyOf(baseNodes[index]), key)) {
+                node = baseNodes[index];
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Gets the key of the element of a node, reading it the first time it is needed for nodes loaded by addAllIndexed.
+     *
+     * @param node The node.
+     * @return The key of its element.
+     */
+    private Object keyOf(Node<E> node) {
+        if (node.indexedKey == UNREAD_KEY) {
+            node.indexedKey = keyExtractor.apply(node.getMain());
+        }
+        return node.indexedKey;
+    }
+
+    /**
+     * Registers a node in the key index, if the list keeps one.
+     *
+     * @param node The node to register.
+     * @param key The key of its element.
+     */
+    private void registerKey(Node<E> node, Object key) {
+        if (keyIndex != null) {
+            node.indexedKey = key;
+            keyIndex.put(key, node);
+        }
+    }
+
+    /**
+     * Unregisters a node from the key index, if the list keeps one.
+     *
+     * @param node The node to unregister.
+     */
+    private void unregisterKey(Node<E> node) {
+        if (keyIndex != null) {
+            // Only removed if the node is there: nodes loaded by addAllIndexed may not be.
+            keyIndex.remove(node.indexedKey, node);
+        }
+    }
+
     /**
      * Gets the position (index) of the first occurrence of an element in the list.
      *
@@ -136,6 +580,183 @@ public class ListController<E> {
         return position;
     }
 
+    /**
+     * Gets the position (index) of a node in the list in logarithmic time.
+     *
+     * @param node The node to find the position of.
+     * @return The position (index) of the node in the list. Returns -1 if the node is null or no longer in the list.
+     */
+    public int getPosition(Node<E> node) {
+        if (node == null || node.positionEntry == null) {
+            return -1;
+        }
+        return positionIndex.positionOf(node.positionEntry);
+    }
+
+    /**
+     * Gets the node stored at a position in logarithmic time.
+     *
+     * @param index The position (index) of the node, starting at 0.
+     * @return The node at the given position.
+     * @throws IndexOutOfBoundsException If the index is negative or not lower than the total number of elements.
+     */
+    public Node<E> getNode(int index) {
+        return positionIndex.entryAt(index).value;
+    }
+
+    /**
+     * Gets the element stored at a position in logarithmic time.
+     *
+     * @param index The position (index) of the element, starting at 0.
+     * @return The element at the given position.
+     * @throws IndexOutOfBoundsException If the index is negative or not lower than the total number of elements.
+     */
+    public E get(int index) {
+        return getNode(index).getMain();
+    }
+
+    /**
+     * Checks if the key index contains the given key.
+     *
+     * @param key The key to look for.
+     * @return `true` if an element with that key is in the list, `false` otherwise.
+     * @throws IllegalStateException If the list keeps no key index.
+     */
+    public boolean containsKey(Object key) {
+        requireKeyIndex();
+        return findKey(key) != null;
+    }
+
+    /**
+     * Looks up the node holding the element with the given key.
+     *
+     * @param key The key to look for.
+     * @return The node holding the element with that key, or null if there is none.
+     * @throws IllegalStateException If the list keeps no key index.
+     */
+    public Node<E> lookupByKey(Object key) {
+        requireKeyIndex();
+        return findKey(key);
+    }
+
+    /**
+     * Modifies the element stored in a node through the list, so that the indexes stay up to date. The modification
+     * must not change the key of the element; changes that may do so (e.g. a new employee number) must go through
+     * update(Node, Object, Consumer) instead.
+     *
+     * @param node The node holding the element to modify.
+     * @param modification The changes to apply to the element.
+     * @throws IllegalArgumentException If the node is null, was removed, or belongs to another list.
+     */
+    public void update(Node<E> node, Consumer<? super E> modification) {
+        requireLinked(node);
+        update(node, keyIndex != null ? keyOf(node) : null, modification);
+    }
+
+    /**
+     * Modifies the element stored in a node through the list, so that the indexes stay up to date. The new key of the
+     * element is given beforehand, so that a duplicate key is rejected before anything changes.
+     *
+     * @param node The node holding the element to modify.
+     * @param newKey The key of the element once modified (ignored if the list keeps no key index).
+     * @param modification The changes to apply to the element. They must leave the element with the given key.
+     * @throws IllegalArgumentException If the node is null, was removed or belongs to another list, or if the new key is
+     *                                  already used by another node. Neither the element nor the list is changed then.
+     */
+    public void update(Node<E> node, Object newKey, Consumer<? super E> modification) {
+        requireLinked(node);
+        boolean keyChanged = keyIndex != null && !Objects.equals(newKey, keyOf(node));
+        if (keyChanged && findKey(newKey) != null) {
+            throw new IllegalArgumentException("Duplicate key: " + newKey);
+        }
+
+        modification.accept(node.getMain());
+        modificationCount++;
+
+        if (keyChanged) {
+            // Move the node from its old key to the new one.
+            keyIndex.remove(node.indexedKey, node);
+            keyIndex.put(newKey, node);
+            node.indexedKey = newKey;
+        }
+
+        for (Listener<E> listener : listeners) {
+            listener.nodeUpdated(node);
+        }
+        notifyFinished();
+    }
+
+    /**
+     * Registers a listener that will be notified whenever a node is added, removed or updated through this list.
+     *
+     * @param listener The listener to register.
+     */
+    public void addListener(Listener<E> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener The listener to unregister.
+     */
+    public void removeListener(Listener<E> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Creates an empty set of nodes of this list, kept in list order.
+     *
+     * @return The new node set.
+     * @throws IllegalStateException If too many node sets are alive (see NodeSet.release).
+     */
+    public NodeSet newNodeSet() {
+        return new NodeSet(positionIndex.allocateChannel());
+    }
+
+    /**
+     * Notifies the listeners that a node has been added.
+     *
+     * @param node The added node.
+     */
+    private void notifyAdded(Node<E> node) {
+        for (Listener<E> listener : listeners) {
+            listener.nodeAdded(node);
+        }
+    }
+
+    /**
+     * Notifies the listeners that a node has been removed.
+     *
+     * @param node The removed node.
+     */
+    private void notifyRemoved(Node<E> node) {
+        for (Listener<E> listener : listeners) {
+            listener.nodeRemoved(node);
+        }
+    }
+
+    /**
+     * Notifies the listeners that an operation has notified all the changes it made.
+     */
+    private void notifyFinished() {
+        for (Listener<E> listener : listeners) {
+            listener.changesFinished();
+        }
+    }
+
+    /**
+     * Gets the key index, making sure that this list keeps one.
+     *
+     * @return The key index.
+     * @throws IllegalStateException If the list keeps no key index.
+     */
+    private Map<Object, Node<E>> requireKeyIndex() {
+        if (keyIndex == null) {
+            throw new IllegalStateException("This list does not keep a key index.");
+        }
+        return keyIndex;
+    }
 
     /**
      * Gets the total number of elements in the list.
@@ -146,6 +767,16 @@ public class ListController<E> {
         return totalElements;
     }
 
+    /**
+     * Gets the number of changes (additions, removals, moves and updates) made to the list so far. A traversal can
+     * compare it before and after to detect that the list changed in the meantime.
+     *
+     * @return The number of changes made to the list.
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
     /**
      * DEBUGGING PURPOSES. Checks if the list is empty.
      *
@@ -174,6 +805,215 @@ public class ListController<E> {
         return lastNode;
     }
 
+    /**
+     * Creates an array of nodes. Arrays of a generic type can't be created directly, so the array is created for nodes
+     * of any list and cast, which is safe as long as only nodes of this list are stored in it.
+     *
+     * @param length The length of the array.
+     * @return The new array, full of nulls.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E>[] newNodeArray(int length) {
+        return (Node<E>[]) new ListController<?>.Node<?>[length];
+    }
+
+    /**
+     * Interface for objects that need to follow the changes made to a list (e.g. secondary indexes).
+     *
+     * @param <T> The type of elements stored in the list.
+     */
+    public interface Listener<T> {
+        /**
+         * Called after a node has been linked into the list.
+         *
+         * @param node The added node.
+         */
+        void nodeAdded(ListController<T>.Node<T> node);
+
+        /**
+         * Called after a node has been unlinked from the list.
+         *
+         * @param node The removed node.
+         */
+        void nodeRemoved(ListController<T>.Node<T> node);
+
+        /**
+         * Called after the element of a node has been modified through ListController.update.
+         *
+         * @param node The updated node.
+         */
+        void nodeUpdated(ListController<T>.Node<T> node);
+
+        /**
+         * Called after a node has been moved to another position through ListController.moveTo.
+         * Listeners that don't depend on positions can ignore it.
+         *
+         * @param node The moved node.
+         */
+        default void nodeMoved(ListController<T>.Node<T> node) {
+        }
+
+        /**
+         * Called once an operation of the list (such as add, addAll, removeIf or update) has notified every change it
+         * made, so that listeners can handle the changes of a bulk operation together (e.g. save them at once).
+         * Listeners that handle every change on its own can ignore it.
+         */
+        default void changesFinished() {
+        }
+    }
+
+    /**
+     * Key index of elements kept outside of the list, such as an index file saved next to the file the elements are
+     * read from, so that loading them with addAllIndexed doesn't put all their keys in the key index of the list.
+     */
+    public interface BaseKeyIndex {
+        /**
+         * Finds the element that had a key when it was loaded.
+         *
+         * @param key The key to look for.
+         * @return The index of the element in the collection given to addAllIndexed, or -1 if none had the key.
+         */
+        int find(Object key);
+    }
+
+    /**
+     * Inner class representing a subset of the nodes of the list, kept in list order.
+     * Membership is stored as a mark in the position index, so finding the previous or next member from any node, and
+     * counting members, take logarithmic time. Nodes leave the set automatically when they are removed from the list.
+     * Only 64 node sets can be alive at the same time, so sets that are no longer needed must be released.
+     */
+    public class NodeSet {
+        /**
+         * The mark channel of the position index used by this set, or -1 once released.
+         */
+        private int channel;
+
+        /**
+         * Initializes a node set on a reserved channel.
+         *
+         * @param channel The mark channel used by this set.
+         */
+        private NodeSet(int channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Adds a node to the set.
+         *
+         * @param node The node to add.
+         */
+        public void add(Node<E> node) {
+            requireLinked(node);
+            positionIndex.setMarked(node.positionEntry, requireChannel(), true);
+        }
+
+        /**
+         * Removes a node from the set.
+         *
+         * @param node The node to remove.
+         */
+        public void remove(Node<E> node) {
+            requireLinked(node);
+            positionIndex.setMarked(node.positionEntry, requireChannel(), false);
+        }
+
+        /**
+         * Checks if a node belongs to the set.
+         *
+         * @param node The node to check.
+         * @return `true` if the node is in the list and belongs to the set, `false` otherwise.
+         */
+        public boolean contains(Node<E> node) {
+            return node != null && node.positionEntry != null && node.getList() == ListController.this
+                    && positionIndex.isMarked(node.positionEntry, requireChannel());
+        }
+
+        /**
+         * Gets the number of nodes in the set.
+         *
+         * @return The number of nodes in the set.
+         */
+        public int size() {
+            return positionIndex.countMarked(requireChannel());
+        }
+
+        /**
+         * Gets the first node of the set in list order.
+         *
+         * @return The first member, or null if the set is empty.
+         */
+        public Node<E> first() {
+            return size() == 0 ? null : positionIndex.selectMarked(channel, 0).value;
+        }
+
+        /**
+         * Gets the last node of the set in list order.
+         *
+         * @return The last member, or null if the set is empty.
+         */
+        public Node<E> last() {
+            int size = size();
+            return size == 0 ? null : positionIndex.selectMarked(channel, size - 1).value;
+        }
+
+        /**
+         * Gets the first member that comes after a node in list order (the node itself need not be a member).
+         *
+         * @param node A node of the list.
+         * @return The next member, or null if there is none.
+         */
+        public Node<E> next(Node<E> node) {
+            requireLinked(node);
+            PositionIndex.Entry<Node<E>> entry = positionIndex.nextMarked(node.positionEntry, requireChannel());
+            return entry == null ? null : entry.value;
+        }
+
+        /**
+         * Gets the last member that comes before a node in list order (the node itself need not be a member).
+         *
+         * @param node A node of the list.
+         * @return The previous member, or null if there is none.
+         */
+        public Node<E> previous(Node<E> node) {
+            requireLinked(node);
+            PositionIndex.Entry<Node<E>> entry = positionIndex.previousMarked(node.positionEntry, requireChannel());
+            return entry == null ? null : entry.value;
+        }
+
+        /**
+         * Gets the rank of a node among the members, i.e. how many members come before it in list order.
+         *
+         * @param node A node of the list.
+         * @return The number of members before the node.
+         */
+        public int countBefore(Node<E> node) {
+            requireLinked(node);
+            return positionIndex.countMarkedBefore(node.positionEntry, requireChannel());
+        }
+
+        /**
+         * Empties the set and frees its resources. The set cannot be used afterwards.
+         */
+        public void release() {
+            if (channel >= 0) {
+                positionIndex.releaseChannel(channel);
+                channel = -1;
+            }
+        }
+
+        /**
+         * Gets the channel of the set, making sure it has not been released.
+         *
+         * @return The mark channel used by this set.
+         */
+        private int requireChannel() {
+            if (channel < 0) {
+                throw new IllegalStateException("This node set has been released.");
+            }
+            return channel;
+        }
+    }
+
     /**
      * Inner class representing a node in the double-linked list.
      *
@@ -195,6 +1035,17 @@ public class ListController<E> {
          */
         E main;
 
+        /**
+         * Entry of this node in the position index, or null once the node has been removed from the list.
+         */
+        private PositionIndex.Entry<Node<E>> positionEntry;
+
+        /**
+         * Key under which this node is registered in the key index, if the list keeps one (UNREAD_KEY until it is first
+         * needed, for nodes loaded by addAllIndexed).
+         */
+        private Object indexedKey;
+
         /**
          * Initializes a new list node with the given element.
          *
@@ -259,5 +1110,14 @@ public class ListController<E> {
         public void setMain(E p) {
             this.main = p;
         }
+
+        /**
+         * Gets the list that created this node.
+         *
+         * @return The enclosing ListController.
+         */
+        private ListController<?> getList() {
+            return ListController.this;
+        }
     }
 }
@@ -0,0 +1,170 @@
+package practiceMVC;
+
+// For publishing the batches on the Event Dispatch Thread.
+import javax.swing.SwingUtilities;
+// For collecting the elements and bounding the pending batches.
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Lets background threads (such as a loader reading a file) fill a ListController that the Event Dispatch Thread (EDT)
+ * owns and navigates. The list itself isn't thread safe, so the elements are never added from the background threads:
+ * they are collected in batches, and each full batch is handed over to the EDT with SwingUtilities.invokeLater, which
+ * adds it with a single ListController.addAll. The user keeps navigating meanwhile, and sees the batches appear.
+ *
+ * At most maxPendingBatches batches wait for the EDT at any time: further additions block until the EDT catches up, so
+ * memory stays bounded however fast the elements are produced. finish publishes the last batch and waits until every
+ * batch has been added.
+ *
+ * The loader may be shared by several threads, but must not be used on the EDT itself (it would wait for itself).
+ * If a batch can't be added (for example because of a duplicate key), the following batches are dropped, and finish
+ * throws the failure.
+ *
+ * @param <E> The type of the elements.
+ */
+public class ListLoader<E> {
+    /**
+     * Adds a batch to the list, on the EDT.
+     */
+    private final Consumer<? super List<E>> batchAdder;
+
+    /**
+     * Number of elements per batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Largest number of batches waiting for the EDT.
+     */
+    private final int maxPendingBatches;
+
+    /**
+     * One permit per batch that may still be handed over to the EDT; released once the batch has been added.
+     */
+    private final Semaphore pendingPermits;
+
+    /**
+     * The batch being collected.
+     */
+    private List<E> batch;
+
+    /**
+     * The first failure adding a batch, or null. Only accessed on the EDT, and by finish once every batch is done.
+     */
+    private RuntimeException failure;
+
+    /**
+     * Initializes a loader that adds the elements at the end of a list.
+     *
+     * @param employeeController The list, owned by the EDT.
+     * @param batchSize The number of elements per batch.
+     * @param maxPendingBatches The largest number of batches waiting for the EDT.
+     */
+    public ListLoader(ListController<E> employeeController, int batchSize, int maxPendingBatches) {
+        this(employeeController::addAll, batchSize, maxPendingBatches);
+    }
+
+    /**
+     * Initializes a loader that adds each batch with a custom action, such as filtering it against the list first.
+     *
+     * @param batchAdder Adds a batch to the list. Called on the EDT, with the batches in order.
+     * @param batchSize The number of elements per batch.
+     * @param maxPendingBatches The largest number of batches waiting for the EDT.
+     * @throws IllegalArgumentException If the batch size or the number of pending batches isn't positive.
+     */
+    public ListLoader(Consumer<? super List<E>> batchAdder, int batchSize, int maxPendingBatches) {
+        if (batchSize < 1 || maxPendingBatches < 1) {
+            throw new IllegalArgumentException("The batch size and the number of pending batches must be positive.");
+        }
+        this.batchAdder = batchAdder;
+        this.batchSize = batchSize;
+        this.maxPendingBatches = maxPendingBatches;
+        this.pendingPermits = new Semaphore(maxPendingBatches);
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Adds an element to the current batch, handing the batch over to the EDT once it is full. Blocks while too many
+     * batches are waiting for the EDT.
+     *
+     * @param element The element.
+     * @throws InterruptedException If interrupted while waiting for the EDT. The element is kept in the batch.
+     * @throws IllegalStateException If called on the EDT.
+     */
+    public synchronized void add(E element) throws InterruptedException {
+        requireBackgroundThread();
+        batch.add(element);
+        if (batch.size() >= batchSize) {
+            publish();
+        }
+    }
+
+    /**
+     * Adds several elements, as add does for each one.
+     *
+     * @param elements The elements.
+     * @throws InterruptedException If interrupted while waiting for the EDT.
+     * @throws IllegalStateException If called on the EDT.
+     */
+    public synchronized void addAll(Collection<? extends E> elements) throws InterruptedException {
+        for (E element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * Hands the last (partial) batch over to the EDT, and waits until every batch has been added to the list.
+     *
+     * @throws InterruptedException If interrupted while waiting for the EDT.
+     * @throws RuntimeException The failure of the first batch that couldn't be added, if any.
+     * @throws IllegalStateException If called on the EDT.
+     */
+    public synchronized void finish() throws InterruptedException {
+        requireBackgroundThread();
+        if (!batch.isEmpty()) {
+            publish();
+        }
+        // Every permit is back once every batch has been added (which also makes the failure visible here).
+        pendingPermits.acquire(maxPendingBatches);
+        pendingPermits.release(maxPendingBatches);
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Hands the current batch over to the EDT, waiting for a permit first, and starts a new batch.
+     *
+     * @throws InterruptedException If interrupted while waiting for a permit.
+     */
+    private void publish() throws InterruptedException {
+        pendingPermits.acquire();
+        List<E> published = batch;
+        batch = new ArrayList<>(batchSize);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                if (failure == null) {
+                    batchAdder.accept(published);
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                pendingPermits.release();
+            }
+        });
+    }
+
+    /**
+     * Makes sure that the loader isn't used on the EDT, where waiting for the EDT would never end.
+     *
+     * @throws IllegalStateException If called on the EDT.
+     */
+    private static void requireBackgroundThread() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("The loader must be used from a background thread, not from the Event Dispatch Thread.");
+        }
+    }
+}
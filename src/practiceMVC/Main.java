@@ -1,24 +1,143 @@
 package practiceMVC;
 
 // For thread security.
+import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
+// For the journal and snapshot files.
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * The main class to start the application.
  */
 public class Main {
+    /**
+     * File where the changes made to the roster are saved, so that they survive restarts. Each compaction writes them
+     * to a new generation of it (see GenerationFiles).
+     */
+    private static final Path JOURNAL_FILE = Paths.get("employees.journal");
+
+    /**
+     * File where a snapshot of the roster is saved, so that only the changes made after it need to be replayed. Each
+     * snapshot is written to a new generation of it (see EmployeeSnapshotter.latestSnapshot).
+     */
+    private static final Path SNAPSHOT_FILE = Paths.get("employees.snapshot");
+
+    /**
+     * Size of the journal (in bytes) above which a snapshot is taken in the background and the journal is compacted.
+     */
+    private static final long SNAPSHOT_THRESHOLD = 16L * 1024 * 1024;
+
+    /**
+     * System property that keeps the employees added during the session (by the creation form and the imports) off the
+     * Java heap, in an OffHeapEmployeeStore, for rosters so large that garbage collections freeze the user interface:
+     * java -DpracticeMVC.offHeap=true practiceMVC.Main. The restored roster is read from the mapped snapshot either way,
+     * and the changes replayed from the journal (less than SNAPSHOT_THRESHOLD bytes of them) stay in the heap.
+     */
+    public static final String OFF_HEAP_PROPERTY = "practiceMVC.offHeap";
+
     public static void main(String[] args) {
+        // Restore the saved roster (snapshot and journal) on this thread rather than on the Event Dispatch Thread (EDT),
+        // since replaying a long journal takes a while, and only then create the view.
+        ListController<EmployeeModel> listController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        HireDateIndex hireDateIndex = null;
+        String failureMessage = null;
+        EmployeeRecordFile snapshot = null;
+        EmployeeJournal journal = null;
+        try {
+            // Restore the last snapshot, if any, along with its saved indexes. Its employees are read lazily, so it stays
+            // open until the application exits.
+            long fromSequence = 0;
+            Path latestSnapshot = EmployeeSnapshotter.latestSnapshot(SNAPSHOT_FILE);
+            if (latestSnapshot != null) {
+                snapshot = EmployeeRecordFile.open(latestSnapshot);
+                hireDateIndex = EmployeeSnapshotIndexes.restore(latestSnapshot, snapshot, listController);
+                fromSequence = snapshot.getSequence();
+            } else {
+                hireDateIndex = new HireDateIndex(listController);
+            }
+            // Replay the changes saved after the snapshot, then keep saving every new one. The journal stays open until the application exits.
+            journal = new EmployeeJournal(JOURNAL_FILE, true);
+            journal.replayAndAttach(listController, fromSequence);
+            journal.setFailureHandler(Main::showJournalFailure);
+            // Keep the journal short by taking snapshots in the background.
+            EmployeeSnapshotter snapshotter = new EmployeeSnapshotter(SNAPSHOT_FILE, journal, SNAPSHOT_THRESHOLD);
+            snapshotter.setFailureHandler(Main::showSnapshotFailure);
+            listController.addListener(snapshotter);
+            snapshotter.snapshotIfNeeded();
+        } catch (IOException e) {
+            // Keep working in memory only (without any half-restored roster), and release the files opened so far.
+            closeAfterFailure(journal, e);
+            closeAfterFailure(snapshot, e);
+            listController = new ListController<>(EmployeeModel::getEmployeeNumber);
+            hireDateIndex = new HireDateIndex(listController);
+            failureMessage = "The saved employees couldn't be loaded (" + e.getMessage() + ").\nChanges won't be saved.";
+        }
+
+        // Keep the new employees off the heap if requested. The store frees the block of every employee removed from the list.
+        OffHeapEmployeeStore employeeStore = Boolean.getBoolean(OFF_HEAP_PROPERTY) ? new OffHeapEmployeeStore() : null;
+        if (employeeStore != null) {
+            listController.addListener(employeeStore);
+        }
+
         // Use SwingUtilities.invokeLater to ensure Swing components are initialized on the Event Dispatch Thread (EDT).
-        // Note: Swing is not thread safe.
+        // Note: Swing is not thread safe. The list is handed over to the EDT here and only used there from now on.
+        ListController<EmployeeModel> restoredController = listController;
+        HireDateIndex restoredIndex = hireDateIndex;
+        String restoreFailure = failureMessage;
         SwingUtilities.invokeLater(new Runnable() {
             /**
-             * The run method creates a ListController and EmployeeView to start the application.
+             * The run method lets the user know if the saved roster couldn't be restored (nothing will be saved then), and
+             * creates the EmployeeView to start the application.
              */
             public void run() {
-                ListController<EmployeeModel> listController = new ListController<>();
-                new EmployeeView(listController);
+                if (restoreFailure != null) {
+                    JOptionPane.showMessageDialog(null, restoreFailure, "Error", JOptionPane.ERROR_MESSAGE);
+                }
+                new EmployeeView(restoredController, restoredIndex, employeeStore);
             }
         });
     }
-}
 
+    /**
+     * Lets the user know that a change couldn't be saved, after which the journal stops saving. Called while the list is
+     * being changed, so the message is shown once the change is complete.
+     *
+     * @param failure The error writing the change.
+     */
+    private static void showJournalFailure(IOException failure) {
+        String message = "The last change couldn't be saved (" + failure.getMessage() + ").\n"
+                + "Changes made from now on won't be saved.";
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, message, "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Lets the user know that a snapshot couldn't be taken. Called on the snapshotter thread, so the message is shown on
+     * the EDT.
+     *
+     * @param failure The error of the snapshot.
+     */
+    private static void showSnapshotFailure(IOException failure) {
+        String message = "The employees couldn't be snapshotted (" + failure.getMessage() + ").\n"
+                + "Changes are still saved, and the snapshot will be retried later.";
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, message, "Error", JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Closes a file opened during a restore that has failed.
+     *
+     * @param file The file, or null if it wasn't opened.
+     * @param failure The failure of the restore, to which an error closing the file is added.
+     */
+    private static void closeAfterFailure(Closeable file, IOException failure) {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,494 @@
+package practiceMVC;
+
+// For the direct memory.
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+// For the chunks and the free lists.
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+// For the calendar view of the hire date.
+import java.util.GregorianCalendar;
+
+/**
+ * Off-heap storage of employees, for rosters so large that the EmployeeModel objects (and their strings) make garbage
+ * collections long enough to freeze the user interface.
+ * Every employee is stored as a block of direct memory (outside the Java heap, so the garbage collector never scans
+ * it), and the list only holds a small handle per employee: an EmployeeModel whose getters and setters read and write
+ * the block. A handle costs one small object instead of the seven objects (model, strings and their arrays) of an
+ * on-heap employee.
+ *
+ * Memory is reserved in chunks of CHUNK_SIZE bytes. Blocks are rounded up to a power of two (at least MIN_BLOCK_SIZE
+ * bytes), and freed blocks are kept in one free list per size, so they are reused by the next employees of the same
+ * size. A block holds: its size class (byte), the employee number and hire epoch day (ints), the lengths of the name,
+ * phone and email (unsigned shorts), then their UTF-8 bytes.
+ *
+ * The store listens to the lists its employees are added to (see addListener on ListController): when an employee is
+ * removed, its block is freed and the handle copies its fields back into the Java heap, so references to removed
+ * employees (such as the journal record being written) stay valid.
+ * Like ListController, the store is not thread safe: employees must be created and modified from a single thread.
+ */
+public class OffHeapEmployeeStore implements ListController.Listener<EmployeeModel> {
+    /**
+     * Size of the chunks of direct memory, in bytes.
+     */
+    private static final int CHUNK_SIZE = 1 << 24;
+
+    /**
+     * Size of the smallest blocks, in bytes.
+     */
+    private static final int MIN_BLOCK_SIZE = 32;
+
+    /**
+     * Offset of the employee number in a block.
+     */
+    private static final int EMPLOYEE_NUMBER = 4;
+
+    /**
+     * Offset of the hire epoch day in a block.
+     */
+    private static final int HIRE_EPOCH_DAY = 8;
+
+    /**
+     * Offset of the length of the name in a block (followed by the lengths of the phone and email).
+     */
+    private static final int LENGTHS = 12;
+
+    /**
+     * Offset of the strings in a block.
+     */
+    private static final int STRINGS = 18;
+
+    /**
+     * Longest string that can be stored, in UTF-8 bytes.
+     */
+    private static final int MAX_STRING_SIZE = 0xFFFF;
+
+    /**
+     * Number of block sizes, enough for three strings of the maximum size.
+     */
+    private static final int SIZE_CLASSES = sizeClass(STRINGS + 3 * MAX_STRING_SIZE) + 1;
+
+    /**
+     * Handle of no block, ending the free lists.
+     */
+    private static final long NO_BLOCK = -1;
+
+    /**
+     * The chunks of direct memory.
+     */
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    /**
+     * Offset of the unused part of the last chunk.
+     */
+    private int chunkEnd = CHUNK_SIZE;
+
+    /**
+     * First free block of every size class (the next one is stored in the block itself), or NO_BLOCK.
+     */
+    private final long[] freeBlocks = new long[SIZE_CLASSES];
+
+    /**
+     * Number of employees stored.
+     */
+    private int size = 0;
+
+    /**
+     * Bytes taken by the blocks of the stored employees.
+     */
+    private long usedBytes = 0;
+
+    /**
+     * Initializes an empty store. No memory is reserved until the first employee is stored.
+     */
+    public OffHeapEmployeeStore() {
+        Arrays.fill(freeBlocks, NO_BLOCK);
+    }
+
+    /**
+     * Stores a copy of an employee.
+     *
+     * @param employee The employee to copy.
+     * @return A handle to the stored copy, to add to a list instead of the original.
+     * @throws IllegalArgumentException If a string of the employee is longer than 65535 UTF-8 bytes.
+     */
+    public EmployeeModel copyOf(EmployeeModel employee) {
+        return store(employee.getName(), employee.getEmployeeNumber(), employee.getHireEpochDay(), employee.getPhoneNumber(), employee.getEmailAddress());
+    }
+
+    /**
+     * Stores a new employee.
+     *
+     * @param name The name of the employee.
+     * @param employeeNumber The unique identifier for the employee.
+     * @param hireEpochDay The hire date as an epoch day, or EmployeeModel.NO_HIRE_DATE.
+     * @param phoneNumber The phone number of the employee (possibly empty).
+     * @param emailAddress The email address of the employee (possibly empty).
+     * @return A handle to the stored employee.
+     * @throws IllegalArgumentException If a string is longer than 65535 UTF-8 bytes.
+     */
+    public EmployeeModel store(String name, int employeeNumber, int hireEpochDay, String phoneNumber, String emailAddress) {
+        long block = write(NO_BLOCK, employeeNumber, hireEpochDay, encode(name), encode(phoneNumber), encode(emailAddress));
+        size++;
+        return new OffHeapEmployee(block);
+    }
+
+    /**
+     * Gets the number of employees stored.
+     *
+     * @return The number of employees.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the bytes taken by the blocks of the stored employees.
+     *
+     * @return The used bytes.
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Gets the bytes of direct memory reserved by the store (used, free or not handed out yet).
+     *
+     * @return The reserved bytes.
+     */
+    public long getReservedBytes() {
+        return (long) chunks.size() * CHUNK_SIZE;
+    }
+
+    /**
+     * Frees the block of a handle whose employee has been removed from a list, copying its fields back into the
+     * Java heap first.
+     *
+     * @param node The removed node.
+     */
+    @Override
+    public void nodeRemoved(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+        if (node.getMain() instanceof OffHeapEmployee) {
+            OffHeapEmployee employee = (OffHeapEmployee) node.getMain();
+            if (employee.getStore() == this) {
+                employee.detach();
+            }
+        }
+    }
+
+    /**
+     * Nothing to do when a node is added: handles are stored by copyOf or store.
+     *
+     * @param node The added node.
+     */
+    @Override
+    public void nodeAdded(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+    }
+
+    /**
+     * Nothing to do when a node is updated: handles write their changes to their block.
+     *
+     * @param node The updated node.
+     */
+    @Override
+    public void nodeUpdated(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+    }
+
+    /**
+     * Writes an employee to a block, reusing the current block if the employee still fits in it.
+     *
+     * @param block The current block of the employee, or NO_BLOCK for a new employee.
+     * @param employeeNumber The employee number.
+     * @param hireEpochDay The hire epoch day.
+     * @param name The UTF-8 name.
+     * @param phone The UTF-8 phone number.
+     * @param email The UTF-8 email address.
+     * @return The block of the employee (the current one, or a new one).
+     */
+    private long write(long block, int employeeNumber, int hireEpochDay, byte[] name, byte[] phone, byte[] email) {
+        int sizeClass = sizeClass(STRINGS + name.length + phone.length + email.length);
+        if (block == NO_BLOCK || chunk(block).get(offset(block)) != sizeClass) {
+            if (block != NO_BLOCK) {
+                free(block);
+            }
+            block = allocate(sizeClass);
+        }
+        ByteBuffer chunk = chunk(block);
+        int offset = offset(block);
+        chunk.putInt(offset + EMPLOYEE_NUMBER, employeeNumber);
+        chunk.putInt(offset + HIRE_EPOCH_DAY, hireEpochDay);
+        chunk.putShort(offset + LENGTHS, (short) name.length);
+        chunk.putShort(offset + LENGTHS + 2, (short) phone.length);
+        chunk.putShort(offset + LENGTHS + 4, (short) email.length);
+        chunk.put(offset + STRINGS, name);
+        chunk.put(offset + STRINGS + name.length, phone);
+        chunk.put(offset + STRINGS + name.length + phone.length, email);
+        return block;
+    }
+
+    /**
+     * Takes a block of a size class from its free list, or from the unused part of the last chunk.
+     *
+     * @param sizeClass The size class.
+     * @return The block.
+     */
+    private long allocate(int sizeClass) {
+        int blockSize = MIN_BLOCK_SIZE << sizeClass;
+        long block = freeBlocks[sizeClass];
+        if (block != NO_BLOCK) {
+            freeBlocks[sizeClass] = chunk(block).getLong(offset(block) + 8);
+        } else {
+            if (chunkEnd + blockSize > CHUNK_SIZE) {
+                // Blocks never cross chunks. The rest of the full chunk is wasted, which is small next to a chunk.
+                chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE));
+                chunkEnd = 0;
+            }
+            block = (long) (chunks.size() - 1) << 32 | chunkEnd;
+            chunkEnd += blockSize;
+        }
+        chunk(block).put(offset(block), (byte) sizeClass);
+        usedBytes += blockSize;
+        return block;
+    }
+
+    /**
+     * Puts a block back into the free list of its size class.
+     *
+     * @param block The block.
+     */
+    private void free(long block) {
+        ByteBuffer chunk = chunk(block);
+        int offset = offset(block);
+        int sizeClass = chunk.get(offset);
+        chunk.putLong(offset + 8, freeBlocks[sizeClass]);
+        freeBlocks[sizeClass] = block;
+        usedBytes -= MIN_BLOCK_SIZE << sizeClass;
+    }
+
+    /**
+     * Gets the chunk of a block.
+     *
+     * @param block The block.
+     * @return The chunk holding it.
+     */
+    private ByteBuffer chunk(long block) {
+        return chunks.get((int) (block >>> 32));
+    }
+
+    /**
+     * Gets the offset of a block in its chunk.
+     *
+     * @param block The block.
+     * @return The offset.
+     */
+    private static int offset(long block) {
+        return (int) block;
+    }
+
+    /**
+     * Gets the size class of the blocks able to hold a number of bytes.
+     *
+     * @param bytes The number of bytes.
+     * @return The smallest class whose blocks (MIN_BLOCK_SIZE << class bytes) are large enough.
+     */
+    private static int sizeClass(int bytes) {
+        int blocks = (bytes + MIN_BLOCK_SIZE - 1) / MIN_BLOCK_SIZE;
+        return 32 - Integer.numberOfLeadingZeros(blocks - 1);
+    }
+
+    /**
+     * Encodes a string to UTF-8, making sure that its length fits in a block.
+     *
+     * @param value The string.
+     * @return The UTF-8 bytes.
+     * @throws IllegalArgumentException If the encoded string is longer than 65535 bytes.
+     */
+    private static byte[] encode(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_SIZE) {
+            throw new IllegalArgumentException("Text too long to be stored: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * Handle to an employee stored in a block. Getters read the block and setters write it (moving the employee to a
+     * larger or smaller block when its strings no longer fit). Once detached (removed from the list), it holds its
+     * fields in the Java heap and behaves as a plain EmployeeModel.
+     */
+    private class OffHeapEmployee extends EmployeeModel {
+        /**
+         * The block of the employee, or NO_BLOCK once detached.
+         */
+        private long block;
+
+        /**
+         * Initializes a handle.
+         *
+         * @param block The block of the employee.
+         */
+        private OffHeapEmployee(long block) {
+            super(null, 0);
+            this.block = block;
+        }
+
+        /**
+         * Gets the store this handle belongs to.
+         *
+         * @return The store.
+         */
+        private OffHeapEmployeeStore getStore() {
+            return OffHeapEmployeeStore.this;
+        }
+
+        /**
+         * Copies the fields into the Java heap and frees the block.
+         */
+        private void detach() {
+            if (block != NO_BLOCK) {
+                String name = getName();
+                String phoneNumber = getPhoneNumber();
+                String emailAddress = getEmailAddress();
+                int employeeNumber = getEmployeeNumber();
+                int hireEpochDay = getHireEpochDay();
+                free(block);
+                size--;
+                block = NO_BLOCK;
+                super.setEmployeeNumber(employeeNumber);
+                super.setName(name);
+                super.setHireEpochDay(hireEpochDay);
+                super.setPhoneNumber(phoneNumber);
+                super.setEmailAddress(emailAddress);
+            }
+        }
+
+        /**
+         * Decodes a string of the block.
+         *
+         * @param index The index of the string (0 for the name, 1 for the phone and 2 for the email).
+         * @return The string.
+         */
+        private String readString(int index) {
+            ByteBuffer chunk = chunk(block);
+            int offset = offset(block);
+            int start = offset + STRINGS;
+            for (int i = 0; i < index; i++) {
+                start += Short.toUnsignedInt(chunk.getShort(offset + LENGTHS + 2 * i));
+            }
+            int length = Short.toUnsignedInt(chunk.getShort(offset + LENGTHS + 2 * index));
+            if (length == 0) {
+                return "";
+            }
+            byte[] bytes = new byte[length];
+            chunk.get(start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Rewrites the block with some of its fields changed.
+         *
+         * @param employeeNumber The employee number.
+         * @param hireEpochDay The hire epoch day.
+         * @param name The name.
+         * @param phoneNumber The phone number.
+         * @param emailAddress The email address.
+         */
+        private void rewrite(int employeeNumber, int hireEpochDay, String name, String phoneNumber, String emailAddress) {
+            block = write(block, employeeNumber, hireEpochDay, encode(name), encode(phoneNumber), encode(emailAddress));
+        }
+
+        @Override
+        public int getEmployeeNumber() {
+            return block == NO_BLOCK ? super.getEmployeeNumber() : chunk(block).getInt(offset(block) + EMPLOYEE_NUMBER);
+        }
+
+        @Override
+        public String getName() {
+            return block == NO_BLOCK ? super.getName() : readString(0);
+        }
+
+        @Override
+        public GregorianCalendar getHireDate() {
+            if (block == NO_BLOCK) {
+                return super.getHireDate();
+            }
+            // Built on every call, so that no calendar is kept in the Java heap.
+            int hireEpochDay = getHireEpochDay();
+            return hireEpochDay == NO_HIRE_DATE ? null : new GregorianCalendar(EpochDays.year(hireEpochDay), EpochDays.month(hireEpochDay) - 1, EpochDays.dayOfMonth(hireEpochDay));
+        }
+
+        @Override
+        public int getHireEpochDay() {
+            return block == NO_BLOCK ? super.getHireEpochDay() : chunk(block).getInt(offset(block) + HIRE_EPOCH_DAY);
+        }
+
+        @Override
+        public String getPhoneNumber() {
+            return block == NO_BLOCK ? super.getPhoneNumber() : readString(1);
+        }
+
+        @Override
+        public String getEmailAddress() {
+            return block == NO_BLOCK ? super.getEmailAddress() : readString(2);
+        }
+
+        @Override
+        public EmployeeDictionary.Domain getEmailDomain() {
+            return block == NO_BLOCK ? super.getEmailDomain() : EmployeeDictionary.domainOf(readString(2));
+        }
+
+        @Override
+        public void setEmployeeNumber(int employeeNumber) {
+            if (block == NO_BLOCK) {
+                super.setEmployeeNumber(employeeNumber);
+            } else {
+                chunk(block).putInt(offset(block) + EMPLOYEE_NUMBER, employeeNumber);
+            }
+        }
+
+        @Override
+        public void setName(String name) {
+            if (block == NO_BLOCK) {
+                super.setName(name);
+            } else {
+                rewrite(getEmployeeNumber(), getHireEpochDay(), name, getPhoneNumber(), getEmailAddress());
+            }
+        }
+
+        @Override
+        public void setHireEpochDay(int hireEpochDay) {
+            if (block == NO_BLOCK) {
+                super.setHireEpochDay(hireEpochDay);
+            } else {
+                chunk(block).putInt(offset(block) + HIRE_EPOCH_DAY, hireEpochDay);
+            }
+        }
+
+        @Override
+        public void setPhoneNumber(String phoneNumber) {
+            if (block == NO_BLOCK) {
+                super.setPhoneNumber(phoneNumber);
+            } else {
+                rewrite(getEmployeeNumber(), getHireEpochDay(), getName(), phoneNumber, getEmailAddress());
+            }
+        }
+
+        @Override
+        public void setEmailAddress(String emailAddress) {
+            if (block == NO_BLOCK) {
+                super.setEmailAddress(emailAddress);
+            } else {
+                rewrite(getEmployeeNumber(), getHireEpochDay(), getName(), getPhoneNumber(), emailAddress);
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (block == NO_BLOCK) {
+                return super.toString();
+            }
+            return getName() + " " + getEmployeeNumber() + " " + (hasHireDate() ? EpochDays.format(getHireEpochDay()) : "null") + " " + getPhoneNumber() + " " + getEmailAddress();
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package practiceMVC;
+
+// For the index file.
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+// For the blocks and the fence index.
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Secondary index kept in a file, so that it doesn't have to be rebuilt from every element on startup. It stores where
+ * the elements of each key are, as a sorted sequence of entries (key in the upper 32 bits, location, such as the index
+ * of a record in a snapshot, in the lower 32 bits, one per element).
+ *
+ * The index file is memory mapped, so opening it only reads its header, whatever its size. Entries are grouped in
+ * blocks of BLOCK_ENTRIES, and a sparse fence index (the first entry of every block) stored after them finds the block
+ * of any key with a binary search. Every block has a CRC32C checksum, verified the first time the block is read, so a
+ * corrupt file is detected without reading it all on open (reads then throw an UncheckedIOException, and the owner of
+ * the index rebuilds it).
+ *
+ * The file is written once and never modified: its owner keeps track of later changes. The file stores the generation
+ * of the data it matches (such as the sequence number of a snapshot), so a stale index is detected and rebuilt instead.
+ *
+ * File format: a 32-byte header (magic number, version, generation, number of entries, number of blocks), the entries
+ * (longs, in order), the fence index (one long per block), the checksums of the blocks (one int per block), and the
+ * checksum of the fence index and block checksums (int).
+ */
+class PersistedIndex {
+    /**
+     * Number of entries per block (4 KB).
+     */
+    static final int BLOCK_ENTRIES = 512;
+
+    /**
+     * Magic number at the start of every index file ("EMPI").
+     */
+    private static final int MAGIC = 0x454D5049;
+
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the file header, in bytes.
+     */
+    private static final int HEADER_SIZE = 32;
+
+    /**
+     * Offset of the generation in the header.
+     */
+    private static final int GENERATION = 8;
+
+    /**
+     * Size of the buffer used to write a file.
+     */
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The index file.
+     */
+    private final Path file;
+
+    /**
+     * The mapped index file.
+     */
+    private MappedByteBuffer map;
+
+    /**
+     * Number of entries in the file.
+     */
+    private int entryCount;
+
+    /**
+     * Number of blocks in the file.
+     */
+    private int blockCount;
+
+    /**
+     * Blocks whose checksum has been verified.
+     */
+    private BitSet verifiedBlocks;
+
+    /**
+     * Whether the checksum of the fence index has been verified.
+     */
+    private boolean fenceVerified;
+
+    /**
+     * Maps an index file that has just been written.
+     *
+     * @param file The index file.
+     * @throws IOException If the file can't be mapped.
+     */
+    private PersistedIndex(Path file) throws IOException {
+        this.file = file;
+        map();
+    }
+
+    /**
+     * Opens an index file if it exists and matches a generation of the data it indexes. Only the header is read.
+     *
+     * @param file The index file.
+     * @param generation The generation of the indexed data.
+     * @return The index, or null if the file doesn't exist, is stale or isn't an index file (it must then be rebuilt).
+     * @throws IOException If the file can't be mapped.
+     */
+    static PersistedIndex open(Path file, long generation) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        PersistedIndex index = new PersistedIndex(file);
+        return index.map.getLong(GENERATION) == generation ? index : null;
+    }
+
+    /**
+     * Writes a new index file holding some entries, and opens it.
+     *
+     * @param file The index file, replaced if it exists.
+     * @param generation The generation of the indexed data that the entries match.
+     * @param entries The entries, sorted (in ascending order).
+     * @param count The number of entries.
+     * @return The index.
+     * @throws IOException If the file can't be written.
+     */
+    static PersistedIndex create(Path file, long generation, long[] entries, int count) throws IOException {
+        try (Writer writer = new Writer(file, generation)) {
+            for (int i = 0; i < count; i++) {
+                writer.add(entries[i]);
+            }
+            writer.finish();
+        }
+        return new PersistedIndex(file);
+    }
+
+    /**
+     * Builds an entry.
+     *
+     * @param key The key of an element.
+     * @param location The location of the element.
+     * @return The entry.
+     */
+    static long entry(int key, int location) {
+        return ((long) key << 32) | (location & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the key of an entry.
+     *
+     * @param entry The entry.
+     * @return The key.
+     */
+    static int key(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    /**
+     * Gets the location of an entry.
+     *
+     * @param entry The entry.
+     * @return The location.
+     */
+    static int location(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Checks if some element has a key.
+     *
+     * @param key The key.
+     * @return `true` if at least one element has the key.
+     * @throws UncheckedIOException If a block of the file is corrupt.
+     */
+    boolean contains(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Finds the location of the first element with a key. Only the block holding the key is read.
+     *
+     * @param key The key.
+     * @return The location, or -1 if no element has the key (locations of found elements must not be negative).
+     * @throws UncheckedIOException If a block of the file is corrupt.
+     */
+    int find(int key) {
+        int i = lowerBound(entry(key, 0));
+        if (i < entryCount) {
+            long found = entryAt(i);
+            if (key(found) == key) {
+                return location(found);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Visits the entries whose key is within a range, in order, with the number of elements of each entry. Only the
+     * blocks holding the range are read.
+     *
+     * @param fromKey First key of the range (inclusive).
+     * @param toKey Last key of the range (inclusive).
+     * @param visitor The visitor, which can stop the visit.
+     * @throws UncheckedIOException If a block of the file is corrupt.
+     */
+    void forEach(int fromKey, int toKey, EntryVisitor visitor) {
+        if (fromKey <= toKey) {
+            forEach(entry(fromKey, 0), entry(toKey, -1), visitor);
+        }
+    }
+
+    /**
+     * Visits the entries within a range, in order.
+     *
+     * @param from First entry of the range (inclusive).
+     * @param to Last entry of the range (inclusive).
+     * @param visitor The visitor, which can stop the visit.
+     */
+    private void forEach(long from, long to, EntryVisitor visitor) {
+        int i = lowerBound(from);
+        while (i < entryCount) {
+            long current = entryAt(i);
+            if (current > to) {
+                return;
+            }
+            // Count the repetitions of the entry.
+            int count = 0;
+            while (i < entryCount && entryAt(i) == current) {
+                count++;
+                i++;
+            }
+            if (!visitor.visit(current, count)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Maps the index file and checks its header and size. Blocks are only verified when read.
+     *
+     * @throws IOException If the file can't be mapped or isn't an index file.
+     */
+    private void map() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Index file too large: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < HEADER_SIZE || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IOException("Not an index file (or an unsupported version): " + file);
+            }
+            long entries = mapped.getLong(16);
+            int blocks = mapped.getInt(24);
+            if (entries < 0 || blocks != (entries + BLOCK_ENTRIES - 1) / BLOCK_ENTRIES || size != HEADER_SIZE + 8 * entries + 12L * blocks + 4) {
+                throw new IOException("Corrupt index file: " + file);
+            }
+            this.map = mapped;
+            this.entryCount = (int) entries;
+            this.blockCount = blocks;
+            this.verifiedBlocks = new BitSet(blocks);
+            this.fenceVerified = false;
+        }
+    }
+
+    /**
+     * Gets an entry of the file, verifying its block first if needed.
+     *
+     * @param i The index of the entry.
+     * @return The entry.
+     */
+    private long entryAt(int i) {
+        int block = i / BLOCK_ENTRIES;
+        if (!verifiedBlocks.get(block)) {
+            verifyBlock(block);
+        }
+        return map.getLong(HEADER_SIZE + 8 * i);
+    }
+
+    /**
+     * Finds the first entry of the file that is not lower than a value, reading a single block.
+     *
+     * @param value The value.
+     * @return The index of the entry, or the number of entries if there is none.
+     */
+    private int lowerBound(long value) {
+        if (entryCount == 0) {
+            return 0;
+        }
+        if (!fenceVerified) {
+            verifyFence();
+        }
+        // Last block whose first entry is lower than the value: the first entry not lower is in it or starts the next one.
+        int fenceStart = HEADER_SIZE + 8 * entryCount;
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (map.getLong(fenceStart + 8 * middle) < value) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        int first = low * BLOCK_ENTRIES;
+        int last = Math.min(first + BLOCK_ENTRIES, entryCount);
+        while (first < last) {
+            int middle = (first + last) >>> 1;
+            if (entryAt(middle) < value) {
+                first = middle + 1;
+            } else {
+                last = middle;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Verifies the checksum of a block.
+     *
+     * @param block The block.
+     * @throws UncheckedIOException If the block is corrupt.
+     */
+    private void verifyBlock(int block) {
+        if (!fenceVerified) {
+            verifyFence();
+        }
+        int start = HEADER_SIZE + 8 * block * BLOCK_ENTRIES;
+        int end = HEADER_SIZE + 8 * Math.min((block + 1) * BLOCK_ENTRIES, entryCount);
+        int expected = map.getInt(HEADER_SIZE + 8 * entryCount + 8 * blockCount + 4 * block);
+        if (checksum(start, end) != expected) {
+            throw new UncheckedIOException(new IOException("Corrupt block " + block + " of index file " + file));
+        }
+        verifiedBlocks.set(block);
+    }
+
+    /**
+     * Verifies the checksum of the fence index and block checksums.
+     *
+     * @throws UncheckedIOException If they are corrupt.
+     */
+    private void verifyFence() {
+        int start = HEADER_SIZE + 8 * entryCount;
+        int end = start + 12 * blockCount;
+        if (checksum(start, end) != map.getInt(end)) {
+            throw new UncheckedIOException(new IOException("Corrupt fence index of index file " + file));
+        }
+        fenceVerified = true;
+    }
+
+    /**
+     * Computes the CRC32C checksum of a range of the file.
+     *
+     * @param start The start of the range.
+     * @param end The end of the range (exclusive).
+     * @return The checksum.
+     */
+    private int checksum(int start, int end) {
+        CRC32C crc = new CRC32C();
+        ByteBuffer range = map.duplicate();
+        range.position(start).limit(end);
+        crc.update(range);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Visitor of the entries of an index.
+     */
+    interface EntryVisitor {
+        /**
+         * Visits an entry.
+         *
+         * @param entry The entry (see key and location).
+         * @param count The number of elements of the entry.
+         * @return `true` to go on with the next entry, `false` to stop.
+         */
+        boolean visit(long entry, int count);
+    }
+
+    /**
+     * Writes an index file sequentially: entries first, then the fence index and checksums kept in memory meanwhile
+     * (a few bytes per block), and finally the header.
+     */
+    private static class Writer implements AutoCloseable {
+        /**
+         * The file being written.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The generation stored in the header.
+         */
+        private final long generation;
+
+        /**
+         * Buffer of entries not written yet.
+         */
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+
+        /**
+         * Computes the checksums of the blocks.
+         */
+        private final CRC32C blockChecksum = new CRC32C();
+
+        /**
+         * First entry of every block.
+         */
+        private long[] fence = new long[16];
+
+        /**
+         * Checksum of every block.
+         */
+        private int[] checksums = new int[16];
+
+        /**
+         * Number of entries added so far.
+         */
+        private long entryCount = 0;
+
+        /**
+         * Number of entries written before the ones in the buffer. The buffer holds a whole number of blocks, so it always
+         * starts at the start of a block.
+         */
+        private long writtenEntries = 0;
+
+        /**
+         * Position of the next write in the file.
+         */
+        private long position = HEADER_SIZE;
+
+        /**
+         * Creates (or empties) an index file.
+         *
+         * @param file The file.
+         * @param generation The generation stored in the header.
+         * @throws IOException If the file can't be created.
+         */
+        private Writer(Path file, long generation) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.generation = generation;
+        }
+
+        /**
+         * Appends an entry. Entries must be added in order.
+         *
+         * @param entry The entry.
+         * @throws IOException If the file can't be written.
+         */
+        private void add(long entry) throws IOException {
+            if (entryCount % BLOCK_ENTRIES == 0) {
+                int block = (int) (entryCount / BLOCK_ENTRIES);
+                if (block == fence.length) {
+                    fence = Arrays.copyOf(fence, 2 * block);
+                    checksums = Arrays.copyOf(checksums, 2 * block);
+                }
+                fence[block] = entry;
+            }
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            buffer.putLong(entry);
+            entryCount++;
+        }
+
+        /**
+         * Writes the fence index, the checksums and the header, and forces the file to the disk.
+         *
+         * @throws IOException If the file can't be written.
+         */
+        private void finish() throws IOException {
+            int blocks = (int) ((entryCount + BLOCK_ENTRIES - 1) / BLOCK_ENTRIES);
+            drain();
+            CRC32C fenceChecksum = new CRC32C();
+            ByteBuffer footer = ByteBuffer.allocate(12 * blocks + 4);
+            for (int b = 0; b < blocks; b++) {
+                footer.putLong(fence[b]);
+            }
+            for (int b = 0; b < blocks; b++) {
+                footer.putInt(checksums[b]);
+            }
+            footer.flip();
+            fenceChecksum.update(footer.duplicate());
+            footer.limit(footer.capacity()).position(12 * blocks);
+            footer.putInt((int) fenceChecksum.getValue()).flip();
+            write(footer);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(generation).putLong(entryCount).putInt(blocks).putInt(0).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(false);
+        }
+
+        /**
+         * Writes the buffered entries and computes the checksums of their blocks.
+         *
+         * @throws IOException If the file can't be written.
+         */
+        private void drain() throws IOException {
+            buffer.flip();
+            // Checksum every block of the buffer (only the last block of the file may be partial).
+            int block = (int) (writtenEntries / BLOCK_ENTRIES);
+            for (int start = 0; start < buffer.limit(); start += 8 * BLOCK_ENTRIES, block++) {
+                ByteBuffer range = buffer.duplicate();
+                range.position(start).limit(Math.min(start + 8 * BLOCK_ENTRIES, buffer.limit()));
+                blockChecksum.reset();
+                blockChecksum.update(range);
+                checksums[block] = (int) blockChecksum.getValue();
+            }
+            writtenEntries += buffer.limit() / 8;
+            write(buffer);
+            buffer.clear();
+        }
+
+        /**
+         * Writes a buffer at the current position.
+         *
+         * @param source The buffer.
+         * @throws IOException If the file can't be written.
+         */
+        private void write(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                position += channel.write(source, position);
+            }
+        }
+
+        /**
+         * Closes the file.
+         *
+         * @throws IOException If the file can't be closed.
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
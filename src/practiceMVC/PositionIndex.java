@@ -0,0 +1,574 @@
+package practiceMVC;
+
+/**
+ * An order-statistic index that keeps elements in list order and answers positional queries in logarithmic time.
+ * It is implemented as an implicit treap (a randomized balanced tree ordered by position, not by value), where
+ * every entry knows the size of its subtree and its parent, so the position of an entry can be computed by walking up.
+ * Entries can also be marked in up to 64 independent channels. Every entry keeps how many marked entries its subtree
+ * holds per channel, so the marked entries of a channel can be counted, ranked and selected in logarithmic time too.
+ *
+ * @param <T> The type of values referenced by the index entries.
+ */
+class PositionIndex<T> {
+    /**
+     * Root entry of the tree, or null if the index is empty.
+     */
+    private Entry<T> root;
+
+    /**
+     * State of the xorshift generator used to draw entry priorities.
+     */
+    private int seed = 0x2545F491;
+
+    /**
+     * Bitmask of the mark channels currently in use.
+     */
+    private long channelsInUse = 0;
+
+    /**
+     * Left part produced by the last call to split (avoids allocating a pair object).
+     */
+    private Entry<T> splitLeft;
+
+    /**
+     * Right part produced by the last call to split.
+     */
+    private Entry<T> splitRight;
+
+    /**
+     * Gets the number of entries in the index.
+     *
+     * @return The number of entries in the index.
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Removes every entry from the index.
+     */
+    void clear() {
+        root = null;
+    }
+
+    /**
+     * Appends a value at the last position.
+     *
+     * @param value The value to append.
+     * @return The entry created for the value.
+     */
+    Entry<T> addLast(T value) {
+        Entry<T> entry = new Entry<>(value, nextPriority());
+        root = merge(root, entry);
+        root.parent = null;
+        return entry;
+    }
+
+    /**
+     * Inserts a value so that it ends up at the given position, shifting the following entries one place.
+     *
+     * @param index The position (0 to size, both included) that the new value will have.
+     * @param value The value to insert.
+     * @return The entry created for the value.
+     */
+    Entry<T> insertAt(int index, T value) {
+        Entry<T> entry = new Entry<>(value, nextPriority());
+        insertAt(index, entry);
+        return entry;
+    }
+
+    /**
+     * Inserts a detached entry (e.g. one previously removed) so that it ends up at the given position, keeping its
+     * marks.
+     *
+     * @param index The position (0 to size, both included) that the entry will have.
+     * @param entry The entry to insert.
+     */
+    void insertAt(int index, Entry<T> entry) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        update(entry);
+        split(root, index);
+        Entry<T> left = splitLeft;
+        Entry<T> right = splitRight;
+        root = merge(merge(left, entry), right);
+        root.parent = null;
+    }
+
+    /**
+     * Removes an entry from the index.
+     *
+     * @param entry The entry to remove. It must belong to this index.
+     */
+    void remove(Entry<T> entry) {
+        // Replace the entry with the merge of its two subtrees.
+        Entry<T> replacement = merge(entry.left, entry.right);
+        Entry<T> parent = entry.parent;
+        if (replacement != null) {
+            replacement.parent = parent;
+        }
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == entry) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+
+        // Fix the subtree sizes on the way up to the root.
+        for (Entry<T> current = parent; current != null; current = current.parent) {
+            update(current);
+        }
+
+        // Detach the removed entry completely (its marks are kept).
+        entry.left = null;
+        entry.right = null;
+        entry.parent = null;
+        update(entry);
+    }
+
+    /**
+     * Gets the position (index) of an entry.
+     *
+     * @param entry The entry to locate. It must belong to this index.
+     * @return The position of the entry, starting at 0.
+     */
+    int positionOf(Entry<T> entry) {
+        int position = size(entry.left);
+        // Every time we come up from a right child, everything on the parent's left (plus the parent) precedes us.
+        for (Entry<T> current = entry; current.parent != null; current = current.parent) {
+            if (current.parent.right == current) {
+                position += size(current.parent.left) + 1;
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Gets the entry stored at a position.
+     *
+     * @param index The position to look up.
+     * @return The entry at that position.
+     */
+    Entry<T> entryAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Entry<T> current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Discards the current contents and rebuilds the index from existing entries given in list order, in linear time.
+     * The entries keep their values, priorities and marks.
+     *
+     * @param entries The entries in list order.
+     * @param count The number of entries to take from the array.
+     */
+    void rebuild(Entry<T>[] entries, int count) {
+        root = buildTree(entries, count);
+    }
+
+    /**
+     * Appends several values at the last positions at once. The new entries are built into a tree in linear time, which
+     * is then merged with the existing one in logarithmic time.
+     *
+     * @param values The values to append, in order.
+     * @param count The number of values to take from the array.
+     * @return The entries created for the values, in the same order.
+     */
+    Entry<T>[] addAllLast(T[] values, int count) {
+        Entry<T>[] entries = newEntryArray(count);
+        for (int i = 0; i < count; i++) {
+            entries[i] = new Entry<>(values[i], nextPriority());
+        }
+        root = merge(root, buildTree(entries, count));
+        if (root != null) {
+            root.parent = null;
+        }
+        return entries;
+    }
+
+    /**
+     * Builds a tree from entries given in list order, in linear time. The entries keep their values, priorities and
+     * marks.
+     *
+     * @param entries The entries in list order.
+     * @param count The number of entries to take from the array.
+     * @return The root of the new tree, or null if there are no entries.
+     */
+    private Entry<T> buildTree(Entry<T>[] entries, int count) {
+        // Stack-based Cartesian tree construction: the stack holds the rightmost path of the tree built so far.
+        Entry<T>[] stack = newEntryArray(count);
+        int top = 0;
+        for (int i = 0; i < count; i++) {
+            Entry<T> entry = entries[i];
+            entry.left = null;
+            entry.right = null;
+            entry.parent = null;
+            Entry<T> lastPopped = null;
+            while (top > 0 && stack[top - 1].priority < entry.priority) {
+                lastPopped = stack[--top];
+            }
+            if (lastPopped != null) {
+                entry.left = lastPopped;
+                lastPopped.parent = entry;
+            }
+            if (top > 0) {
+                stack[top - 1].right = entry;
+                entry.parent = stack[top - 1];
+            }
+            stack[top++] = entry;
+        }
+        Entry<T> subtreeRoot = top > 0 ? stack[0] : null;
+        if (subtreeRoot != null) {
+            computeAggregates(subtreeRoot);
+        }
+        return subtreeRoot;
+    }
+
+    /**
+     * Reserves a free mark channel. No entry is marked in a newly reserved channel.
+     *
+     * @return The number of the reserved channel.
+     * @throws IllegalStateException If all 64 channels are in use.
+     */
+    int allocateChannel() {
+        if (channelsInUse == -1L) {
+            throw new IllegalStateException("All mark channels are in use.");
+        }
+        int channel = Long.numberOfTrailingZeros(~channelsInUse);
+        channelsInUse |= 1L << channel;
+        return channel;
+    }
+
+    /**
+     * Unmarks every entry in a channel and frees it so it can be reserved again.
+     *
+     * @param channel The channel to free.
+     */
+    void releaseChannel(int channel) {
+        while (countMarked(channel) > 0) {
+            setMarked(selectMarked(channel, 0), channel, false);
+        }
+        channelsInUse &= ~(1L << channel);
+    }
+
+    /**
+     * Marks or unmarks an entry in a channel, updating the counts on the way up to the root.
+     *
+     * @param entry The entry to change.
+     * @param channel The channel.
+     * @param marked `true` to mark the entry, `false` to unmark it.
+     */
+    void setMarked(Entry<T> entry, int channel, boolean marked) {
+        if (isMarked(entry, channel) == marked) {
+            return;
+        }
+        entry.marks ^= 1L << channel;
+        for (Entry<T> current = entry; current != null; current = current.parent) {
+            update(current);
+        }
+    }
+
+    /**
+     * Checks if an entry is marked in a channel.
+     *
+     * @param entry The entry to check.
+     * @param channel The channel.
+     * @return `true` if the entry is marked, `false` otherwise.
+     */
+    boolean isMarked(Entry<T> entry, int channel) {
+        return (entry.marks & (1L << channel)) != 0;
+    }
+
+    /**
+     * Counts the marked entries of a channel.
+     *
+     * @param channel The channel.
+     * @return The number of entries marked in the channel.
+     */
+    int countMarked(int channel) {
+        return markCount(root, channel);
+    }
+
+    /**
+     * Counts the marked entries of a channel that precede an entry.
+     *
+     * @param entry The entry. It must belong to this index.
+     * @param channel The channel.
+     * @return The number of marked entries strictly before the given one.
+     */
+    int countMarkedBefore(Entry<T> entry, int channel) {
+        int count = markCount(entry.left, channel);
+        for (Entry<T> current = entry; current.parent != null; current = current.parent) {
+            if (current.parent.right == current) {
+                count += markCount(current.parent.left, channel) + (isMarked(current.parent, channel) ? 1 : 0);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the marked entry of a channel with the given rank among the marked entries.
+     *
+     * @param channel The channel.
+     * @param rank The rank (0 for the first marked entry in list order).
+     * @return The marked entry with that rank.
+     */
+    Entry<T> selectMarked(int channel, int rank) {
+        if (rank < 0 || rank >= countMarked(channel)) {
+            throw new IndexOutOfBoundsException("Rank: " + rank + ", Marked: " + countMarked(channel));
+        }
+        Entry<T> current = root;
+        while (true) {
+            int leftCount = markCount(current.left, channel);
+            if (rank < leftCount) {
+                current = current.left;
+            } else {
+                rank -= leftCount;
+                if (isMarked(current, channel)) {
+                    if (rank == 0) {
+                        return current;
+                    }
+                    rank--;
+                }
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Gets the first marked entry of a channel that follows an entry.
+     *
+     * @param entry The entry. It must belong to this index.
+     * @param channel The channel.
+     * @return The next marked entry, or null if there is none.
+     */
+    Entry<T> nextMarked(Entry<T> entry, int channel) {
+        int rank = countMarkedBefore(entry, channel) + (isMarked(entry, channel) ? 1 : 0);
+        return rank < countMarked(channel) ? selectMarked(channel, rank) : null;
+    }
+
+    /**
+     * Gets the last marked entry of a channel that precedes an entry.
+     *
+     * @param entry The entry. It must belong to this index.
+     * @param channel The channel.
+     * @return The previous marked entry, or null if there is none.
+     */
+    Entry<T> previousMarked(Entry<T> entry, int channel) {
+        int rank = countMarkedBefore(entry, channel);
+        return rank > 0 ? selectMarked(channel, rank - 1) : null;
+    }
+
+    /**
+     * Recomputes the aggregated data of a whole subtree, children first. The recursion depth is the height of the
+     * tree, which is logarithmic in expectation thanks to the random priorities.
+     *
+     * @param entry The root of the subtree.
+     */
+    private void computeAggregates(Entry<T> entry) {
+        if (entry.left != null) {
+            computeAggregates(entry.left);
+        }
+        if (entry.right != null) {
+            computeAggregates(entry.right);
+        }
+        update(entry);
+    }
+
+    /**
+     * Splits a subtree so that splitLeft holds its first count entries and splitRight holds the rest.
+     *
+     * @param subtree The subtree to split.
+     * @param count The number of entries that go to the left part.
+     */
+    private void split(Entry<T> subtree, int count) {
+        if (subtree == null) {
+            splitLeft = null;
+            splitRight = null;
+            return;
+        }
+        if (size(subtree.left) < count) {
+            split(subtree.right, count - size(subtree.left) - 1);
+            subtree.right = splitLeft;
+            if (splitLeft != null) {
+                splitLeft.parent = subtree;
+            }
+            update(subtree);
+            subtree.parent = null;
+            splitLeft = subtree;
+        } else {
+            split(subtree.left, count);
+            subtree.left = splitRight;
+            if (splitRight != null) {
+                splitRight.parent = subtree;
+            }
+            update(subtree);
+            subtree.parent = null;
+            splitRight = subtree;
+        }
+    }
+
+    /**
+     * Merges two subtrees, where every entry of the left one precedes every entry of the right one.
+     *
+     * @param left The subtree that goes first.
+     * @param right The subtree that goes second.
+     * @return The root of the merged subtree.
+     */
+    private Entry<T> merge(Entry<T> left, Entry<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.right.parent = left;
+            update(left);
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            right.left.parent = right;
+            update(right);
+            return right;
+        }
+    }
+
+    /**
+     * Recomputes the aggregated data of an entry from its children.
+     *
+     * @param entry The entry to update.
+     */
+    private void update(Entry<T> entry) {
+        entry.size = size(entry.left) + size(entry.right) + 1;
+
+        // Recompute the marked counts of every channel in use.
+        for (long channels = channelsInUse; channels != 0; channels &= channels - 1) {
+            int channel = Long.numberOfTrailingZeros(channels);
+            int count = markCount(entry.left, channel) + markCount(entry.right, channel) + (isMarked(entry, channel) ? 1 : 0);
+            if (entry.markCounts == null || entry.markCounts.length <= channel) {
+                if (count == 0) {
+                    continue; // A missing slot already reads as zero.
+                }
+                int[] grown = new int[channel + 1];
+                if (entry.markCounts != null) {
+                    System.arraycopy(entry.markCounts, 0, grown, 0, entry.markCounts.length);
+                }
+                entry.markCounts = grown;
+            }
+            entry.markCounts[channel] = count;
+        }
+    }
+
+    /**
+     * Creates an array of entries. Arrays of a generic type can't be created directly, so the array is created for
+     * entries of any value type and cast, which is safe as long as only entries of type T are stored in it.
+     *
+     * @param length The length of the array.
+     * @param <T> The type of the values of the entries.
+     * @return The new array, full of nulls.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Entry<T>[] newEntryArray(int length) {
+        return (Entry<T>[]) new Entry<?>[length];
+    }
+
+    /**
+     * Gets the number of marked entries of a channel in a possibly empty subtree.
+     *
+     * @param entry The root of the subtree.
+     * @param channel The channel.
+     * @return The number of marked entries in the subtree.
+     */
+    private static int markCount(Entry<?> entry, int channel) {
+        if (entry == null || entry.markCounts == null || entry.markCounts.length <= channel) {
+            return 0;
+        }
+        return entry.markCounts[channel];
+    }
+
+    /**
+     * Gets the size of a possibly empty subtree.
+     *
+     * @param entry The root of the subtree.
+     * @return The number of entries in the subtree.
+     */
+    private static int size(Entry<?> entry) {
+        return entry == null ? 0 : entry.size;
+    }
+
+    /**
+     * Draws the next pseudo-random priority.
+     *
+     * @return A new priority.
+     */
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    /**
+     * An entry of the index, referencing one value.
+     *
+     * @param <T> The type of the referenced value.
+     */
+    static final class Entry<T> {
+        /**
+         * The value referenced by this entry.
+         */
+        final T value;
+
+        /**
+         * Random heap priority that keeps the tree balanced.
+         */
+        final int priority;
+
+        /**
+         * Children and parent links.
+         */
+        Entry<T> left, right, parent;
+
+        /**
+         * Number of entries in the subtree rooted at this entry.
+         */
+        int size = 1;
+
+        /**
+         * Bitmask of the channels in which this entry is marked.
+         */
+        long marks;
+
+        /**
+         * Number of marked entries in the subtree rooted at this entry, per channel (null until one is needed).
+         */
+        int[] markCounts;
+
+        /**
+         * Initializes a new entry.
+         *
+         * @param value The value referenced by the entry.
+         * @param priority The heap priority of the entry.
+         */
+        Entry(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+}
@@ -6,17 +6,21 @@ import javax.swing.*;
 import javax.swing.text.*;
 // For native system GUI functionality.
 import java.awt.*;
-// For handling action events.
-import java.awt.event.ActionListener;
 // For handling focus events.
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
-// For formatting dates.
-import java.text.SimpleDateFormat;
+// For handling clicks on the employee table.
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 // For working with Gregorian calendars.
-import java.util.GregorianCalendar;
-// For accessing general Calendar-related functionality.
 import java.util.Calendar;
+import java.util.GregorianCalendar;
+// For importing and exporting employees.
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
 
 
 public class ViewController {
@@ -36,9 +40,19 @@ public class ViewController {
     private EmployeeModel currentEmployee;
 
     /**
-     * Label for displaying employee information.
+     * Component for displaying employee information.
+     */
+    private EmployeeCardComponent employeeInfoLabel;
+
+    /**
+     * Maximum number of rendered employee cards kept by the card cache.
      */
-    private JLabel employeeInfoLabel;
+    private static final int CARD_CACHE_SIZE = 64;
+
+    /**
+     * Cache of the rendered cards of the employees, so that going back and forth between them doesn't render them again.
+     */
+    private EmployeeCardCache<EmployeeCardComponent.Card> cardCache;
 
     /**
      * Node representing the current employee in the controller's linked list.
@@ -100,11 +114,113 @@ public class ViewController {
      */
     private JButton filterButton;
 
+    /**
+     * Button for switching between the employee card and the table of the whole roster.
+     */
+    private JButton tableButton;
+
+    /**
+     * Button for importing the employees of a CSV file.
+     */
+    private JButton importButton;
+
+    /**
+     * Button for exporting the employees to a CSV or JSON file.
+     */
+    private JButton exportButton;
+
+    /**
+     * Button for accepting the creation or modification of an employee.
+     */
+    private JButton acceptButton;
+
+    /**
+     * Button for canceling the creation or modification of an employee.
+     */
+    private JButton cancelButton;
+
     /**
      * Flag indicating if a filter is applied.
      */
     private boolean isFilterApplied;
 
+    /**
+     * Flag indicating if the view mode shows the table of the whole roster instead of the employee card.
+     */
+    private boolean isTableShown;
+
+    /**
+     * Table model showing the whole roster.
+     */
+    private EmployeeTableModel employeeTableModel;
+
+    /**
+     * Table showing the whole roster.
+     */
+    private JTable employeeTable;
+
+    /**
+     * Panel in the center of the view mode, showing either the employee card or the table.
+     */
+    private JPanel viewContent;
+
+    /**
+     * Index over the employees' hire dates, used to compile filters on hire dates without scanning the list.
+     */
+    private HireDateIndex hireDateIndex;
+
+    /**
+     * The filter currently applied, compiled over the employee list, or null if no filter is applied.
+     */
+    private CompiledFilter activeFilter;
+
+    /**
+     * Runs the heavy work of the view (filter scans, input validation) off the Event Dispatch Thread.
+     */
+    private ViewTaskRunner taskRunner;
+
+    /**
+     * Off-heap store in which the employees created or imported are kept, or null to keep them in the heap.
+     */
+    private OffHeapEmployeeStore employeeStore;
+
+    /**
+     * Imports the employees of CSV files into the list, from a background thread.
+     */
+    private EmployeeCsvImporter importer;
+
+    /**
+     * Follows the list while an import adds employees to it, to show them as they arrive, or null if no import is
+     * running. The list is then modified by the import on the Event Dispatch Thread, so no task may read it meanwhile.
+     */
+    private ListController.Listener<EmployeeModel> importListener;
+
+    /**
+     * Maximum number of rejected rows listed at the end of an import.
+     */
+    private static final int SHOWN_IMPORT_ERRORS = 10;
+
+    /**
+     * Key of the task finding the employees matching a filter being applied.
+     */
+    private static final String FILTER_TASK = "filter";
+
+    /**
+     * Key of the task exporting the employees to a file.
+     */
+    private static final String EXPORT_TASK = "export";
+
+    /**
+     * Key of the task validating the input of the creation mode.
+     */
+    private static final String ACCEPT_TASK = "accept";
+
+    /**
+     * Key of the scheduled display of the current employee, so that several Next/Back presses in a row show only the
+     * employee they end on.
+     */
+    private static final String DISPLAY_ACTION = "display";
+
     /**
      * Panel for displaying the view mode.
      */
@@ -115,6 +231,11 @@ public class ViewController {
      */
     private JPanel creationMode;
 
+    /**
+     * Panel showing either mode.
+     */
+    private JPanel modePanel;
+
     /**
      * Scroll pane for displaying view content with added scrolling functionality.
      */
@@ -172,35 +293,37 @@ public class ViewController {
         placeHolderDate = "DD/MM/YYYY";
         placeHolderPhone = "9 digits";
         placeHolderEmail = "example@mail.com";
+
+        // Use the index of the hire dates so that filters on them do not need to scan the list.
+        hireDateIndex = view.getHireDateIndex();
+
+        // Keep the employees created or imported in the store of the view, if it has one.
+        employeeStore = view.getEmployeeStore();
+        importer = new EmployeeCsvImporter(ForkJoinPool.commonPool(), employeeStore);
+
+        // Cache the employee cards rendered by the info component.
+        cardCache = new EmployeeCardCache<>(employeeController, employeeInfoLabel::render, CARD_CACHE_SIZE);
+
+        // Run the heavy work off the Event Dispatch Thread, disabling the actions that modify the list while it runs.
+        taskRunner = new ViewTaskRunner(this::updateButtonStates);
     }
 
     /**
      * Switches the EmployeeView to view mode, where it displays the current employee's information and view mode buttons.
+     * Both modes are built once, so switching only refreshes the view mode and brings it to the front.
      */
     public void switchToViewMode() {
         // Reset placeholder text for input fields.
         resetFields();
 
-        // Remove the components of the view mode.
-        viewMode.removeAll();
-
-        // Clear existing action listeners to prevent event stacking.
-        clearActionListeners();
-
         // Display the current employee's information.
         displayCurrentEmployee();
 
-        // Add the view mode buttons.
-        JPanel viewModeButtons = createViewModeButtons();
-        viewMode.add(viewModeButtons, BorderLayout.SOUTH);
-        viewMode.add(employeeInfoLabel, BorderLayout.CENTER);
-
         // Update the button states.
         updateButtonStates();
 
-        // Revalidate and repaint the view mode panel.
-        viewMode.revalidate();
-        viewMode.repaint();
+        // Bring the view mode to the front.
+        ((CardLayout) modePanel.getLayout()).show(modePanel, EmployeeView.VIEW_MODE_CARD);
 
         // DEBUGGING PURPOSES. Print current employee information and node details
         if (currentEmployeeNode != null) {
@@ -221,63 +344,8 @@ public class ViewController {
      * Switches the EmployeeView to creation mode, allowing the user to input employee information.
      */
     public void switchToCreationMode() {
-        // Remove the components of the view mode.
-        viewMode.removeAll();
-
-        // Add the creation mode components and buttons.
-        viewMode.add(createCreationModeComponents(), BorderLayout.CENTER);
-        viewMode.add(createCreationModeButtons(), BorderLayout.SOUTH);
-
-        // Revalidate and repaint the view mode panel.
-        viewMode.revalidate();
-        viewMode.repaint();
-
-        // Check if there is an action listener registered before attempting to remove it.
-        ActionListener[] actionListeners = filterButton.getActionListeners();
-        if (actionListeners.length > 0) {
-            filterButton.removeActionListener(actionListeners[0]);
-        }
-    }
-
-    /**
-     * Clears all action listeners from various buttons.
-     */
-    public void clearActionListeners() {
-        // Clear action listeners from the "Back" button
-        ActionListener[] backListeners = backButton.getActionListeners();
-        for (ActionListener listener : backListeners) {
-            backButton.removeActionListener(listener);
-        }
-
-        // Clear action listeners from the "Next" button
-        ActionListener[] nextListeners = nextButton.getActionListeners();
-        for (ActionListener listener : nextListeners) {
-            nextButton.removeActionListener(listener);
-        }
-
-        // Clear action listeners from the "Delete" button
-        ActionListener[] deleteListeners = deleteButton.getActionListeners();
-        for (ActionListener listener : deleteListeners) {
-            deleteButton.removeActionListener(listener);
-        }
-
-        // Clear action listeners from the "Create" button
-        ActionListener[] createListeners = createButton.getActionListeners();
-        for (ActionListener listener : createListeners) {
-            createButton.removeActionListener(listener);
-        }
-
-        // Clear action listeners from the "Modify" button
-        ActionListener[] modifyListeners = modifyButton.getActionListeners();
-        for (ActionListener listener : modifyListeners) {
-            modifyButton.removeActionListener(listener);
-        }
-
-        // Clear action listeners from the "Filter" button
-        ActionListener[] filterListeners = filterButton.getActionListeners();
-        for (ActionListener listener : filterListeners) {
-            filterButton.removeActionListener(listener);
-        }
+        // Bring the creation mode to the front. Its fields already hold placeholders or the data to modify.
+        ((CardLayout) modePanel.getLayout()).show(modePanel, EmployeeView.CREATION_MODE_CARD);
     }
 
     /**
@@ -286,100 +354,105 @@ public class ViewController {
      */
     public void displayCurrentEmployee() {
         if (currentEmployeeNode != null) {
-            // Get the current employee and related information if it isn't null.
-            EmployeeModel employee = currentEmployeeNode.getMain();
-            int currentPosition = employeeController.getPosition(employee) + 1;
-            int totalEmployees = employeeController.getTotalElements();
-
-            // Create HTML-formatted text to display information using the StrinbBuilder class to append consecutive strings.
-            StringBuilder labelText = new StringBuilder("<html>");
-            labelText.append("<h2 style='color: #007acc;'>Employee #").append(currentPosition).append(" of ").append(totalEmployees).append("</h2><br>");
-            labelText.append("<font color='#008000'><b>Name:</b></font> ").append(employee.getName()).append("<br>");
-            labelText.append("<font color='#008000'><b>Employee Number:</b></font> ").append(employee.getEmployeeNumber()).append("<br>");
-
             if (isFilterApplied) {
-                // Check if hireDate is null or not in 2023, and skip employees who don't match the filter.
-                if (employee.getHireDate() == null || employee.getHireDate().get(Calendar.YEAR) != 2023) {
-                    // Find the next matching employee which isn't null, whose date isn't null and matches the date criteria.
-                    ListController<EmployeeModel>.Node<EmployeeModel> nextEmployeeNode = currentEmployeeNode;
-                    while (nextEmployeeNode != null && (nextEmployeeNode.getMain().getHireDate() == null
-                            || nextEmployeeNode.getMain().getHireDate().get(Calendar.YEAR) != 2023)) {
-                        nextEmployeeNode = nextEmployeeNode.getNextNode();
-                    }
+                // Skip employees who don't match the filter.
+                if (!activeFilter.matches(currentEmployeeNode)) {
+                    // Jump straight to the next matching employee through the compiled filter.
+                    ListController<EmployeeModel>.Node<EmployeeModel> nextEmployeeNode = activeFilter.next(currentEmployeeNode);
 
                     if (nextEmployeeNode != null) {
                         // If a matching employee is found, update the current employee.
                         currentEmployeeNode = nextEmployeeNode;
-                        employee = currentEmployeeNode.getMain();
-                        currentPosition = employeeController.getPosition(employee) + 1;
                     } else {
                         // If no matching employee is found, inform the user and stop further processing.
-                        employeeInfoLabel.setText("No employees hired in 2023 to display.");
+                        employeeInfoLabel.showMessage("No employees matching the filter (" + activeFilter.getFilter().getDescription() + ") to display.");
                         return;
                     }
 
                 }
             }
 
-            // Check if hireDate, phone, and email are not null or empty.
-            if (employee.getHireDate() != null) {
-                labelText.append("<font color='#008000'><b>Hire Date:</b></font> ").append(formatGregorianCalendar(employee.getHireDate())).append("<br>");
-            } else {
-                // Indicate when the hire date is not specified.
-                labelText.append("<font color='red'><b>Hire Date:</b></font> Not specified yet<br>");
-            }
+            // Show the card of the current employee once the filter has been applied, rendering it only if it isn't cached.
+            employeeInfoLabel.showCard(cardCache.get(currentEmployeeNode));
 
-            if (!employee.getPhoneNumber().isEmpty()) {
-                // Display the phone number if available.
-                labelText.append("<font color='green'><b>Phone:</b></font> ").append(employee.getPhoneNumber()).append("<br>");
+            // Render the cards of the neighbouring employees while idle, so that the next Next/Back press finds them ready.
+            if (isFilterApplied) {
+                cardCache.prerenderLater(activeFilter.next(currentEmployeeNode), activeFilter.previous(currentEmployeeNode));
             } else {
-                // Indicate when the phone number is not specified.
-                labelText.append("<font color='red'><b>Phone:</b></font> Not specified yet<br>");
+                cardCache.prerenderLater(currentEmployeeNode.getNextNode(), currentEmployeeNode.getPreviousNode());
             }
 
-            if (!employee.getEmailAddress().isEmpty()) {
-                // Display the email address if available.
-                labelText.append("<font color='green'><b>Email:</b></font> ").append(employee.getEmailAddress()).append("<br>");
-            } else {
-                // Indicate when the email address is not specified.
-                labelText.append("<font color='red'><b>Email:</b></font> Not specified yet<br>");
+            // Keep the current employee selected (and in sight) in the table.
+            if (isTableShown) {
+                selectCurrentEmployeeRow();
             }
-
-            labelText.append("</html>");
-            // Set the label text with the formatted information.
-            employeeInfoLabel.setText(labelText.toString());
         } else {
             // Handle case where there's no current employee to display.
-            employeeInfoLabel.setText("No employee to display.");
+            employeeInfoLabel.showMessage("No employee to display.");
         }
     }
 
     /**
-     * Creates buttons for the view mode and adds action listeners to them.
+     * Builds the HTML-formatted text describing an employee, as shown in the view mode.
+     * It doesn't need any Swing component, so it can also be used (and measured) without a display.
      *
-     * @return A JPanel containing the view mode buttons.
+     * @param employee The employee to describe.
+     * @param position The position of the employee in the list, starting at 1.
+     * @param totalEmployees The total number of employees in the list.
+     * @return The HTML-formatted text.
+     */
+    public static String buildEmployeeLabel(EmployeeModel employee, int position, int totalEmployees) {
+        // Create HTML-formatted text to display information using the StrinbBuilder class to append consecutive strings.
+        StringBuilder labelText = new StringBuilder("<html>");
+        labelText.append("<h2 style='color: #007acc;'>Employee #").append(position).append(" of ").append(totalEmployees).append("</h2><br>");
+        labelText.append("<font color='#008000'><b>Name:</b></font> ").append(employee.getName()).append("<br>");
+        labelText.append("<font color='#008000'><b>Employee Number:</b></font> ").append(employee.getEmployeeNumber()).append("<br>");
+
+        // Check if hireDate, phone, and email are not null or empty.
+        if (employee.hasHireDate()) {
+            labelText.append("<font color='#008000'><b>Hire Date:</b></font> ");
+            EpochDays.formatTo(employee.getHireEpochDay(), labelText).append("<br>");
+        } else {
+            // Indicate when the hire date is not specified.
+            labelText.append("<font color='red'><b>Hire Date:</b></font> Not specified yet<br>");
+        }
+
+        if (!employee.getPhoneNumber().isEmpty()) {
+            // Display the phone number if available.
+            labelText.append("<font color='green'><b>Phone:</b></font> ").append(employee.getPhoneNumber()).append("<br>");
+        } else {
+            // Indicate when the phone number is not specified.
+            labelText.append("<font color='red'><b>Phone:</b></font> Not specified yet<br>");
+        }
+
+        if (!employee.getEmailAddress().isEmpty()) {
+            // Display the email address if available.
+            labelText.append("<font color='green'><b>Email:</b></font> ").append(employee.getEmailAddress()).append("<br>");
+        } else {
+            // Indicate when the email address is not specified.
+            labelText.append("<font color='red'><b>Email:</b></font> Not specified yet<br>");
+        }
+
+        return labelText.append("</html>").toString();
+    }
+
+    /**
+     * Adds the action listeners of the buttons of both modes and the listeners of the employee table.
+     * The components are built once and kept for the whole session, so this must be called exactly once.
      */
-    public JPanel createViewModeButtons() {
+    public void registerListeners() {
         // Add an action listener for the "Next" button
         nextButton.addActionListener(e -> {
             if (currentEmployeeNode != null) {
-                // Get the next employee node in the linked list.
-                ListController<EmployeeModel>.Node<EmployeeModel> nextEmployeeNode = currentEmployeeNode.getNextNode();
-
-                // Iterate through employees to find the next valid one.
-                while (nextEmployeeNode != null) {
-                    EmployeeModel nextEmployee = nextEmployeeNode.getMain();
+                // Get the next employee node in the linked list, or the next one matching the filter through the compiled filter.
+                ListController<EmployeeModel>.Node<EmployeeModel> nextEmployeeNode = isFilterApplied ? activeFilter.next(currentEmployeeNode) : currentEmployeeNode.getNextNode();
 
-                    // Check if the filter is not applied or if the hire date matches the filter.
-                    if (!isFilterApplied || (nextEmployee.getHireDate() != null && nextEmployee.getHireDate().get(Calendar.YEAR) == 2023)) {
-                        // Update the current employee node to the next one, display the new employee and update button states.
-                        currentEmployeeNode = nextEmployeeNode;
-                        displayCurrentEmployee();
-                        updateButtonStates();
-                        return; // Found a valid employee, exit the loop.
-                    }
-                    // Move the next employee node to the next node in the list.
-                    nextEmployeeNode = nextEmployeeNode.getNextNode();
+                if (nextEmployeeNode != null) {
+                    // Update the current employee node to the next one and the button states right away, and display
+                    // the new employee once the presses already queued have been handled.
+                    currentEmployeeNode = nextEmployeeNode;
+                    updateButtonStates();
+                    taskRunner.invokeLaterOnce(DISPLAY_ACTION, this::displayCurrentEmployee);
                 }
             }
         });
@@ -387,23 +460,15 @@ public class ViewController {
         // Add an action listener for the "Back" button
         backButton.addActionListener(e -> {
             if (currentEmployeeNode != null) {
-                // Get the previous employee node in the linked list.
-                ListController<EmployeeModel>.Node<EmployeeModel> previousEmployeeNode = currentEmployeeNode.getPreviousNode();
-
-                // Iterate through employees to find the previous valid one.
-                while (previousEmployeeNode != null) {
-                    EmployeeModel previousEmployee = previousEmployeeNode.getMain();
-
-                    // Check if the filter is not applied or if the hire date matches the filter.
-                    if (!isFilterApplied || (previousEmployee.getHireDate() != null && previousEmployee.getHireDate().get(Calendar.YEAR) == 2023)) {
-                        // Update the current employee node, display the previous employee and update button states.
-                        currentEmployeeNode = previousEmployeeNode;
-                        displayCurrentEmployee();
-                        updateButtonStates();
-                        return; // Found a valid employee, exit the loop
-                    }
-                    // Move the previous employee node to the previous node in the list.
-                    previousEmployeeNode = previousEmployeeNode.getPreviousNode();
+                // Get the previous employee node in the linked list, or the previous one matching the filter through the compiled filter.
+                ListController<EmployeeModel>.Node<EmployeeModel> previousEmployeeNode = isFilterApplied ? activeFilter.previous(currentEmployeeNode) : currentEmployeeNode.getPreviousNode();
+
+                if (previousEmployeeNode != null) {
+                    // Update the current employee node and the button states right away, and display the previous
+                    // employee once the presses already queued have been handled.
+                    currentEmployeeNode = previousEmployeeNode;
+                    updateButtonStates();
+                    taskRunner.invokeLaterOnce(DISPLAY_ACTION, this::displayCurrentEmployee);
                 }
             }
         });
@@ -420,13 +485,10 @@ public class ViewController {
 
                 // User chose to delete the current employee.
                 if (option == JOptionPane.YES_OPTION) {
-                    // Get the current employee.
-                    EmployeeModel currentEmployee = currentEmployeeNode.getMain();
-
-                    // Call the link controller method to remove the current employee.
-                    employeeController.remove(currentEmployee);
+                    // Call the list controller method to unlink the current employee node directly, without searching for it.
+                    employeeController.removeNode(currentEmployeeNode);
 
-                    // Retrieve the next employee after deletion.
+                    // Retrieve the next employee after deletion (the removed node still points to its former neighbour).
                     currentEmployeeNode = currentEmployeeNode.getNextNode();
 
                     // Update the view to display the next employee (if available).
@@ -469,11 +531,9 @@ public class ViewController {
                 employeeNumberField.setForeground(Color.BLACK);
 
                 // Check if hireDate is null and provide a placeholder.
-                GregorianCalendar hireDate = selectedEmployee.getHireDate();
-                if (hireDate != null) {
-                    // Establish a string format to convert the hire date to.
-                    SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy");
-                    String formattedDate = dateFormat.format(hireDate.getTime());
+                if (selectedEmployee.hasHireDate()) {
+                    // Format the stored hire date as DD/MM/YYYY.
+                    String formattedDate = EpochDays.format(selectedEmployee.getHireEpochDay());
                     // Populate the hireDate, phone, and email fields with the selected employee's data.
                     hireDateField.setText(formattedDate);
                     phoneField.setText(selectedEmployee.getPhoneNumber());
@@ -500,24 +560,28 @@ public class ViewController {
             updateButtonStates(); // Updates the button states based on the current view.
         });
 
-        // Disable the back button if there's no previous employee.
-        backButton.setEnabled(currentEmployeeNode != null && currentEmployeeNode.getPreviousNode() != null);
+        // Add an action listener for the "Table" button
+        tableButton.addActionListener(e -> toggleTableView());
+
+        // Add an action listener for the "Import" button
+        importButton.addActionListener(e -> importEmployees());
 
-        // Disable the next button if there's no next employee.
-        nextButton.setEnabled(currentEmployeeNode != null && currentEmployeeNode.getNextNode() != null);
+        // Add an action listener for the "Export" button
+        exportButton.addActionListener(e -> exportEmployees());
+
+        // Add action listeners for creation mode buttons.
 
-        // Create a panel to hold the view mode buttons and add them to it.
-        JPanel buttonPanel = new JPanel(new FlowLayout());
-        buttonPanel.add(backButton);
-        buttonPanel.add(nextButton);
-        buttonPanel.add(deleteButton);
-        buttonPanel.add(createButton);
-        buttonPanel.add(modifyButton);
-        buttonPanel.add(filterButton);
+        // "Accept" button action listener.
+        acceptButton.addActionListener(e -> acceptButtonAction());
 
-        viewMode.add(buttonPanel, BorderLayout.SOUTH); // Add the button panel to the view mode.
+        // "Cancel" button action listener. It also cancels the validation of the input, if it's still running.
+        cancelButton.addActionListener(e -> {
+            taskRunner.cancel(ACCEPT_TASK);
+            switchToViewMode();
+        });
 
-        return buttonPanel; // Return the created button panel.
+        // Let the table follow and change the current employee.
+        attachEmployeeTable();
     }
 
     /**
@@ -565,47 +629,223 @@ public class ViewController {
     }
 
     /**
-     * Creates buttons for the creation mode and adds action listeners to them.
-     *
-     * @return A JPanel containing buttons for accepting or canceling the creation or modification of an employee's data.
+     * Updates the state (enabled or disabled) of various buttons in the view mode based on the current conditions.
      */
-    public JPanel createCreationModeButtons() {
-        // Create buttons for the creation mode.
-        JButton acceptButton = new JButton("Accept");
-        JButton cancelButton = new JButton("Cancel");
+    public void updateButtonStates() {
+        // Disable the back button if there's no previous employee matching the filter.
+        backButton.setEnabled(currentEmployeeNode != null && hasPreviousMatchingEmployee(currentEmployeeNode));
 
-        // Add action listeners for creation mode buttons.
+        // Disable the next button if there's no previous employee matching the filter.
+        nextButton.setEnabled(currentEmployeeNode != null && hasNextMatchingEmployee(currentEmployeeNode));
 
-        // "Accept" button action listener.
-        acceptButton.addActionListener(e -> acceptButtonAction());
+        // The list can't be modified while a task may be reading it on the background thread.
+        boolean busy = taskRunner != null && taskRunner.isBusy();
+
+        // Nor can a task read it while an import is adding employees to it.
+        boolean importing = importListener != null;
+
+        // Disable the delete button if there's no current employee.
+        deleteButton.setEnabled(currentEmployeeNode != null && !busy);
+
+        // Disable the modify button if there's no current employee.
+        modifyButton.setEnabled(currentEmployeeNode != null && !busy);
+
+        // Disable the buttons leading to a creation or modification.
+        createButton.setEnabled(!busy);
+        acceptButton.setEnabled(!busy && !importing);
+
+        // Disable the filter (unless it is applied and may be undone) and further imports during an import.
+        filterButton.setEnabled(!importing || isFilterApplied);
+        importButton.setEnabled(!busy && !importing);
+
+        // An export reads the list on the background thread, so it can't start during an import (but can be cancelled).
+        exportButton.setEnabled(!importing || (taskRunner != null && taskRunner.isPending(EXPORT_TASK)));
+    }
+
+    /**
+     * Lets the employee table follow and change the current employee: selecting a row makes its employee the current
+     * one (so the view mode buttons act on it), and double-clicking a row shows its employee card.
+     * It is called once, by registerListeners.
+     */
+    private void attachEmployeeTable() {
+        employeeTable.getSelectionModel().addListSelectionListener(e -> {
+            int row = employeeTable.getSelectedRow();
+            if (!e.getValueIsAdjusting() && row >= 0) {
+                currentEmployeeNode = employeeTableModel.getNodeAt(row);
+                updateButtonStates();
+            }
+        });
+
+        employeeTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && employeeTable.rowAtPoint(e.getPoint()) >= 0) {
+                    toggleTableView();
+                }
+            }
+        });
+    }
 
-        // "Cancel" button action listener.
-        cancelButton.addActionListener(e -> switchToViewMode());
+    /**
+     * Switches the view mode between the employee card and the table of the whole roster, keeping the current employee.
+     */
+    public void toggleTableView() {
+        isTableShown = !isTableShown;
+        tableButton.setText(isTableShown ? "Card" : "Table");
 
-        // Create a panel to hold the creation mode buttons.
-        JPanel buttonPanel = new JPanel(new FlowLayout());
-        buttonPanel.add(acceptButton);
-        buttonPanel.add(cancelButton);
+        // Bring the other component of the view mode to the front, keeping the buttons.
+        ((CardLayout) viewContent.getLayout()).show(viewContent, isTableShown ? EmployeeView.TABLE_CARD : EmployeeView.EMPLOYEE_CARD);
 
-        return buttonPanel; // Returns the complete button panel.
+        // Show the current employee in both of them (displayCurrentEmployee also selects its row in the table).
+        displayCurrentEmployee();
+        updateButtonStates();
     }
 
+    /**
+     * Selects the row of the current employee in the table and scrolls it into sight. Only that row is looked up, in
+     * logarithmic time.
+     */
+    public void selectCurrentEmployeeRow() {
+        int row = employeeTableModel.getRowOf(currentEmployeeNode);
+        if (row >= 0 && row != employeeTable.getSelectedRow()) {
+            employeeTable.setRowSelectionInterval(row, row);
+            employeeTable.scrollRectToVisible(employeeTable.getCellRect(row, 0, true));
+        }
+    }
 
     /**
-     * Updates the state (enabled or disabled) of various buttons in the view mode based on the current conditions.
+     * Asks the user for a CSV file and imports its employees at the end of the list (see EmployeeCsvImporter). The file
+     * is read and parsed on a background thread, and its employees are added on the Event Dispatch Thread as they are
+     * parsed, so the user can keep browsing (and deleting) employees meanwhile. Once it is done, the user is told how
+     * many employees were imported and which rows were skipped.
      */
-    public void updateButtonStates() {
-        // Disable the back button if there's no previous employee matching the filter.
-        backButton.setEnabled(currentEmployeeNode != null && hasPreviousMatchingEmployee(currentEmployeeNode));
+    public void importEmployees() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
 
-        // Disable the next button if there's no previous employee matching the filter.
-        nextButton.setEnabled(currentEmployeeNode != null && hasNextMatchingEmployee(currentEmployeeNode));
+        // Show the employees as they are added: the first one if the list was empty, and the Next button.
+        importListener = new ListController.Listener<EmployeeModel>() {
+            @Override
+            public void nodeAdded(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+            }
 
-        // Disable the delete button if there's no current employee.
-        deleteButton.setEnabled(currentEmployeeNode != null);
+            @Override
+            public void nodeRemoved(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+            }
 
-        // Disable the modify button if there's no current employee.
-        modifyButton.setEnabled(currentEmployeeNode != null);
+            @Override
+            public void nodeUpdated(ListController<EmployeeModel>.Node<EmployeeModel> node) {
+            }
+
+            @Override
+            public void changesFinished() {
+                taskRunner.invokeLaterOnce(DISPLAY_ACTION, ViewController.this::showImportedEmployees);
+            }
+        };
+        employeeController.addListener(importListener);
+        importButton.setText("Importing...");
+        updateButtonStates();
+
+        Thread importThread = new Thread(() -> {
+            try {
+                EmployeeCsvImporter.Result result = importer.importFileInBackground(file.toPath(), employeeController);
+                SwingUtilities.invokeLater(() -> finishImport(file, result, null));
+            } catch (IOException | RuntimeException e) {
+                SwingUtilities.invokeLater(() -> finishImport(file, null, e));
+            }
+        }, "import");
+        importThread.setDaemon(true);
+        importThread.start();
+    }
+
+    /**
+     * Shows the employees added by an import so far: the first one if the list was empty, and the state of the buttons.
+     */
+    private void showImportedEmployees() {
+        if (currentEmployeeNode == null) {
+            currentEmployeeNode = employeeController.getFirstNode();
+        }
+        displayCurrentEmployee();
+        updateButtonStates();
+    }
+
+    /**
+     * Ends an import, once every employee it imported has been added to the list, and tells the user its outcome.
+     *
+     * @param file The imported file.
+     * @param result The outcome of the import, or null if it failed.
+     * @param failure The failure of the import, or null if it succeeded.
+     */
+    private void finishImport(File file, EmployeeCsvImporter.Result result, Exception failure) {
+        employeeController.removeListener(importListener);
+        importListener = null;
+        importButton.setText("Import");
+        showImportedEmployees();
+
+        if (failure != null) {
+            JOptionPane.showMessageDialog(frame, "The employees of " + file.getName() + " couldn't be imported: " + failure.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        StringBuilder message = new StringBuilder("Employees imported: " + result.getImportedCount() + ".");
+        if (result.getErrorCount() > 0) {
+            message.append("\nRows skipped: ").append(result.getErrorCount()).append('.');
+            for (int i = 0; i < Math.min(SHOWN_IMPORT_ERRORS, result.getErrors().size()); i++) {
+                message.append('\n').append(result.getErrors().get(i));
+            }
+            if (result.getErrorCount() > SHOWN_IMPORT_ERRORS) {
+                message.append("\n...");
+            }
+        }
+        JOptionPane.showMessageDialog(frame, message.toString(), "Import", result.getErrorCount() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Asks the user for a file and exports the employees to it (see EmployeeExporter), as JSON if its name ends with
+     * ".json" and as CSV otherwise. Only the employees matching the filter are exported when one is applied. The file
+     * is written on the background thread while the list isn't modified; the button shows the progress meanwhile, and
+     * cancels the export if pressed again.
+     */
+    public void exportEmployees() {
+        if (taskRunner.isPending(EXPORT_TASK)) {
+            // Stop exporting; the exporter doesn't leave a partial file behind.
+            taskRunner.cancel(EXPORT_TASK);
+            exportButton.setText("Export");
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        EmployeeExporter.Format format = file.getName().toLowerCase(Locale.ROOT).endsWith(".json") ? EmployeeExporter.Format.JSON : EmployeeExporter.Format.CSV;
+        EmployeeFilter filter = isFilterApplied ? activeFilter.getFilter() : null;
+
+        exportButton.setText("Cancel Export");
+        taskRunner.submit(EXPORT_TASK,
+                task -> new EmployeeExporter(format).export(employeeController, file.toPath(), filter == null ? null : filter::test,
+                        (visited, total) -> {
+                            if (task.isCancelled()) {
+                                throw new CancellationException(); // The export deletes its temporary file.
+                            }
+                            int percent = total == 0 ? 100 : (int) (100L * visited / total);
+                            SwingUtilities.invokeLater(() -> {
+                                if (!task.isCancelled()) {
+                                    exportButton.setText("Cancel Export (" + percent + "%)");
+                                }
+                            });
+                        }),
+                exported -> {
+                    exportButton.setText("Export");
+                    JOptionPane.showMessageDialog(frame, "Employees exported to " + file.getName() + ": " + exported + ".", "Export", JOptionPane.INFORMATION_MESSAGE);
+                },
+                e -> {
+                    exportButton.setText("Export");
+                    JOptionPane.showMessageDialog(frame, "The employees couldn't be exported: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                });
+        updateButtonStates();
     }
 
     /**
@@ -615,88 +855,236 @@ public class ViewController {
      * @return A formatted string representation of the calendar in the "dd/MM/yyyy" format.
      */
     public String formatGregorianCalendar(GregorianCalendar calendar) {
-        SimpleDateFormat simplifiedDate = new SimpleDateFormat("dd/MM/yyyy");
-        return simplifiedDate.format(calendar.getTime());
+        // Format through EpochDays instead of creating a new SimpleDateFormat on every call.
+        return EpochDays.format(EpochDays.of(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH) + 1, calendar.get(Calendar.DAY_OF_MONTH)));
     }
 
 
     /**
      * Toggles the filter button to apply or undo a filter on employee data.
-     * When the filter is applied, it updates the button text and handles filter application.
-     * When the filter is undone, it updates the button text and handles removing the filter.
+     * When the filter is applied, it asks the user to compose it and starts compiling it (see applyFilterLater).
+     * While it is being compiled, the button cancels the compilation.
+     * When the filter is undone, it releases the compiled filter and updates the button text.
      */
     public void toggleFilterButton() {
-        isFilterApplied = !isFilterApplied;
-        filterButton.setText(isFilterApplied ? "Undo Filter" : "Apply Filter");
+        if (taskRunner.isPending(FILTER_TASK)) {
+            // Stop compiling the filter; the employee list stays unfiltered.
+            taskRunner.cancel(FILTER_TASK);
+            filterButton.setText("Apply Filter");
+            return;
+        }
+        if (!isFilterApplied) {
+            // Let the user compose the filter. Nothing changes if the dialog is cancelled.
+            EmployeeFilter filter = askForFilter();
+            if (filter != null) {
+                applyFilterLater(filter);
+            }
+        } else {
+            activeFilter.close();
+            activeFilter = null;
+            isFilterApplied = false;
+            filterButton.setText("Apply Filter");
+        }
+    }
+
+    /**
+     * Finds the employees matching a filter on the background thread, then compiles the filter from them and applies
+     * it on the Event Dispatch Thread. The list isn't modified meanwhile, and the user can keep browsing it (or cancel
+     * the filter) while it is scanned.
+     *
+     * @param filter The filter to apply.
+     */
+    private void applyFilterLater(EmployeeFilter filter) {
+        filterButton.setText("Cancel Filter");
+        int modificationCount = employeeController.getModificationCount();
+        taskRunner.submit(FILTER_TASK,
+                task -> CompiledFilter.findMatches(filter, employeeController, hireDateIndex, task::isCancelled),
+                matchingNodes -> {
+                    // The matches are only valid for the list they were found in; compile again otherwise.
+                    activeFilter = employeeController.getModificationCount() == modificationCount
+                            ? CompiledFilter.fromMatches(filter, employeeController, matchingNodes)
+                            : new CompiledFilter(filter, employeeController, hireDateIndex);
+                    isFilterApplied = true;
+                    filterButton.setText("Undo Filter");
+                    displayCurrentEmployee();
+                    updateButtonStates();
+                },
+                e -> {
+                    filterButton.setText("Apply Filter");
+                    JOptionPane.showMessageDialog(frame, "The filter couldn't be applied: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                });
+    }
+
+    /**
+     * Shows a dialog where the user composes a filter from conditions on the employee fields. All the filled-in
+     * conditions must match.
+     *
+     * @return The composed filter, or null if the user cancelled the dialog or entered invalid years.
+     */
+    public EmployeeFilter askForFilter() {
+        // Create the input components, suggesting the classic filter (employees hired in 2023).
+        JTextField fromYearField = new JTextField("2023", 6);
+        JTextField toYearField = new JTextField("2023", 6);
+        JTextField domainField = new JTextField(15);
+        JTextField namePrefixField = new JTextField(15);
+        JCheckBox missingPhoneBox = new JCheckBox("Missing phone number");
+
+        // Lay them out in a two-column grid.
+        JPanel filterPanel = new JPanel(new GridLayout(5, 2));
+        filterPanel.add(new JLabel("Hired from year"));
+        filterPanel.add(fromYearField);
+        filterPanel.add(new JLabel("Hired until year"));
+        filterPanel.add(toYearField);
+        filterPanel.add(new JLabel("Email domain"));
+        filterPanel.add(domainField);
+        filterPanel.add(new JLabel("Name starts with"));
+        filterPanel.add(namePrefixField);
+        filterPanel.add(missingPhoneBox);
+
+        int option = JOptionPane.showConfirmDialog(frame, filterPanel, "Compose Filter", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (option != JOptionPane.OK_OPTION) {
+            return null;
+        }
+
+        // Combine every filled-in condition.
+        EmployeeFilter filter = null;
+        String fromYear = fromYearField.getText().trim();
+        String toYear = toYearField.getText().trim();
+        if (!fromYear.isEmpty() || !toYear.isEmpty()) {
+            try {
+                // A missing bound takes the value of the other one.
+                int from = Integer.parseInt(fromYear.isEmpty() ? toYear : fromYear);
+                int to = Integer.parseInt(toYear.isEmpty() ? fromYear : toYear);
+                filter = combine(filter, EmployeeFilter.hiredBetweenYears(from, to));
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(frame, "Years must be valid integers.", "Error", JOptionPane.ERROR_MESSAGE);
+                return null;
+            }
+        }
+        if (!domainField.getText().trim().isEmpty()) {
+            filter = combine(filter, EmployeeFilter.emailDomain(domainField.getText().trim()));
+        }
+        if (!namePrefixField.getText().trim().isEmpty()) {
+            filter = combine(filter, EmployeeFilter.namePrefix(namePrefixField.getText().trim()));
+        }
+        if (missingPhoneBox.isSelected()) {
+            filter = combine(filter, EmployeeFilter.missingPhone());
+        }
+        return filter == null ? EmployeeFilter.all() : filter;
+    }
+
+    /**
+     * Adds a condition to a filter being composed.
+     *
+     * @param filter The filter composed so far, or null if there is no condition yet.
+     * @param condition The condition to add.
+     * @return The filter requiring both.
+     */
+    private EmployeeFilter combine(EmployeeFilter filter, EmployeeFilter condition) {
+        return filter == null ? condition : filter.and(condition);
     }
 
 
     /**
      * Handles the action when the "Accept" button is clicked during the creation or modification of an employee.
-     * Validates input data, creates or modifies an employee, and switches back to view mode.
+     * Validates input data on the background thread (see validateInput), then creates or modifies the employee on the
+     * Event Dispatch Thread and switches back to view mode. The Accept button stays disabled until the input has been
+     * validated, and the Cancel button cancels the validation.
      */
     public void acceptButtonAction() {
-        try {
-            // Parse the input data from the text fields by removing the whitespace from both ends.
-            int employeeNumber = 0;
-            String name = nameField.getText().trim();
-            String hireDate = hireDateField.getText().trim();
-            String phoneNumber = phoneField.getText().trim();
-            String emailAddress = emailField.getText().trim();
-
-            // Verify that name and employee number are not left blank or contain placeholder values. Inform the user otherwise.
-            if (name.isEmpty() || employeeNumberField.getText().isEmpty() || name.equals(placeHolderName)) {
-                JOptionPane.showMessageDialog(frame, "Name and employee number cannot be blank.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+        // Read the input data from the text fields by removing the whitespace from both ends. The user may keep typing
+        // while it is validated, so the values read now are the ones validated and saved.
+        String name = nameField.getText().trim();
+        String employeeNumberText = employeeNumberField.getText();
+        String hireDate = hireDateField.getText().trim();
+        String phoneNumber = phoneField.getText().trim();
+        String emailAddress = emailField.getText().trim();
+
+        // The employee number may only be in use by the employee being modified.
+        EmployeeModel employeeBeingModified = (currentMode == EmployeeView.Mode.MODIFY && currentEmployeeNode != null) ? currentEmployeeNode.getMain() : null;
+
+        taskRunner.submit(ACCEPT_TASK,
+                task -> validateInput(name, employeeNumberText, hireDate, phoneNumber, emailAddress, employeeBeingModified),
+                error -> {
+                    if (error != null) {
+                        // Inform the user of the first invalid value.
+                        JOptionPane.showMessageDialog(frame, error, "Error", JOptionPane.ERROR_MESSAGE);
+                    } else {
+                        saveInput(name, Integer.parseInt(employeeNumberText), hireDate, phoneNumber, emailAddress);
+                    }
+                },
+                // Handle any other unexpected validation errors.
+                e -> JOptionPane.showMessageDialog(frame, "Invalid input. Please check the data.", "Error", JOptionPane.ERROR_MESSAGE));
+    }
 
-            // Verify that the name doesn't contain any numbers. Inform the user otherwise.
-            if (name.matches(".*\\d+.*")) {
-                JOptionPane.showMessageDialog(frame, "Name cannot contain numbers.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+    /**
+     * Validates the input data of the creation mode. It only reads the employee list (to check that the employee
+     * number is not in use), so it runs on the background thread while the list isn't modified.
+     *
+     * @param name The name.
+     * @param employeeNumberText The employee number, as typed.
+     * @param hireDate The hire date, the placeholder or empty.
+     * @param phoneNumber The phone number, the placeholder or empty.
+     * @param emailAddress The email address, the placeholder or empty.
+     * @param employeeBeingModified The employee being modified, or null if an employee is being created.
+     * @return The message telling the user about the first invalid value, or null if the input is valid.
+     */
+    private String validateInput(String name, String employeeNumberText, String hireDate, String phoneNumber, String emailAddress, EmployeeModel employeeBeingModified) {
+        // Verify that name and employee number are not left blank or contain placeholder values.
+        if (name.isEmpty() || employeeNumberText.isEmpty() || name.equals(placeHolderName)) {
+            return "Name and employee number cannot be blank.";
+        }
 
-            // Parse the employee number if it's not empty.
-            if (!employeeNumberField.getText().isEmpty()) {
-                try {
-                    employeeNumber = Integer.parseInt(employeeNumberField.getText());
-                } catch (NumberFormatException e) {
-                    // Inform the user if the parsing has encountered an unvalid integer.
-                    JOptionPane.showMessageDialog(frame, "Employee number must be a valid integer.", "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
-            }
+        // Verify that the name doesn't contain any numbers.
+        if (!EmployeeValidator.isValidName(name)) {
+            return "Name cannot contain numbers.";
+        }
 
-            // Check if the employee number is already in use.
-            if (employeeNumberExists(employeeNumber, currentEmployee)) {
-                JOptionPane.showMessageDialog(frame, "An employee with the same employee number already exists. Please choose a different number.", "Error", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+        // Parse the employee number, with the same digit rule as imported rows (ASCII digits only).
+        if (!EmployeeValidator.isValidEmployeeNumber(employeeNumberText)) {
+            return "Employee number must be a valid integer.";
+        }
+        int employeeNumber = Integer.parseInt(employeeNumberText);
 
-            // Check if hireDate is in the correct format.
-            if (!hireDate.isEmpty() && !hireDate.equals(placeHolderDate)) {
-                if (!isValidDateFormat(hireDate)) {
-                    JOptionPane.showMessageDialog(frame, "Invalid date format (DD/MM/YYYY).", "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
+        // Check if the employee number is already in use (by someone other than the employee being modified).
+        if (employeeNumberExists(employeeNumber, employeeBeingModified)) {
+            return "An employee with the same employee number already exists. Please choose a different number.";
+        }
+
+        // Check if hireDate is in the correct format.
+        if (!hireDate.isEmpty() && !hireDate.equals(placeHolderDate)) {
+            if (!EmployeeValidator.isValidDateFormat(hireDate)) {
+                return "Invalid date format (DD/MM/YYYY).";
             }
+        }
 
-            // Check if phoneNumber is in the correct format.
-            if (!phoneNumber.isEmpty() && !phoneNumber.equals(placeHolderPhone)) {
-                if (!isValidPhoneNumber(phoneNumber)) {
-                    JOptionPane.showMessageDialog(frame, "Invalid phone number format (9 digits).", "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
+        // Check if phoneNumber is in the correct format.
+        if (!phoneNumber.isEmpty() && !phoneNumber.equals(placeHolderPhone)) {
+            if (!EmployeeValidator.isValidPhoneNumber(phoneNumber)) {
+                return "Invalid phone number format (9 digits).";
             }
+        }
 
-            // Check if emailAddress is in the correct format.
-            if (!emailAddress.isEmpty() && !emailAddress.equals(placeHolderEmail)) {
-                if (!isValidEmailAddress(emailAddress)) {
-                    JOptionPane.showMessageDialog(frame, "Invalid email address format (example@mail.com).", "Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
+        // Check if emailAddress is in the correct format.
+        if (!emailAddress.isEmpty() && !emailAddress.equals(placeHolderEmail)) {
+            if (!EmployeeValidator.isValidEmailAddress(emailAddress)) {
+                return "Invalid email address format (example@mail.com).";
             }
+        }
+        return null;
+    }
 
+    /**
+     * Creates or modifies an employee with validated input data, and switches back to view mode.
+     *
+     * @param name The name.
+     * @param employeeNumber The employee number.
+     * @param hireDate The hire date, the placeholder or empty.
+     * @param phoneNumber The phone number, the placeholder or empty.
+     * @param emailAddress The email address, the placeholder or empty.
+     */
+    private void saveInput(String name, int employeeNumber, String hireDate, String phoneNumber, String emailAddress) {
+        try {
             // Check if other fields are empty or contain placeholder values.
             boolean anyFieldsEmpty = (hireDate.isEmpty() || hireDate.equals(placeHolderDate)) ||
                     (phoneNumber.isEmpty() || phoneNumber.equals(placeHolderPhone)) ||
@@ -726,8 +1114,8 @@ public class ViewController {
                     newEmployee = new EmployeeModel(name, employeeNumber, hireDate, phoneNumber, emailAddress);
                 }
 
-                // Add the new employee to the controller's list.
-                employeeController.add(newEmployee);
+                // Add the new employee to the controller's list, moving it off the heap first if there is a store.
+                employeeController.add(employeeStore == null ? newEmployee : employeeStore.copyOf(newEmployee));
 
                 // Set the current employee node to the newly added employee node.
                 if (currentEmployeeNode == null) {
@@ -741,26 +1129,23 @@ public class ViewController {
                 // Modify the existing employee with the provided input.
                 if (currentEmployeeNode != null) {
                     EmployeeModel selectedEmployee = currentEmployeeNode.getMain();
-                    String modifiedName = nameField.getText().trim();
-                    int modifiedEmployeeNumber = Integer.parseInt(employeeNumberField.getText());
-                    String modifiedHireDate = hireDateField.getText().trim();
-                    String modifiedPhone = phoneField.getText().trim();
-                    String modifiedEmail = emailField.getText().trim();
-
-                    // Update the current employee with the modified data.
-                    if (anyFieldsEmpty) {
-                        selectedEmployee.setName(modifiedName);
-                        selectedEmployee.setEmployeeNumber(modifiedEmployeeNumber);
-                    } else {
-                        selectedEmployee.setName(modifiedName);
-                        selectedEmployee.setEmployeeNumber(modifiedEmployeeNumber);
-                        selectedEmployee.setHireDate(selectedEmployee.createGregorianCalendar(modifiedHireDate));
-                        selectedEmployee.setPhoneNumber(modifiedPhone);
-                        selectedEmployee.setEmailAddress(modifiedEmail);
-                    }
 
-                    // Set the modified employee as the current employee.
+                    // Update the current employee with the modified data through the list controller, so its indexes stay up to date
+                    // (the employee number is checked again before anything changes).
+                    boolean onlyNameAndNumber = anyFieldsEmpty;
+                    employeeController.update(currentEmployeeNode, employeeNumber, employee -> {
+                        employee.setName(name);
+                        employee.setEmployeeNumber(employeeNumber);
+                        if (!onlyNameAndNumber) {
+                            employee.setHireEpochDay(EpochDays.parse(hireDate));
+                            employee.setPhoneNumber(phoneNumber);
+                            employee.setEmailAddress(emailAddress);
+                        }
+                    });
+
+                    // Set the modified employee as the current employee, and drop its outdated card.
                     currentEmployee = selectedEmployee;
+                    cardCache.invalidate(currentEmployeeNode);
 
                     // Informs the user that the modification has been successful via dialog.
                     JOptionPane.showMessageDialog(frame, "Employee modified successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -786,44 +1171,9 @@ public class ViewController {
      * @return True if the employee number already exists; false otherwise.
      */
     private boolean employeeNumberExists(int employeeNumber, EmployeeModel excludedEmployee) {
-        // Iterate through the employees and check if the provided employee number exists, excluding the specified employee.
-        for (ListController<EmployeeModel>.Node<EmployeeModel> node = employeeController.getFirstNode(); node != null; node = node.getNextNode()) {
-            EmployeeModel employee = node.getMain();
-            if (employee.getEmployeeNumber() == employeeNumber && employee != excludedEmployee) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Checks if a date string is in the valid format (DD/MM/YYYY).
-     *
-     * @param date The date string to validate.
-     * @return True if the date is in the correct format; false otherwise.
-     */
-    private boolean isValidDateFormat(String date) {
-        return date.matches("^(0[1-9]|[12][0-9]|3[01])/(0[1-9]|1[0-2])/\\d{4}$");
-    }
-
-    /**
-     * Checks if a phone number string is in the valid format (9 digits).
-     *
-     * @param phoneNumber The phone number string to validate.
-     * @return True if the phone number is in the correct format; false otherwise.
-     */
-    private boolean isValidPhoneNumber(String phoneNumber) {
-        return phoneNumber.matches("^[0-9]{9}$");
-    }
-
-    /**
-     * Checks if an email address string is in the valid format.
-     *
-     * @param emailAddress The email address string to validate.
-     * @return True if the email address is in the correct format; false otherwise.
-     */
-    private boolean isValidEmailAddress(String emailAddress) {
-        return emailAddress.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+        // Look up the employee number in the list's key index, excluding the specified employee.
+        ListController<EmployeeModel>.Node<EmployeeModel> node = employeeController.lookupByKey(employeeNumber);
+        return node != null && node.getMain() != excludedEmployee;
     }
 
     /**
@@ -837,21 +1187,11 @@ public class ViewController {
             return false; // No matching employee since there's no current node
         }
 
-        ListController<EmployeeModel>.Node<EmployeeModel> previousNode = node.getPreviousNode();
-
-        // Iterate through previous employees to find the previous valid one
-        while (previousNode != null) {
-            EmployeeModel previousEmployee = previousNode.getMain();
-
-            // Check if a filter is applied or if the hire date matches the filter
-            if (!isFilterApplied || (previousEmployee.getHireDate() != null && previousEmployee.getHireDate().get(Calendar.YEAR) == 2023)) {
-                return true; // Found a previous valid employee
-            }
-
-            previousNode = previousNode.getPreviousNode();
+        // Without a filter any previous employee is valid; with it, ask the compiled filter.
+        if (!isFilterApplied) {
+            return node.getPreviousNode() != null;
         }
-
-        return false; // No previous matching employee found
+        return activeFilter.previous(node) != null;
     }
 
     /**
@@ -865,44 +1205,46 @@ public class ViewController {
             return false; // No matching employee since there's no current node.
         }
 
-        ListController<EmployeeModel>.Node<EmployeeModel> nextNode = node.getNextNode();
-
-        // Iterate through next employees to find the next valid one.
-        while (nextNode != null) {
-            EmployeeModel nextEmployee = nextNode.getMain();
-
-            // Check if a filter is applied or if the hire date matches the filter.
-            if (!isFilterApplied || (nextEmployee.getHireDate() != null && nextEmployee.getHireDate().get(Calendar.YEAR) == 2023)) {
-                return true; // Found a next valid employee.
-            }
-
-            nextNode = nextNode.getNextNode();
+        // Without a filter any next employee is valid; with it, ask the compiled filter.
+        if (!isFilterApplied) {
+            return node.getNextNode() != null;
         }
-
-        return false; // No next matching employee found.
+        return activeFilter.next(node) != null;
     }
 
     /**
-     * Resets the input fields by reapplying the placeholders to the text fields.
+     * Resets the input fields by showing their placeholders again. Their focus listeners were added once, when the
+     * fields were created, and keep working.
      */
     public void resetFields() {
-        addPlaceholder(nameField, placeHolderName);
-        addPlaceholder(employeeNumberField, placeHolderNumber);
-        addPlaceholder(hireDateField, placeHolderDate);
-        addPlaceholder(phoneField, placeHolderPhone);
-        addPlaceholder(emailField, placeHolderEmail);
+        showPlaceholder(nameField, placeHolderName);
+        showPlaceholder(employeeNumberField, placeHolderNumber);
+        showPlaceholder(hireDateField, placeHolderDate);
+        showPlaceholder(phoneField, placeHolderPhone);
+        showPlaceholder(emailField, placeHolderEmail);
     }
 
     /**
-     * Adds a placeholder to a JTextField by setting its initial text and text color.
+     * Shows a placeholder in a JTextField by setting its text and text color.
+     *
+     * @param field The JTextField in which the placeholder is shown.
+     * @param placeholder The text to be used as a placeholder.
+     */
+    public void showPlaceholder(JTextField field, String placeholder) {
+        field.setText(placeholder);
+        field.setForeground(Color.GRAY);
+    }
+
+    /**
+     * Adds a placeholder to a JTextField by setting its initial text and text color, and a FocusListener that clears it
+     * while the field has the focus. It must be called only once per field (see createLimitedTextField).
      *
      * @param field The JTextField to which the placeholder is added.
      * @param placeholder The text to be used as a placeholder.
      */
     public void addPlaceholder(JTextField field, String placeholder) {
         // Set the initial text and text color for the placeholder.
-        field.setText(placeholder);
-        field.setForeground(Color.GRAY);
+        showPlaceholder(field, placeholder);
 
         // Add a FocusListener to handle placeholder behavior.
         field.addFocusListener(new FocusListener() {
@@ -1004,10 +1346,19 @@ public class ViewController {
         this.createButton = view.getCreateButton();
         this.modifyButton = view.getModifyButton();
         this.filterButton = view.getFilterButton();
+        this.tableButton = view.getTableButton();
+        this.importButton = view.getImportButton();
+        this.exportButton = view.getExportButton();
+        this.acceptButton = view.getAcceptButton();
+        this.cancelButton = view.getCancelButton();
         this.isFilterApplied = view.isFilterApplied();
         this.viewMode = view.getViewMode();
         this.creationMode = view.getCreationMode();
+        this.modePanel = view.getModePanel();
+        this.viewContent = view.getViewContent();
         this.viewScrollPane = view.getViewScrollPane();
+        this.employeeTableModel = view.getEmployeeTableModel();
+        this.employeeTable = view.getEmployeeTable();
         this.currentMode = view.getCurrentMode();
         this.frame = view.getFrame();
     }
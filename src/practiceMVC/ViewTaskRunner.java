@@ -0,0 +1,273 @@
+package practiceMVC;
+
+// For publishing the results on the Event Dispatch Thread.
+import javax.swing.SwingUtilities;
+// For the worker thread.
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs the heavy work of the view (scanning the list, validating input) on a background thread, so the Event Dispatch
+ * Thread keeps painting and handling input meanwhile, and publishes the results back on the Event Dispatch Thread.
+ *
+ * Every task has a key naming what it computes (e.g. "filter"). Submitting a task cancels the previous task with the
+ * same key: the stale task stops as soon as it checks Task.isCancelled (or doesn't start at all), and its result is
+ * never published. Actions scheduled on the Event Dispatch Thread through invokeLaterOnce are coalesced the same way,
+ * so a burst of requests (e.g. the user hammering Next) is handled once, with the latest one.
+ *
+ * Tasks run one after another on a single thread, so they never race with each other. They may only read the model:
+ * the list is modified on the Event Dispatch Thread, and only while isBusy is false (the view disables the actions
+ * that modify it while a task runs; the runner tells it when that changes). The runner itself, except for the work of
+ * the tasks, must only be used on the Event Dispatch Thread.
+ */
+public class ViewTaskRunner implements Closeable {
+    /**
+     * Work run on the background thread.
+     *
+     * @param <T> The type of the result.
+     */
+    public interface Work<T> {
+        /**
+         * Does the work. Long work should check task.isCancelled from time to time and give up when it's true.
+         *
+         * @param task The task running the work.
+         * @return The result, published on the Event Dispatch Thread unless the task has been cancelled.
+         * @throws Exception If the work fails. The failure is published like a result.
+         */
+        T run(Task task) throws Exception;
+    }
+
+    /**
+     * The latest task submitted with each key, until its result is published or it is cancelled.
+     */
+    private final Map<String, Task> latestTasks = new HashMap<>();
+
+    /**
+     * The latest action scheduled with each key, until it runs.
+     */
+    private final Map<String, Runnable> scheduledActions = new HashMap<>();
+
+    /**
+     * The background thread. It is a daemon thread, so it doesn't keep the application running.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "view-tasks");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Called on the Event Dispatch Thread whenever isBusy changes.
+     */
+    private final Runnable busyListener;
+
+    /**
+     * Number of submitted tasks that haven't finished on the background thread yet, cancelled ones included: a
+     * cancelled task may still be reading the model until it notices it.
+     */
+    private int unfinishedTasks;
+
+    /**
+     * Number of results (or failures) of cancelled tasks that were dropped (DEBUGGING PURPOSES).
+     */
+    private long discardedCount;
+
+    /**
+     * Number of actions that were replaced by a later one before running (DEBUGGING PURPOSES).
+     */
+    private long coalescedCount;
+
+    /**
+     * Creates a runner and its background thread.
+     *
+     * @param busyListener Called on the Event Dispatch Thread whenever isBusy changes, e.g. to enable or disable the
+     *                     actions that modify the model.
+     */
+    public ViewTaskRunner(Runnable busyListener) {
+        this.busyListener = busyListener;
+    }
+
+    /**
+     * Runs some work on the background thread, cancelling the previous task with the same key.
+     * Only the result of the latest task of each key is published, on the Event Dispatch Thread.
+     *
+     * @param key What the work computes.
+     * @param work The work, which may only read the model.
+     * @param onSuccess Receives the result on the Event Dispatch Thread.
+     * @param onFailure Receives the exception thrown by the work on the Event Dispatch Thread.
+     * @param <T> The type of the result.
+     * @return The task, which can be cancelled.
+     */
+    public <T> Task submit(String key, Work<T> work, Consumer<? super T> onSuccess, Consumer<? super Exception> onFailure) {
+        cancel(key);
+        Task task = new Task(key);
+        latestTasks.put(key, task);
+        if (unfinishedTasks++ == 0) {
+            busyListener.run();
+        }
+
+        executor.execute(() -> {
+            Runnable publication = null;
+            if (!task.isCancelled()) {
+                try {
+                    T result = work.run(task);
+                    publication = () -> onSuccess.accept(result);
+                } catch (Exception e) {
+                    publication = () -> onFailure.accept(e);
+                }
+            }
+            Runnable finalPublication = publication;
+            SwingUtilities.invokeLater(() -> finish(task, finalPublication));
+        });
+        return task;
+    }
+
+    /**
+     * Publishes the result of a task that has finished on the background thread, unless the task has been cancelled.
+     *
+     * @param task The task.
+     * @param publication Publishes its result or failure, or null if the task didn't run.
+     */
+    private void finish(Task task, Runnable publication) {
+        // The task no longer reads the model, so its result may already modify it.
+        if (--unfinishedTasks == 0) {
+            busyListener.run();
+        }
+        if (latestTasks.remove(task.getKey(), task) && !task.isCancelled()) {
+            publication.run();
+        } else {
+            discardedCount++;
+        }
+    }
+
+    /**
+     * Cancels the latest task with a key, if it hasn't published its result yet.
+     *
+     * @param key What the task computes.
+     */
+    public void cancel(String key) {
+        Task task = latestTasks.remove(key);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Checks if a task with a key is waiting for its result to be published.
+     *
+     * @param key What the task computes.
+     * @return True if the latest task with that key hasn't been published nor cancelled.
+     */
+    public boolean isPending(String key) {
+        return latestTasks.containsKey(key);
+    }
+
+    /**
+     * Checks if some task (even a cancelled one) may still be reading the model on the background thread.
+     * The model must not be modified meanwhile.
+     *
+     * @return True if some task hasn't finished yet.
+     */
+    public boolean isBusy() {
+        return unfinishedTasks > 0;
+    }
+
+    /**
+     * Runs an action later on the Event Dispatch Thread, once the events already queued have been handled. If an
+     * action with the same key is already scheduled, it is replaced by this one, so a burst of requests runs only the
+     * latest one.
+     *
+     * @param key What the action does.
+     * @param action The action.
+     */
+    public void invokeLaterOnce(String key, Runnable action) {
+        if (scheduledActions.put(key, action) != null) {
+            coalescedCount++;
+        } else {
+            SwingUtilities.invokeLater(() -> scheduledActions.remove(key).run());
+        }
+    }
+
+    /**
+     * Gets the number of results of cancelled tasks that were dropped (DEBUGGING PURPOSES).
+     *
+     * @return The number of discarded results.
+     */
+    public long getDiscardedCount() {
+        return discardedCount;
+    }
+
+    /**
+     * Gets the number of actions that were replaced by a later one before running (DEBUGGING PURPOSES).
+     *
+     * @return The number of coalesced actions.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Cancels every task and stops the background thread. The runner cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        for (Task task : latestTasks.values()) {
+            task.cancel();
+        }
+        latestTasks.clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * A task submitted to the runner.
+     */
+    public static final class Task {
+        /**
+         * What the task computes.
+         */
+        private final String key;
+
+        /**
+         * Whether the task has been cancelled. Written on the Event Dispatch Thread and read by the work.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Initializes a task.
+         *
+         * @param key What the task computes.
+         */
+        private Task(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Gets what the task computes.
+         *
+         * @return The key of the task.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Cancels the task: its work should stop as soon as possible, and its result won't be published.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Checks if the task has been cancelled.
+         *
+         * @return True if its work should stop.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
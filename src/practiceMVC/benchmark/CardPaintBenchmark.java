@@ -0,0 +1,219 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.EmployeeCardComponent;
+import practiceMVC.EmployeeModel;
+import practiceMVC.ViewController;
+
+// For painting off screen, as the view does.
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.text.View;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+// For the timings.
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Measures the cost of one navigation (Next/Back) in the view mode: showing the card of another employee and painting
+ * it, with the HTML label the view used to have and with EmployeeCardComponent.
+ * - HTML label: setText with the HTML text of the card, which Swing parses into new views, then a paint.
+ * - HTML label, parsed views: the views of every card parsed beforehand (as an EmployeeCardCache of HTML cards would
+ *   keep them), only painted.
+ * - Painted card: the card rendered (laid out) and shown, then a paint.
+ * - Painted card, cached: the cards rendered beforehand, only shown and painted.
+ * - Painted card, one value: two cards differing in a single value shown alternately, painting only the area the
+ *   component asked to repaint (as the RepaintManager would).
+ * Everything runs on the Event Dispatch Thread and paints into an off-screen image, so no display is needed.
+ *
+ * Run it with: java -cp out practiceMVC.benchmark.CardPaintBenchmark [navigations]
+ */
+public class CardPaintBenchmark {
+    /**
+     * Default number of navigations per measured iteration.
+     */
+    private static final int DEFAULT_NAVIGATIONS = 2_000;
+
+    /**
+     * Number of distinct employees navigated through.
+     */
+    private static final int EMPLOYEES = 64;
+
+    /**
+     * Size of the painted area, about the center of the default window.
+     */
+    private static final int WIDTH = 480, HEIGHT = 220;
+
+    /**
+     * Number of iterations run (and discarded) before measuring, so the JIT compiler has done its work.
+     */
+    private static final int WARMUP_ITERATIONS = 3;
+
+    /**
+     * Number of measured iterations.
+     */
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    /**
+     * Off-screen image painted into.
+     */
+    private static final BufferedImage IMAGE = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+    /**
+     * Shows the card of an employee in a component.
+     */
+    private interface Navigation {
+        /**
+         * Shows the card of an employee.
+         *
+         * @param index The index of the employee.
+         * @return The area of the component to paint.
+         */
+        Rectangle show(int index);
+    }
+
+    /**
+     * This class is only run through its main method.
+     */
+    private CardPaintBenchmark() {
+    }
+
+    /**
+     * Runs every measurement and prints the time per navigation.
+     *
+     * @param args Optional number of navigations per measured iteration.
+     * @throws Exception If the measurements can't be run on the Event Dispatch Thread.
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int navigations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NAVIGATIONS;
+        SwingUtilities.invokeAndWait(() -> runAll(navigations));
+    }
+
+    /**
+     * Runs every measurement.
+     *
+     * @param navigations The number of navigations per measured iteration.
+     */
+    private static void runAll(int navigations) {
+        try {
+            // Same look and feel as the application.
+            UIManager.setLookAndFeel("javax.swing.plaf.nimbus.NimbusLookAndFeel");
+        } catch (Exception e) {
+            System.out.println("Nimbus isn't available, measuring with the default look and feel.");
+        }
+        EmployeeModel[] employees = new EmployeeModel[EMPLOYEES];
+        String[] html = new String[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees[i] = i % 4 == 3
+                    ? new EmployeeModel("Employee " + i + " Garcia", 10_000 + i)
+                    : new EmployeeModel("Employee " + i + " Garcia", 10_000 + i, "15/06/2023", "6000000" + (10 + i), "employee" + i + "@mail.com");
+            html[i] = ViewController.buildEmployeeLabel(employees[i], i + 1, EMPLOYEES);
+        }
+        System.out.printf(Locale.ROOT, "%-32s %14s %14s%n", "Navigation", "Best us/op", "Median us/op");
+        Rectangle whole = new Rectangle(0, 0, WIDTH, HEIGHT);
+
+        // The HTML label, parsing every card.
+        JLabel label = new JLabel();
+        label.setHorizontalAlignment(JLabel.CENTER);
+        label.setSize(WIDTH, HEIGHT);
+        measure("HTML label", label, navigations, index -> {
+            label.setText(html[index]);
+            return whole;
+        });
+
+        // The HTML label, with every card parsed beforehand.
+        View[] views = new View[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            views[i] = BasicHTML.createHTMLView(label, html[i]);
+        }
+        measure("HTML label, parsed views", label, navigations, index -> {
+            label.putClientProperty(BasicHTML.propertyKey, views[index]);
+            return whole;
+        });
+
+        // The painted card, rendering every card.
+        Rectangle dirty = new Rectangle();
+        EmployeeCardComponent component = new EmployeeCardComponent() {
+            @Override
+            public void repaint(long time, int x, int y, int width, int height) {
+                // Record the area the RepaintManager would be asked to paint.
+                Rectangle area = new Rectangle(x, y, width, height);
+                if (dirty.isEmpty()) {
+                    dirty.setBounds(area);
+                } else {
+                    dirty.add(area);
+                }
+            }
+        };
+        component.setSize(WIDTH, HEIGHT);
+        measure("Painted card", component, navigations, index -> {
+            component.showCard(component.render(employees[index], index + 1, EMPLOYEES));
+            return whole;
+        });
+
+        // The painted card, with every card rendered beforehand.
+        EmployeeCardComponent.Card[] cards = new EmployeeCardComponent.Card[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            cards[i] = component.render(employees[i], i + 1, EMPLOYEES);
+        }
+        measure("Painted card, cached", component, navigations, index -> {
+            component.showCard(cards[index]);
+            return whole;
+        });
+
+        // The painted card, alternating between two versions of an employee that only differ in the phone number.
+        EmployeeModel modified = new EmployeeModel(employees[0].getName(), employees[0].getEmployeeNumber(), "15/06/2023", "699999999", employees[0].getEmailAddress());
+        EmployeeCardComponent.Card[] versions = {cards[0], component.render(modified, 1, EMPLOYEES)};
+        measure("Painted card, one value", component, navigations, index -> {
+            dirty.setBounds(0, 0, 0, 0);
+            component.showCard(versions[index % 2]);
+            return new Rectangle(dirty);
+        });
+    }
+
+    /**
+     * Measures a navigation: warms it up, then prints the best and median time per navigation.
+     *
+     * @param name The name of the measurement.
+     * @param component The component showing the cards.
+     * @param navigations The number of navigations per measured iteration.
+     * @param navigation Shows a card in the component.
+     */
+    private static void measure(String name, JComponent component, int navigations, Navigation navigation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runOnce(component, navigations, navigation);
+        }
+        double[] microsPerNavigation = new double[MEASUREMENT_ITERATIONS];
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            microsPerNavigation[i] = runOnce(component, navigations, navigation);
+        }
+        Arrays.sort(microsPerNavigation);
+        System.out.printf(Locale.ROOT, "%-32s %14.1f %14.1f%n", name, microsPerNavigation[0], microsPerNavigation[MEASUREMENT_ITERATIONS / 2]);
+    }
+
+    /**
+     * Runs one iteration of navigations, painting after each one.
+     *
+     * @param component The component showing the cards.
+     * @param navigations The number of navigations.
+     * @param navigation Shows a card in the component.
+     * @return The time per navigation, in microseconds.
+     */
+    private static double runOnce(JComponent component, int navigations, Navigation navigation) {
+        long start = System.nanoTime();
+        for (int i = 0; i < navigations; i++) {
+            Rectangle area = navigation.show(i % EMPLOYEES);
+            Graphics2D g = IMAGE.createGraphics();
+            g.clipRect(area.x, area.y, area.width, area.height);
+            component.paint(g);
+            g.dispose();
+        }
+        return (System.nanoTime() - start) / 1_000.0 / navigations;
+    }
+}
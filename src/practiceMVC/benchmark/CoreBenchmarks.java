@@ -0,0 +1,356 @@
+package practiceMVC.benchmark;
+
+// For the classes being measured.
+import practiceMVC.CompiledFilter;
+import practiceMVC.EmployeeFilter;
+import practiceMVC.EmployeeModel;
+import practiceMVC.EmployeeValidator;
+import practiceMVC.EpochDays;
+import practiceMVC.HireDateIndex;
+import practiceMVC.ListController;
+import practiceMVC.ViewController;
+
+// For collecting the sampled nodes and sorting the timings.
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Micro-benchmarks for the core data paths of the application: ListController add/remove/getPosition, the employee
+ * number check of the form, filtered Next/Back traversal, the label building of the view mode and EmployeeModel
+ * construction.
+ * Every benchmark runs over a synthetic roster of a given size, without creating any window, so it also works on a
+ * machine without a display. Each one is warmed up first and then measured several times, and the fastest and median
+ * times per operation are reported, in the spirit of JMH (which this project can't depend on, as it has no build file).
+ * Run it with the sizes as arguments (by default 10^3 to 10^7). Sizes that don't fit in the heap are skipped, so run it
+ * with a larger -Xmx to measure 10^7 employees.
+ */
+public final class CoreBenchmarks {
+    /**
+     * Roster sizes measured when none are given.
+     */
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+
+    /**
+     * Number of iterations run (and discarded) before measuring, so the JIT compiler has done its work.
+     */
+    private static final int WARMUP_ITERATIONS = 3;
+
+    /**
+     * Number of measured iterations.
+     */
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    /**
+     * Number of operations per iteration of the benchmarks whose cost doesn't depend on how many operations are done.
+     */
+    private static final int OPERATIONS_PER_ITERATION = 200_000;
+
+    /**
+     * Number of distinct nodes sampled for the random-access benchmarks.
+     */
+    private static final int SAMPLED_NODES = 4_096;
+
+    /**
+     * Rough number of heap bytes needed per employee (the employee, its strings, its node and its index entries),
+     * counting the copy built by the add benchmark.
+     */
+    private static final long BYTES_PER_EMPLOYEE = 700;
+
+    /**
+     * First names used to build the synthetic roster.
+     */
+    private static final String[] FIRST_NAMES = {"Alice", "Bruno", "Carmen", "David", "Elena", "Farid", "Greta", "Hugo",
+            "Irene", "Jorge", "Karin", "Luis", "Marta", "Nico", "Olga", "Pablo"};
+
+    /**
+     * Last names used to build the synthetic roster.
+     */
+    private static final String[] LAST_NAMES = {"Garcia", "Smith", "Muller", "Rossi", "Dubois", "Silva", "Novak", "Jensen",
+            "Kowalski", "Ortega", "Nakamura", "Fischer", "Moreno", "Lopez", "Berg", "Costa"};
+
+    /**
+     * Email domains used to build the synthetic roster.
+     */
+    private static final String[] EMAIL_DOMAINS = {"mail.com", "company.org", "example.net", "work.es"};
+
+    /**
+     * Sink for the results of the measured code, so that the JIT compiler can't discard it as unused.
+     */
+    private static long blackhole;
+
+    /**
+     * This class is only run through its main method.
+     */
+    private CoreBenchmarks() {
+    }
+
+    /**
+     * Runs every benchmark for every size.
+     *
+     * @param args The roster sizes to measure (optional).
+     */
+    public static void main(String[] args) {
+        // No window is ever created, but make sure Swing never tries to reach a display.
+        System.setProperty("java.awt.headless", "true");
+
+        int[] sizes = args.length == 0 ? DEFAULT_SIZES : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.printf(Locale.ROOT, "%-28s %10s %14s %14s%n", "Benchmark", "Size", "Best ns/op", "Median ns/op");
+        for (int size : sizes) {
+            if (size * BYTES_PER_EMPLOYEE > Runtime.getRuntime().maxMemory()) {
+                System.out.printf(Locale.ROOT, "Skipping size %d: it needs a larger heap (-Xmx).%n", size);
+                continue;
+            }
+            runAll(size);
+        }
+        // Print the sink so the measured results are really used.
+        System.out.println("(checksum " + blackhole + ")");
+    }
+
+    /**
+     * Runs every benchmark over a roster of a given size.
+     *
+     * @param size The number of employees in the roster.
+     */
+    private static void runAll(int size) {
+        EmployeeModel[] roster = createRoster(size, new Random(42));
+        ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        for (EmployeeModel employee : roster) {
+            employeeController.add(employee);
+        }
+        Random random = new Random(7);
+
+        // ListController.add: build the whole list from scratch.
+        measure("ListController.add", size, () -> {
+            ListController<EmployeeModel> list = new ListController<>(EmployeeModel::getEmployeeNumber);
+            for (EmployeeModel employee : roster) {
+                list.add(employee);
+            }
+            blackhole += list.getTotalElements();
+            return roster.length;
+        });
+
+        // ListController.removeNode: remove random employees, then add them back (untimed) to keep the size.
+        measure("ListController.removeNode", size, new Benchmark() {
+            /**
+             * The nodes to remove in the next iteration.
+             */
+            private List<ListController<EmployeeModel>.Node<EmployeeModel>> nodes;
+
+            @Override
+            public void setUp() {
+                nodes = sampleNodes(employeeController, Math.min(SAMPLED_NODES, size / 2), random);
+            }
+
+            @Override
+            public long run() {
+                for (ListController<EmployeeModel>.Node<EmployeeModel> node : nodes) {
+                    employeeController.removeNode(node);
+                }
+                return nodes.size();
+            }
+
+            @Override
+            public void tearDown() {
+                for (ListController<EmployeeModel>.Node<EmployeeModel> node : nodes) {
+                    employeeController.add(node.getMain());
+                }
+            }
+        });
+
+        // ListController.getPosition: position of random nodes, as the view mode header needs.
+        List<ListController<EmployeeModel>.Node<EmployeeModel>> sample = sampleNodes(employeeController, Math.min(SAMPLED_NODES, size), random);
+        measure("ListController.getPosition", size, () -> {
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+                sum += employeeController.getPosition(sample.get(i % sample.size()));
+            }
+            blackhole += sum;
+            return OPERATIONS_PER_ITERATION;
+        });
+
+        // employeeNumberExists: the form's check is a key lookup. Roster numbers are odd, so half the lookups miss.
+        measure("employeeNumberExists", size, () -> {
+            long found = 0;
+            for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+                int employeeNumber = 1 + (int) ((i * 2654435761L) % (2L * size));
+                if (employeeController.lookupByKey(employeeNumber) != null) {
+                    found++;
+                }
+            }
+            blackhole += found;
+            return OPERATIONS_PER_ITERATION;
+        });
+
+        // Filtered Next/Back: walk every employee hired in 2023 forwards and then backwards.
+        HireDateIndex hireDateIndex = new HireDateIndex(employeeController);
+        CompiledFilter filter = new CompiledFilter(EmployeeFilter.hiredBetweenYears(2023, 2023), employeeController, hireDateIndex);
+        measure("Filtered Next/Back", size, () -> {
+            long steps = 0;
+            for (ListController<EmployeeModel>.Node<EmployeeModel> node = filter.first(); node != null; node = filter.next(node)) {
+                steps++;
+            }
+            for (ListController<EmployeeModel>.Node<EmployeeModel> node = filter.last(); node != null; node = filter.previous(node)) {
+                steps++;
+            }
+            blackhole += steps;
+            return Math.max(steps, 1);
+        });
+        filter.close();
+        hireDateIndex.close();
+
+        // displayCurrentEmployee: position lookup plus the HTML label of random employees.
+        measure("displayCurrentEmployee label", size, () -> {
+            long length = 0;
+            int totalEmployees = employeeController.getTotalElements();
+            for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+                ListController<EmployeeModel>.Node<EmployeeModel> node = sample.get(i % sample.size());
+                int position = employeeController.getPosition(node) + 1;
+                length += ViewController.buildEmployeeLabel(node.getMain(), position, totalEmployees).length();
+            }
+            blackhole += length;
+            return OPERATIONS_PER_ITERATION;
+        });
+
+        // EmployeeModel construction: parse the same text fields the form and the sample data provide.
+        String[] sampleDates = new String[sample.size()];
+        for (int i = 0; i < sampleDates.length; i++) {
+            sampleDates[i] = EpochDays.format(sample.get(i).getMain().getHireEpochDay());
+        }
+        measure("EmployeeModel construction", size, () -> {
+            long sum = 0;
+            for (int i = 0; i < OPERATIONS_PER_ITERATION; i++) {
+                EmployeeModel source = sample.get(i % sample.size()).getMain();
+                EmployeeModel employee = new EmployeeModel(source.getName(), i, sampleDates[i % sampleDates.length],
+                        source.getPhoneNumber(), source.getEmailAddress());
+                sum += employee.getHireEpochDay();
+            }
+            blackhole += sum;
+            return OPERATIONS_PER_ITERATION;
+        });
+
+        // Row validation: the rules of the form and the importer, over text rows of the sample.
+        List<String[]> rows = new ArrayList<>(sample.size());
+        for (int i = 0; i < sample.size(); i++) {
+            EmployeeModel source = sample.get(i).getMain();
+            rows.add(new String[]{source.getName(), String.valueOf(source.getEmployeeNumber()), sampleDates[i], source.getPhoneNumber(), source.getEmailAddress()});
+        }
+        measure("EmployeeValidator batch", size, () -> {
+            long valid = 0;
+            for (EmployeeValidator.Problem problem : EmployeeValidator.validateBatch(rows)) {
+                valid += problem == EmployeeValidator.Problem.VALID ? 1 : 0;
+            }
+            blackhole += valid;
+            return rows.size();
+        });
+    }
+
+    /**
+     * Warms up and measures a benchmark, then prints its fastest and median time per operation.
+     *
+     * @param name The name of the benchmark.
+     * @param size The roster size it runs over.
+     * @param benchmark The benchmark.
+     */
+    private static void measure(String name, int size, Benchmark benchmark) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runOnce(benchmark);
+        }
+        double[] nanosPerOperation = new double[MEASUREMENT_ITERATIONS];
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            nanosPerOperation[i] = runOnce(benchmark);
+        }
+        Arrays.sort(nanosPerOperation);
+        System.out.printf(Locale.ROOT, "%-28s %10d %14.1f %14.1f%n", name, size, nanosPerOperation[0], nanosPerOperation[MEASUREMENT_ITERATIONS / 2]);
+    }
+
+    /**
+     * Runs one iteration of a benchmark, timing only its run method.
+     *
+     * @param benchmark The benchmark.
+     * @return The time per operation, in nanoseconds.
+     */
+    private static double runOnce(Benchmark benchmark) {
+        benchmark.setUp();
+        long start = System.nanoTime();
+        long operations = benchmark.run();
+        long elapsed = System.nanoTime() - start;
+        benchmark.tearDown();
+        return (double) elapsed / operations;
+    }
+
+    /**
+     * Creates a synthetic roster of employees with unique (odd) employee numbers, hire dates spread uniformly over
+     * 2000 to 2023, and some missing phones and emails, like the data the form accepts.
+     *
+     * @param size The number of employees.
+     * @param random The source of randomness (seeded, so every run measures the same roster).
+     * @return The employees.
+     */
+    private static EmployeeModel[] createRoster(int size, Random random) {
+        // Share the name strings, as a real roster repeats names too.
+        String[] names = new String[FIRST_NAMES.length * LAST_NAMES.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = FIRST_NAMES[i / LAST_NAMES.length] + " " + LAST_NAMES[i % LAST_NAMES.length];
+        }
+
+        EmployeeModel[] roster = new EmployeeModel[size];
+        StringBuilder date = new StringBuilder(10);
+        for (int i = 0; i < size; i++) {
+            String name = names[random.nextInt(names.length)];
+            date.setLength(0);
+            int day = 1 + random.nextInt(28);
+            int month = 1 + random.nextInt(12);
+            date.append(day < 10 ? "0" : "").append(day).append('/').append(month < 10 ? "0" : "").append(month).append('/').append(2000 + random.nextInt(24));
+            // About one in ten employees has no phone, and one in twenty no email.
+            String phone = random.nextInt(10) == 0 ? "" : String.valueOf(600_000_000 + random.nextInt(100_000_000));
+            String email = random.nextInt(20) == 0 ? "" : "employee" + i + "@" + EMAIL_DOMAINS[random.nextInt(EMAIL_DOMAINS.length)];
+            roster[i] = new EmployeeModel(name, 2 * i + 1, date.toString(), phone, email);
+        }
+        return roster;
+    }
+
+    /**
+     * Picks distinct random nodes of a list.
+     *
+     * @param employeeController The list.
+     * @param count The number of nodes to pick (at most the size of the list).
+     * @param random The source of randomness.
+     * @return The picked nodes, in the order they were picked.
+     */
+    private static List<ListController<EmployeeModel>.Node<EmployeeModel>> sampleNodes(ListController<EmployeeModel> employeeController, int count, Random random) {
+        Set<ListController<EmployeeModel>.Node<EmployeeModel>> nodes = new LinkedHashSet<>();
+        while (nodes.size() < count) {
+            nodes.add(employeeController.getNode(random.nextInt(employeeController.getTotalElements())));
+        }
+        return new ArrayList<>(nodes);
+    }
+
+    /**
+     * A measured piece of code. Only run is timed; setUp and tearDown prepare and restore its data.
+     */
+    private interface Benchmark {
+        /**
+         * Prepares the data of the next iteration.
+         */
+        default void setUp() {
+        }
+
+        /**
+         * Runs one iteration.
+         *
+         * @return The number of operations done.
+         */
+        long run();
+
+        /**
+         * Restores the data after an iteration.
+         */
+        default void tearDown() {
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.EmployeeCsvImporter;
+import practiceMVC.EmployeeExporter;
+import practiceMVC.EmployeeModel;
+import practiceMVC.ListController;
+
+// For measuring the memory allocated by the export.
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+// For the temporary files.
+import java.nio.file.Files;
+import java.nio.file.Path;
+// For the workload.
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Measures how fast EmployeeExporter writes a synthetic roster to CSV and JSON, as the Export action of the view does,
+ * and how much memory it allocates per employee (the text of each employee is encoded straight into the buffer of the
+ * exporter, so this is what reading the fields of an employee costs). The CSV file is then imported back with
+ * EmployeeCsvImporter to check that every employee survives the round trip.
+ *
+ * Run it with the heap the application would have, for example:
+ * java -Xmx2g -cp out practiceMVC.benchmark.ExportBenchmark [employees] [rounds]
+ */
+public class ExportBenchmark {
+    /**
+     * Default number of employees of the roster.
+     */
+    private static final int DEFAULT_SIZE = 1_000_000;
+
+    /**
+     * Default number of exports measured per format.
+     */
+    private static final int DEFAULT_ROUNDS = 5;
+
+    /**
+     * This class only offers static methods.
+     */
+    private ExportBenchmark() {
+    }
+
+    /**
+     * Builds a synthetic roster, exports it in both formats and prints the measurements.
+     *
+     * @param args Optional number of employees and number of rounds.
+     * @throws Exception If a file can't be written or read.
+     */
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        ListController<EmployeeModel> employeeController = buildRoster(size);
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Path directory = Files.createTempDirectory("export-benchmark");
+        Path file = directory.resolve("employees.out");
+        try {
+            System.out.printf(Locale.ROOT, "%-6s %10s %12s %10s %16s%n", "Format", "Employees", "Export ms", "MB/s", "Bytes/employee");
+            for (int round = 0; round < rounds; round++) {
+                for (EmployeeExporter.Format format : EmployeeExporter.Format.values()) {
+                    System.gc();
+                    EmployeeExporter exporter = new EmployeeExporter(format);
+                    long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                    long start = System.nanoTime();
+                    int exported = exporter.export(employeeController, file, null, null);
+                    long elapsed = System.nanoTime() - start;
+                    long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                    if (exported != size) {
+                        throw new IllegalStateException("Exported " + exported + " employees instead of " + size + ".");
+                    }
+                    System.out.printf(Locale.ROOT, "%-6s %10d %12.1f %10.1f %16.1f%n", format, exported, elapsed / 1e6,
+                            Files.size(file) / 1e6 / (elapsed / 1e9), (double) allocated / size);
+                }
+            }
+
+            // Check the round trip of the CSV format.
+            new EmployeeExporter(EmployeeExporter.Format.CSV).export(employeeController, file, null, null);
+            ListController<EmployeeModel> imported = new ListController<>(EmployeeModel::getEmployeeNumber);
+            EmployeeCsvImporter.Result result = new EmployeeCsvImporter().importFile(file, imported);
+            if (result.getImportedCount() != size || result.getErrorCount() != 0) {
+                throw new IllegalStateException("Round trip: " + result.getImportedCount() + " imported, " + result.getErrors());
+            }
+            System.out.println("CSV round trip: " + result.getImportedCount() + " employees imported back.");
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Builds a synthetic roster with every field filled in.
+     *
+     * @param size The number of employees.
+     * @return The list of employees.
+     */
+    private static ListController<EmployeeModel> buildRoster(int size) {
+        Random random = new Random(42);
+        List<EmployeeModel> employees = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            EmployeeModel employee = new EmployeeModel("Employee " + (char) ('A' + i % 26) + (char) ('a' + i % 23), i);
+            employee.setHireEpochDay(random.nextInt(20_000));
+            employee.setPhoneNumber("6" + (10_000_000 + random.nextInt(89_999_999)));
+            employee.setEmailAddress("employee" + i + "@example.com");
+            employees.add(employee);
+        }
+        ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        employeeController.addAll(employees);
+        return employeeController;
+    }
+}
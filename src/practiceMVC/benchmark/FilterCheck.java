@@ -0,0 +1,81 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.EmployeeDictionary;
+import practiceMVC.EmployeeFilter;
+import practiceMVC.EmployeeModel;
+
+/**
+ * Checks the combinations of EmployeeFilter conditions the filter dialog can compose: conditions without hire dates
+ * combined with each other (which must not require a hire date), and with hire-date conditions (which must keep their
+ * bounds), as well as domain conditions on domains that no employee has yet. It fails with an AssertionError on the
+ * first wrong result.
+ *
+ * Run it with: java -cp out practiceMVC.benchmark.FilterCheck
+ */
+public class FilterCheck {
+    /**
+     * This class is only run through its main method.
+     */
+    private FilterCheck() {
+    }
+
+    /**
+     * Runs every check.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        EmployeeModel complete = new EmployeeModel("Ana Garcia", 1, "15/06/2023", "600000000", "ana@mail.com");
+        EmployeeModel withoutPhone = new EmployeeModel("Anton Perez", 2, "15/06/2021", "", "anton@mail.com");
+        EmployeeModel other = new EmployeeModel("Luis Gomez", 3, "15/06/2023", "", "luis@other.com");
+
+        // Conditions without hire dates, combined with each other.
+        EmployeeFilter domainAndName = EmployeeFilter.emailDomain("mail.com").and(EmployeeFilter.namePrefix("An"));
+        check(domainAndName.getFromEpochDay() == null && domainAndName.getToEpochDay() == null, "domain and name require no hire date");
+        check(domainAndName.test(complete) && domainAndName.test(withoutPhone) && !domainAndName.test(other), "domain and name");
+
+        EmployeeFilter nameAndPhone = EmployeeFilter.namePrefix("An").and(EmployeeFilter.missingPhone());
+        check(nameAndPhone.getFromEpochDay() == null, "name and missing phone require no hire date");
+        check(!nameAndPhone.test(complete) && nameAndPhone.test(withoutPhone) && !nameAndPhone.test(other), "name and missing phone");
+
+        EmployeeFilter domainAndPhone = EmployeeFilter.emailDomain("other.com").and(EmployeeFilter.missingPhone());
+        check(domainAndPhone.getFromEpochDay() == null, "domain and missing phone require no hire date");
+        check(!domainAndPhone.test(complete) && !domainAndPhone.test(withoutPhone) && domainAndPhone.test(other), "domain and missing phone");
+
+        // A domain no employee has doesn't match employees without a domain, isn't registered, and is found once added.
+        EmployeeModel withoutEmail = new EmployeeModel("Eva Ruiz", 4);
+        EmployeeFilter unknownDomain = EmployeeFilter.emailDomain("unknown-domain.example");
+        check(!unknownDomain.test(complete) && !unknownDomain.test(withoutEmail), "unknown domain matches nobody");
+        check(EmployeeDictionary.findDomain("unknown-domain.example") == null, "unknown domain not registered");
+        EmployeeModel later = new EmployeeModel("Raul Diaz", 5, "15/06/2023", "", "raul@Unknown-Domain.example");
+        check(unknownDomain.test(later), "domain added after the filter");
+
+        // Hire-date conditions keep their bounds, on either side, and intersect them with each other.
+        EmployeeFilter hired2023 = EmployeeFilter.hiredBetweenYears(2023, 2023);
+        EmployeeFilter leftBounds = hired2023.and(EmployeeFilter.missingPhone());
+        EmployeeFilter rightBounds = EmployeeFilter.missingPhone().and(hired2023);
+        check(hired2023.getFromEpochDay().equals(leftBounds.getFromEpochDay()) && hired2023.getToEpochDay().equals(leftBounds.getToEpochDay()), "bounds kept on the left");
+        check(hired2023.getFromEpochDay().equals(rightBounds.getFromEpochDay()) && hired2023.getToEpochDay().equals(rightBounds.getToEpochDay()), "bounds kept on the right");
+        check(!leftBounds.test(withoutPhone) && leftBounds.test(other), "hired in 2023 and missing phone");
+
+        EmployeeFilter intersection = EmployeeFilter.hiredBetweenYears(2020, 2023).and(EmployeeFilter.hiredBetweenYears(2022, 2025));
+        check(intersection.getFromEpochDay().equals(EmployeeFilter.hiredBetweenYears(2022, 2022).getFromEpochDay())
+                && intersection.getToEpochDay().equals(hired2023.getToEpochDay()), "bounds intersected");
+
+        System.out.println("All filter checks passed.");
+    }
+
+    /**
+     * Fails if a condition doesn't hold.
+     *
+     * @param condition The condition.
+     * @param description What is checked.
+     * @throws AssertionError If the condition doesn't hold.
+     */
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            throw new AssertionError("Check failed: " + description);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.EmployeeModel;
+import practiceMVC.EmployeeRecordFile;
+import practiceMVC.ListController;
+import practiceMVC.OffHeapEmployeeStore;
+
+// For measuring the heap.
+import java.lang.management.ManagementFactory;
+// For the record file.
+import java.nio.file.Files;
+import java.nio.file.Path;
+// For the workload.
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Measures the memory taken per employee by each way the application can hold the roster, list nodes and key index
+ * included:
+ * - heap: EmployeeModel objects, as created by the form, the importer and the journal replay;
+ * - offheap: handles into an OffHeapEmployeeStore (see Main.OFF_HEAP_PROPERTY), with the fields in direct memory;
+ * - mapped: views of a memory-mapped EmployeeRecordFile, as restored from a snapshot, with the fields in the file.
+ * The heap column is what the garbage collector has to trace; the outside column is the direct memory or file bytes.
+ *
+ * Run each mode in its own JVM, for example:
+ * java -Xmx4g -cp out practiceMVC.benchmark.FootprintBenchmark heap 5000000
+ */
+public class FootprintBenchmark {
+    /**
+     * Default number of employees of the roster.
+     */
+    private static final int DEFAULT_SIZE = 1_000_000;
+
+    /**
+     * This class only offers static methods.
+     */
+    private FootprintBenchmark() {
+    }
+
+    /**
+     * Builds the roster in the requested mode and prints its footprint.
+     *
+     * @param args Optional mode (heap, offheap, mapped or all) and number of employees.
+     * @throws Exception If the record file can't be written or read.
+     */
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "all";
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SIZE;
+
+        System.out.printf(Locale.ROOT, "%-8s %10s %14s %14s%n", "Mode", "Employees", "Heap B/empl.", "Outside B/empl.");
+        for (String measured : new String[]{"heap", "offheap", "mapped"}) {
+            if (mode.equals("all") || mode.equals(measured)) {
+                measure(measured, size);
+            }
+        }
+    }
+
+    /**
+     * Builds the roster in one mode and prints the heap it keeps alive and the memory it takes outside the heap.
+     *
+     * @param mode The mode.
+     * @param size The number of employees.
+     * @throws Exception If the record file can't be written or read.
+     */
+    private static void measure(String mode, int size) throws Exception {
+        // The record file is written from an on-heap roster, before the baseline is taken.
+        Path file = null;
+        if (mode.equals("mapped")) {
+            file = Files.createTempFile("footprint", ".records");
+            EmployeeRecordFile.write(file, build(null, size));
+        }
+
+        long baseline = usedHeap();
+        ListController<EmployeeModel> employeeController;
+        long outsideBytes;
+        EmployeeRecordFile records = null;
+        OffHeapEmployeeStore store = null;
+        if (mode.equals("mapped")) {
+            records = EmployeeRecordFile.open(file);
+            employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+            records.addViewsTo(employeeController);
+            outsideBytes = Files.size(file);
+        } else {
+            store = mode.equals("offheap") ? new OffHeapEmployeeStore() : null;
+            employeeController = build(store, size);
+            outsideBytes = store == null ? 0 : store.getUsedBytes();
+        }
+        long heapBytes = usedHeap() - baseline;
+
+        System.out.printf(Locale.ROOT, "%-8s %10d %14.1f %14.1f%n", mode, employeeController.getTotalElements(),
+                (double) heapBytes / size, (double) outsideBytes / size);
+
+        // Keep everything reachable until measured, then release the file.
+        if (records != null) {
+            records.close();
+            Files.deleteIfExists(file);
+        }
+        if (store != null && store.size() != size) {
+            throw new IllegalStateException("Store holds " + store.size() + " employees.");
+        }
+    }
+
+    /**
+     * Builds a synthetic roster with every field filled in.
+     *
+     * @param store The off-heap store to keep the employees in, or null to keep them in the heap.
+     * @param size The number of employees.
+     * @return The list of employees.
+     */
+    private static ListController<EmployeeModel> build(OffHeapEmployeeStore store, int size) {
+        Random random = new Random(42);
+        String[] firstNames = {"Ana", "Luis", "Maria", "Jose", "Carmen", "Javier", "Lucia", "Pablo"};
+        String[] surnames = {"Garcia", "Lopez", "Martinez", "Sanchez", "Perez", "Gomez", "Fernandez", "Ruiz"};
+        String[] domains = {"example.com", "mail.com", "company.org"};
+        List<EmployeeModel> employees = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            String name = firstNames[random.nextInt(firstNames.length)] + " " + surnames[random.nextInt(surnames.length)];
+            int hireEpochDay = random.nextInt(20_000);
+            String phone = "6" + (10_000_000 + random.nextInt(89_999_999));
+            String email = "employee" + i + "@" + domains[random.nextInt(domains.length)];
+            if (store != null) {
+                employees.add(store.store(name, i, hireEpochDay, phone, email));
+            } else {
+                EmployeeModel employee = new EmployeeModel(name, i);
+                employee.setHireEpochDay(hireEpochDay);
+                employee.setPhoneNumber(phone);
+                employee.setEmailAddress(email);
+                employees.add(employee);
+            }
+        }
+        ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        if (store != null) {
+            employeeController.addListener(store);
+        }
+        employeeController.addAll(employees);
+        return employeeController;
+    }
+
+    /**
+     * Gets the heap used by live objects, after collecting the garbage.
+     *
+     * @return The used heap, in bytes.
+     */
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,128 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.EmployeeCsvImporter;
+import practiceMVC.EmployeeModel;
+import practiceMVC.ListController;
+
+// For running the background import against the Event Dispatch Thread.
+import javax.swing.SwingUtilities;
+// For the temporary file.
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+// For the workload.
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how fast EmployeeCsvImporter imports a synthetic CSV roster: parsing on a single thread and on every core
+ * (adding the employees from the calling thread, as importFile does), and adding them on the Event Dispatch Thread as
+ * the Import action of the view does (importFileInBackground). A few rows are invalid or repeat an employee number, so
+ * the errors are counted too.
+ *
+ * Run it with the heap the application would have, for example:
+ * java -Xmx2g -cp out practiceMVC.benchmark.ImportBenchmark [rows] [rounds]
+ */
+public class ImportBenchmark {
+    /**
+     * Default number of rows of the file.
+     */
+    private static final int DEFAULT_ROWS = 1_000_000;
+
+    /**
+     * Default number of imports measured per mode.
+     */
+    private static final int DEFAULT_ROUNDS = 5;
+
+    /**
+     * One row in this many is invalid (a name with digits), and one in this many repeats an employee number.
+     */
+    private static final int ERROR_INTERVAL = 1000;
+
+    /**
+     * This class only offers static methods.
+     */
+    private ImportBenchmark() {
+    }
+
+    /**
+     * Writes a synthetic CSV roster, imports it in every mode and prints the measurements.
+     *
+     * @param args Optional number of rows and number of rounds.
+     * @throws Exception If the file can't be written or read.
+     */
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROWS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        Path file = Files.createTempFile("import-benchmark", ".csv");
+        try {
+            writeRoster(file, rows);
+            double megabytes = Files.size(file) / 1e6;
+            ForkJoinPool singleThread = new ForkJoinPool(1);
+
+            System.out.printf(Locale.ROOT, "%-12s %10s %10s %10s %12s %10s%n", "Mode", "Rows", "Imported", "Errors", "Import ms", "MB/s");
+            for (int round = 0; round < rounds; round++) {
+                measure("1 thread", new EmployeeCsvImporter(singleThread), file, rows, megabytes, false);
+                measure("parallel", new EmployeeCsvImporter(), file, rows, megabytes, false);
+                measure("background", new EmployeeCsvImporter(), file, rows, megabytes, true);
+            }
+            singleThread.shutdown();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        System.exit(0); // The Event Dispatch Thread would keep the JVM running.
+    }
+
+    /**
+     * Writes a synthetic CSV roster, with the header written by EmployeeExporter.
+     *
+     * @param file The file.
+     * @param rows The number of rows.
+     * @throws IOException If the file can't be written.
+     */
+    private static void writeRoster(Path file, int rows) throws IOException {
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("name,employeeNumber,hireDate,phone,email\n");
+            for (int i = 1; i <= rows; i++) {
+                String name = i % ERROR_INTERVAL == 0 ? "Employee " + i : "Employee " + (char) ('A' + i % 26) + (char) ('a' + i % 23);
+                int employeeNumber = i % ERROR_INTERVAL == 2 ? i - 1 : i;
+                String hireDate = String.format(Locale.ROOT, "%02d/%02d/%04d", 1 + random.nextInt(28), 1 + random.nextInt(12), 1990 + random.nextInt(35));
+                writer.write(name + "," + employeeNumber + "," + hireDate + ",6" + (10_000_000 + random.nextInt(89_999_999)) + ",employee" + i + "@example.com\n");
+            }
+        }
+    }
+
+    /**
+     * Imports the file once into an empty list and prints the time taken.
+     *
+     * @param mode The name of the mode.
+     * @param importer The importer.
+     * @param file The CSV file.
+     * @param rows The number of rows of the file.
+     * @param megabytes The size of the file, in megabytes.
+     * @param background `true` to add the employees on the Event Dispatch Thread, `false` to add them from this thread.
+     * @throws Exception If the file can't be read.
+     */
+    private static void measure(String mode, EmployeeCsvImporter importer, Path file, int rows, double megabytes, boolean background) throws Exception {
+        System.gc();
+        ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        long start = System.nanoTime();
+        EmployeeCsvImporter.Result result = background
+                ? importer.importFileInBackground(file, employeeController)
+                : importer.importFile(file, employeeController);
+        long elapsed = System.nanoTime() - start;
+
+        int[] size = {0};
+        SwingUtilities.invokeAndWait(() -> size[0] = employeeController.getTotalElements());
+        if (size[0] != result.getImportedCount() || result.getImportedCount() + result.getErrorCount() != rows) {
+            throw new IllegalStateException("Wrong import: " + size[0] + " employees, " + result.getImportedCount() + " imported, " + result.getErrorCount() + " errors.");
+        }
+        System.out.printf(Locale.ROOT, "%-12s %10d %10d %10d %12.1f %10.1f%n", mode, rows, result.getImportedCount(), result.getErrorCount(),
+                elapsed / 1e6, megabytes / (elapsed / 1e9));
+    }
+}
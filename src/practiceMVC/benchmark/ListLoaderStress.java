@@ -0,0 +1,200 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.ListController;
+import practiceMVC.ListLoader;
+
+// For running the list on the Event Dispatch Thread.
+import javax.swing.SwingUtilities;
+// For running the producers and the navigator at the same time.
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stress test of ListLoader: producers load elements into a ListController through a shared loader while the Event
+ * Dispatch Thread (EDT), which owns the list, keeps navigating it, looking elements up and removing nodes at random.
+ * - Every element records the producer that added it and its sequence number. The loader never reorders the elements
+ *   of a producer and removing never moves them, so the list must hold the elements of each producer in increasing
+ *   order, which the EDT checks during the load.
+ * - Once every producer has finished, the size of the list must be the number of elements added minus the number
+ *   removed, and the key index must find every element at its node.
+ * It fails with an AssertionError on the first violation.
+ *
+ * Run it with: java -cp out practiceMVC.benchmark.ListLoaderStress [elements per producer] [batch size]
+ */
+public class ListLoaderStress {
+    /**
+     * Default number of elements added by each producer.
+     */
+    private static final int DEFAULT_ELEMENTS_PER_PRODUCER = 1_000_000;
+
+    /**
+     * Default number of elements per batch.
+     */
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Number of producing threads.
+     */
+    private static final int PRODUCERS = 3;
+
+    /**
+     * Largest number of batches waiting for the EDT.
+     */
+    private static final int MAX_PENDING_BATCHES = 4;
+
+    /**
+     * Number of nodes removed by each navigation task on the EDT.
+     */
+    private static final int REMOVALS_PER_TASK = 20;
+
+    /**
+     * Seed of the navigator, so that runs can be repeated.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * This class is only run through its main method.
+     */
+    private ListLoaderStress() {
+    }
+
+    /**
+     * Runs the stress test and prints its outcome.
+     *
+     * @param args Optional number of elements per producer and batch size.
+     * @throws Exception If interrupted, or if a task on the EDT fails.
+     */
+    public static void main(String[] args) throws Exception {
+        int elementsPerProducer = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ELEMENTS_PER_PRODUCER;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BATCH_SIZE;
+
+        // Only touched on the EDT.
+        ListController<Long> list = new ListController<>(element -> element);
+        long[] removed = {0};
+        int[] navigations = {0};
+
+        ListLoader<Long> loader = new ListLoader<>(list, batchSize, MAX_PENDING_BATCHES);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean producersDone = new AtomicBoolean();
+        List<Thread> producers = new ArrayList<>();
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            int id = producer;
+            producers.add(new Thread(() -> {
+                try {
+                    start.await();
+                    for (int sequence = 0; sequence < elementsPerProducer; sequence++) {
+                        loader.add(element(id, sequence));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "producer-" + id));
+        }
+
+        // The navigator keeps queuing tasks on the EDT, between the batches, until the producers are done.
+        Thread navigator = new Thread(() -> {
+            SplittableRandom random = new SplittableRandom(SEED);
+            try {
+                start.await();
+                while (!producersDone.get()) {
+                    SwingUtilities.invokeAndWait(() -> navigate(list, random, removed, navigations));
+                }
+            } catch (Exception e) {
+                throw new AssertionError("Navigation failed", e);
+            }
+        }, "navigator");
+
+        long startTime = System.nanoTime();
+        producers.forEach(Thread::start);
+        navigator.start();
+        start.countDown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        loader.finish();
+        producersDone.set(true);
+        navigator.join();
+        long elapsed = System.nanoTime() - startTime;
+
+        SwingUtilities.invokeAndWait(() -> {
+            checkOrder(list);
+            long expected = (long) PRODUCERS * elementsPerProducer - removed[0];
+            if (list.getTotalElements() != expected) {
+                throw new AssertionError("Size " + list.getTotalElements() + ", expected " + expected);
+            }
+            int index = 0;
+            for (ListController<Long>.Node<Long> node = list.getFirstNode(); node != null; node = node.getNextNode()) {
+                if (list.lookupByKey(node.getMain()) != node) {
+                    throw new AssertionError("Key index doesn't find " + node.getMain());
+                }
+                index++;
+            }
+            if (index != expected) {
+                throw new AssertionError("Walked " + index + " nodes, expected " + expected);
+            }
+        });
+
+        System.out.printf(Locale.ROOT, "OK: %d elements loaded by %d producers in batches of %d, %d removed during %d navigations, in %.0f ms%n",
+                (long) PRODUCERS * elementsPerProducer, PRODUCERS, batchSize, removed[0], navigations[0], elapsed / 1e6);
+        System.exit(0); // The EDT would keep the JVM running.
+    }
+
+    /**
+     * Navigates the list on the EDT: checks the order of the elements loaded so far, looks some up by position and by
+     * key, and removes a few at random.
+     *
+     * @param list The list.
+     * @param random The source of the positions.
+     * @param removed The number of nodes removed so far, updated.
+     * @param navigations The number of navigation tasks so far, updated.
+     */
+    private static void navigate(ListController<Long> list, SplittableRandom random, long[] removed, int[] navigations) {
+        navigations[0]++;
+        if (navigations[0] % 100 == 0) {
+            checkOrder(list);
+        }
+        for (int i = 0; i < REMOVALS_PER_TASK && !list.isEmpty(); i++) {
+            ListController<Long>.Node<Long> node = list.getNode(random.nextInt(list.getTotalElements()));
+            if (list.lookupByKey(node.getMain()) != node) {
+                throw new AssertionError("Key index doesn't find " + node.getMain());
+            }
+            list.removeNode(node);
+            removed[0]++;
+        }
+    }
+
+    /**
+     * Checks that the list holds the elements of each producer in increasing order.
+     *
+     * @param list The list.
+     */
+    private static void checkOrder(ListController<Long> list) {
+        long[] last = new long[PRODUCERS];
+        Arrays.fill(last, -1);
+        for (ListController<Long>.Node<Long> node = list.getFirstNode(); node != null; node = node.getNextNode()) {
+            int producer = (int) (node.getMain() >>> 32);
+            long sequence = node.getMain() & 0xFFFF_FFFFL;
+            if (sequence <= last[producer]) {
+                throw new AssertionError("Producer " + producer + ": element " + sequence + " after " + last[producer]);
+            }
+            last[producer] = sequence;
+        }
+    }
+
+    /**
+     * Encodes an element.
+     *
+     * @param producer The producer that adds it.
+     * @param sequence Its sequence number within the producer.
+     * @return The element.
+     */
+    private static long element(int producer, int sequence) {
+        return ((long) producer << 32) | sequence;
+    }
+}
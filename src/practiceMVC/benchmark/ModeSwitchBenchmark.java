@@ -0,0 +1,132 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.EmployeeModel;
+import practiceMVC.EmployeeView;
+import practiceMVC.ListController;
+
+// For driving the view on the Event Dispatch Thread.
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
+// For silencing the debugging output of the view while measuring.
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Simulates a long session of the view: the user goes from the view mode to the creation mode and back (Create, then
+ * Cancel) over and over, tabbing through the input fields each time. The session is measured in consecutive blocks of
+ * round trips, printing for each block the time per round trip, the time to deliver a focus gained and lost event to
+ * every input field, and how many listeners the fields and buttons have. With both modes built once and the listeners
+ * registered once, every column stays flat however long the session runs.
+ * The view is built without its window, so no display is needed.
+ *
+ * Run it with: java -cp out practiceMVC.benchmark.ModeSwitchBenchmark [blocks] [round trips per block]
+ */
+public class ModeSwitchBenchmark {
+    /**
+     * Default number of measured blocks.
+     */
+    private static final int DEFAULT_BLOCKS = 10;
+
+    /**
+     * Default number of round trips per block.
+     */
+    private static final int DEFAULT_ROUND_TRIPS = 2_000;
+
+    /**
+     * Number of employees in the roster.
+     */
+    private static final int EMPLOYEES = 10_000;
+
+    /**
+     * This class is only run through its main method.
+     */
+    private ModeSwitchBenchmark() {
+    }
+
+    /**
+     * Runs the session and prints the measurements of every block.
+     *
+     * @param args Optional number of blocks and number of round trips per block.
+     * @throws Exception If the session can't be run on the Event Dispatch Thread.
+     */
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int blocks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BLOCKS;
+        int roundTrips = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUND_TRIPS;
+        SwingUtilities.invokeAndWait(() -> run(blocks, roundTrips));
+    }
+
+    /**
+     * Builds the view and runs the session.
+     *
+     * @param blocks The number of measured blocks.
+     * @param roundTrips The number of round trips per block.
+     */
+    private static void run(int blocks, int roundTrips) {
+        ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        List<EmployeeModel> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new EmployeeModel("Employee " + i + " Garcia", 10_000 + i, "15/06/2023", "600000000", "employee" + i + "@mail.com"));
+        }
+        employeeController.addAll(employees);
+
+        // The view prints debugging information on every switch to the view mode, which would be measured too.
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        EmployeeView view = new EmployeeView(employeeController);
+        JTextField[] fields = {view.getNameField(), view.getEmployeeNumberField(), view.getHireDateField(),
+                view.getPhoneField(), view.getEmailField()};
+
+        console.printf(Locale.ROOT, "%6s %12s %16s %16s %16s %16s%n", "Block", "Round trips", "Switch us/trip",
+                "Focus us/trip", "Focus listeners", "Next listeners");
+        long totalRoundTrips = 0;
+        for (int block = 1; block <= blocks; block++) {
+            long switchNanos = 0;
+            long focusNanos = 0;
+            for (int i = 0; i < roundTrips; i++) {
+                long start = System.nanoTime();
+                view.getCreateButton().doClick(0);
+                switchNanos += System.nanoTime() - start;
+
+                // Tab through the form, as the user would.
+                start = System.nanoTime();
+                for (JTextField field : fields) {
+                    deliverFocus(field);
+                }
+                focusNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                view.getCancelButton().doClick(0);
+                switchNanos += System.nanoTime() - start;
+            }
+            totalRoundTrips += roundTrips;
+            console.printf(Locale.ROOT, "%6d %12d %16.1f %16.2f %16d %16d%n", block, totalRoundTrips,
+                    switchNanos / 1_000.0 / roundTrips, focusNanos / 1_000.0 / roundTrips,
+                    view.getNameField().getFocusListeners().length, view.getNextButton().getActionListeners().length);
+        }
+        System.setOut(console);
+    }
+
+    /**
+     * Delivers a focus gained event and then a focus lost event to the focus listeners of a field, as the focus
+     * manager does when the user tabs through it.
+     *
+     * @param field The field.
+     */
+    private static void deliverFocus(JTextField field) {
+        FocusEvent gained = new FocusEvent(field, FocusEvent.FOCUS_GAINED);
+        FocusEvent lost = new FocusEvent(field, FocusEvent.FOCUS_LOST);
+        for (FocusListener listener : field.getFocusListeners()) {
+            listener.focusGained(gained);
+        }
+        for (FocusListener listener : field.getFocusListeners()) {
+            listener.focusLost(lost);
+        }
+    }
+}
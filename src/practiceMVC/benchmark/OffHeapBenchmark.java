@@ -0,0 +1,205 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.EmployeeModel;
+import practiceMVC.ListController;
+import practiceMVC.OffHeapEmployeeStore;
+
+// For measuring the heap and the garbage collections.
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+// For the workload.
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Compares the garbage collection pauses and the heap usage of the on-heap and off-heap (OffHeapEmployeeStore) storage
+ * of employees, under the same workload: building a roster, then churning it with random modifications, removals and
+ * additions, as the user and the bulk paths do.
+ *
+ * Run it with the heap the application would have, for example:
+ * java -Xmx2g -cp out practiceMVC.benchmark.OffHeapBenchmark [heap|offheap|both] [employees] [operations]
+ * For the fairest comparison, run each mode in its own JVM (the default runs both, one after the other).
+ */
+public class OffHeapBenchmark {
+    /**
+     * Default number of employees of the roster.
+     */
+    private static final int DEFAULT_SIZE = 2_000_000;
+
+    /**
+     * Default number of churn operations.
+     */
+    private static final int DEFAULT_OPERATIONS = 2_000_000;
+
+    /**
+     * Number of employees added to the list at once while building the roster.
+     */
+    private static final int BATCH_SIZE = 1 << 16;
+
+    /**
+     * Number of garbage collections seen since the last reset.
+     */
+    private static long collections;
+
+    /**
+     * Total time of the garbage collections seen since the last reset, in milliseconds.
+     */
+    private static long totalPauseMillis;
+
+    /**
+     * Longest garbage collection seen since the last reset, in milliseconds.
+     */
+    private static long maxPauseMillis;
+
+    /**
+     * This class only offers static methods.
+     */
+    private OffHeapBenchmark() {
+    }
+
+    /**
+     * Runs the workload in the requested modes and prints the measurements.
+     *
+     * @param args Optional mode (heap, offheap or both), number of employees and number of churn operations.
+     */
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "both";
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SIZE;
+        int operations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_OPERATIONS;
+        listenToCollections();
+
+        System.out.printf(Locale.ROOT, "%-8s %10s %10s %10s %12s %12s %12s %12s%n", "Mode", "Employees", "Time ms", "GCs",
+                "GC total ms", "GC max ms", "Heap MB", "Direct MB");
+        if (!mode.equals("offheap")) {
+            run(false, size, operations);
+        }
+        if (!mode.equals("heap")) {
+            run(true, size, operations);
+        }
+    }
+
+    /**
+     * Runs the workload once and prints its measurements.
+     *
+     * @param offHeap `true` to store the employees off the heap, `false` to keep them in the heap.
+     * @param size The number of employees of the roster.
+     * @param operations The number of churn operations.
+     */
+    private static void run(boolean offHeap, int size, int operations) {
+        System.gc();
+        resetCollections();
+        long start = System.nanoTime();
+
+        OffHeapEmployeeStore store = offHeap ? new OffHeapEmployeeStore() : null;
+        ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        if (store != null) {
+            employeeController.addListener(store);
+        }
+        Random random = new Random(42);
+
+        // Build the roster.
+        List<EmployeeModel> batch = new ArrayList<>(BATCH_SIZE);
+        int nextNumber = 0;
+        for (int i = 0; i < size; i++) {
+            batch.add(createEmployee(store, nextNumber++, random));
+            if (batch.size() == BATCH_SIZE) {
+                employeeController.addAll(batch);
+                batch.clear();
+            }
+        }
+        employeeController.addAll(batch);
+
+        // Churn it: a third modifications, a third removals and a third additions.
+        for (int i = 0; i < operations; i++) {
+            int total = employeeController.getTotalElements();
+            switch (i % 3) {
+                case 0: {
+                    String name = "Renamed " + random.nextInt(1000);
+                    employeeController.update(employeeController.getNode(random.nextInt(total)), employee -> employee.setName(name));
+                    break;
+                }
+                case 1:
+                    employeeController.removeNode(employeeController.getNode(random.nextInt(total)));
+                    break;
+                default:
+                    employeeController.add(createEmployee(store, nextNumber++, random));
+                    break;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Measure what stays alive.
+        System.gc();
+        long heapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long directBytes = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                directBytes = pool.getMemoryUsed();
+            }
+        }
+        synchronized (OffHeapBenchmark.class) {
+            System.out.printf(Locale.ROOT, "%-8s %10d %10d %10d %12d %12d %12.1f %12.1f%n", offHeap ? "offheap" : "heap",
+                    employeeController.getTotalElements(), elapsed / 1_000_000, collections, totalPauseMillis, maxPauseMillis,
+                    heapBytes / 1048576.0, directBytes / 1048576.0);
+        }
+    }
+
+    /**
+     * Creates a synthetic employee.
+     *
+     * @param store The off-heap store to keep it in, or null to keep it in the heap.
+     * @param employeeNumber The employee number.
+     * @param random The source of randomness.
+     * @return The employee.
+     */
+    private static EmployeeModel createEmployee(OffHeapEmployeeStore store, int employeeNumber, Random random) {
+        String name = "Employee " + (char) ('A' + random.nextInt(26)) + random.nextInt(100_000);
+        int hireEpochDay = 10_957 + random.nextInt(8766);
+        String phoneNumber = String.valueOf(600_000_000 + random.nextInt(100_000_000));
+        String emailAddress = "employee" + employeeNumber + "@company.org";
+        if (store != null) {
+            return store.store(name, employeeNumber, hireEpochDay, phoneNumber, emailAddress);
+        }
+        EmployeeModel employee = new EmployeeModel(name, employeeNumber);
+        employee.setHireEpochDay(hireEpochDay);
+        employee.setPhoneNumber(phoneNumber);
+        employee.setEmailAddress(emailAddress);
+        return employee;
+    }
+
+    /**
+     * Starts recording every garbage collection.
+     */
+    private static void listenToCollections() {
+        NotificationListener listener = (notification, handback) -> {
+            if (notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                long duration = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()).getGcInfo().getDuration();
+                synchronized (OffHeapBenchmark.class) {
+                    collections++;
+                    totalPauseMillis += duration;
+                    maxPauseMillis = Math.max(maxPauseMillis, duration);
+                }
+            }
+        };
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+        }
+    }
+
+    /**
+     * Forgets the garbage collections recorded so far.
+     */
+    private static synchronized void resetCollections() {
+        collections = 0;
+        totalPauseMillis = 0;
+        maxPauseMillis = 0;
+    }
+}
@@ -0,0 +1,154 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.EmployeeModel;
+import practiceMVC.EmployeeRecordFile;
+import practiceMVC.ListController;
+
+// For measuring the heap.
+import java.lang.management.ManagementFactory;
+// For the record file.
+import java.nio.file.Files;
+import java.nio.file.Path;
+// For the workload.
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Measures opening a roster saved as a memory-mapped EmployeeRecordFile, as Main does with the latest snapshot, against
+ * reading every employee into EmployeeModel objects: the time to open the file and fill the list, the heap kept alive
+ * afterwards, and the time and heap taken by viewing some employees (as the user browsing them does).
+ *
+ * Run it with the heap the application would have, for example:
+ * java -Xmx4g -cp out practiceMVC.benchmark.RecordFileBenchmark [mapped|loaded|both] [employees] [viewed employees]
+ * For the fairest heap measurements, run each mode in its own JVM (the default runs both, one after the other).
+ */
+public class RecordFileBenchmark {
+    /**
+     * Default number of employees of the roster.
+     */
+    private static final int DEFAULT_SIZE = 2_000_000;
+
+    /**
+     * Default number of employees viewed after opening the roster.
+     */
+    private static final int DEFAULT_VIEWED = 10_000;
+
+    /**
+     * This class only offers static methods.
+     */
+    private RecordFileBenchmark() {
+    }
+
+    /**
+     * Writes a synthetic roster to a record file, opens it in both ways and prints the measurements.
+     *
+     * @param args Optional mode (mapped, loaded or both), number of employees and number of viewed employees.
+     * @throws Exception If the record file can't be written or read.
+     */
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "both";
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SIZE;
+        int viewed = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_VIEWED;
+        Path file = Files.createTempFile("record-file-benchmark", ".records");
+        try {
+            EmployeeRecordFile.write(file, buildRoster(size));
+            System.out.printf(Locale.ROOT, "File: %d employees, %.1f MB%n", size, Files.size(file) / 1e6);
+            System.out.printf(Locale.ROOT, "%-8s %10s %12s %14s %10s %14s%n", "Mode", "Employees", "Open ms", "Heap B/empl.", "View ms", "View heap KB");
+            if (!mode.equals("loaded")) {
+                measure("mapped", file, size, viewed, false);
+            }
+            if (!mode.equals("mapped")) {
+                measure("loaded", file, size, viewed, true);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Opens the record file once into a new list, then views some employees, and prints the measurements.
+     *
+     * @param mode The name of the mode.
+     * @param file The record file.
+     * @param size The number of employees.
+     * @param viewed The number of employees to view.
+     * @param load `true` to copy every employee into an EmployeeModel, `false` to keep the views of the mapped file.
+     * @throws Exception If the file can't be read.
+     */
+    private static void measure(String mode, Path file, int size, int viewed, boolean load) throws Exception {
+        long baseline = usedHeap();
+        long start = System.nanoTime();
+        EmployeeRecordFile records = EmployeeRecordFile.open(file);
+        ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        if (load) {
+            List<EmployeeModel> employees = new ArrayList<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                EmployeeModel employee = new EmployeeModel(records.getName(i), records.getEmployeeNumber(i));
+                employee.setHireEpochDay(records.getHireEpochDay(i));
+                employee.setPhoneNumber(records.getPhoneNumber(i));
+                employee.setEmailAddress(records.getEmailAddress(i));
+                employees.add(employee);
+            }
+            employeeController.addAll(employees);
+        } else {
+            records.addViewsTo(employeeController);
+        }
+        long opened = System.nanoTime();
+        long openHeap = usedHeap();
+
+        // View random employees, keeping what they build alive as the card cache would.
+        Random random = new Random(7);
+        List<String> cards = new ArrayList<>(viewed);
+        long viewStart = System.nanoTime();
+        for (int i = 0; i < viewed; i++) {
+            EmployeeModel employee = employeeController.get(random.nextInt(size));
+            cards.add(employee.getName() + employee.getEmailAddress() + employee.getPhoneNumber() + employee.getHireEpochDay());
+        }
+        long viewEnd = System.nanoTime();
+        long viewHeap = usedHeap();
+
+        System.out.printf(Locale.ROOT, "%-8s %10d %12.1f %14.1f %10.1f %14d%n", mode, employeeController.getTotalElements(),
+                (opened - start) / 1e6, (double) (openHeap - baseline) / size, (viewEnd - viewStart) / 1e6,
+                (viewHeap - openHeap) / 1024);
+        if (cards.size() != viewed) {
+            throw new IllegalStateException("Viewed " + cards.size() + " employees.");
+        }
+        records.close();
+    }
+
+    /**
+     * Builds a synthetic roster with every field filled in.
+     *
+     * @param size The number of employees.
+     * @return The list of employees.
+     */
+    private static ListController<EmployeeModel> buildRoster(int size) {
+        Random random = new Random(42);
+        List<EmployeeModel> employees = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            EmployeeModel employee = new EmployeeModel("Employee " + (char) ('A' + i % 26) + (char) ('a' + i % 23), i);
+            employee.setHireEpochDay(random.nextInt(20_000));
+            employee.setPhoneNumber("6" + (10_000_000 + random.nextInt(89_999_999)));
+            employee.setEmailAddress("employee" + i + "@example.com");
+            employees.add(employee);
+        }
+        ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        employeeController.addAll(employees);
+        return employeeController;
+    }
+
+    /**
+     * Gets the heap used by live objects, after collecting the garbage.
+     *
+     * @return The used heap, in bytes.
+     */
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,163 @@
+package practiceMVC.benchmark;
+
+// For the code under test.
+import practiceMVC.EmployeeJournal;
+import practiceMVC.EmployeeModel;
+import practiceMVC.EmployeeRecordFile;
+import practiceMVC.EmployeeSnapshotIndexes;
+import practiceMVC.EmployeeSnapshotter;
+import practiceMVC.HireDateIndex;
+import practiceMVC.ListController;
+
+// For the temporary files.
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+// For the workload.
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Measures how long restoring a snapshot of the roster takes on the path of Main, with the key and hire date indexes
+ * saved next to the snapshot (EmployeeSnapshotIndexes.restore) and without them (adding the employees with their keys,
+ * then building the hire date index from every employee), along with the first lookups and hire date queries.
+ *
+ * Run it with the heap the application would have, for example:
+ * java -Xmx2g -cp out practiceMVC.benchmark.StartupBenchmark [employees] [rounds]
+ */
+public class StartupBenchmark {
+    /**
+     * Default number of employees of the roster.
+     */
+    private static final int DEFAULT_SIZE = 1_000_000;
+
+    /**
+     * Default number of restores measured per mode.
+     */
+    private static final int DEFAULT_ROUNDS = 5;
+
+    /**
+     * Number of employee numbers looked up after each restore.
+     */
+    private static final int LOOKUPS = 1000;
+
+    /**
+     * This class only offers static methods.
+     */
+    private StartupBenchmark() {
+    }
+
+    /**
+     * Writes a snapshot of a synthetic roster, restores it in both modes and prints the measurements.
+     *
+     * @param args Optional number of employees and number of rounds.
+     * @throws Exception If the files can't be written or read.
+     */
+    public static void main(String[] args) throws Exception {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        Path directory = Files.createTempDirectory("startup-benchmark");
+        try {
+            Path snapshotFile = directory.resolve("employees.snapshot");
+            writeSnapshot(directory.resolve("employees.journal"), snapshotFile, size);
+            Path latestSnapshot = EmployeeSnapshotter.latestSnapshot(snapshotFile);
+
+            System.out.printf(Locale.ROOT, "%-10s %10s %12s %12s %12s%n", "Mode", "Employees", "Restore ms", "Lookups us", "Query ms");
+            for (int round = 0; round < rounds; round++) {
+                measure("in-memory", latestSnapshot, size, false);
+                measure("persisted", latestSnapshot, size, true);
+            }
+        } finally {
+            deleteAll(directory);
+        }
+    }
+
+    /**
+     * Writes a snapshot of a synthetic roster the way the application does, through the journal and the snapshotter.
+     *
+     * @param journalFile The journal file.
+     * @param snapshotFile The snapshot file.
+     * @param size The number of employees.
+     * @throws Exception If the snapshot can't be written.
+     */
+    private static void writeSnapshot(Path journalFile, Path snapshotFile, int size) throws Exception {
+        ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+        try (EmployeeJournal journal = new EmployeeJournal(journalFile, false);
+             EmployeeSnapshotter snapshotter = new EmployeeSnapshotter(snapshotFile, journal, Long.MAX_VALUE)) {
+            journal.replayAndAttach(employeeController);
+            Random random = new Random(42);
+            List<EmployeeModel> batch = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                EmployeeModel employee = new EmployeeModel("Employee " + i, i + 1);
+                employee.setHireEpochDay(random.nextInt(20_000));
+                employee.setEmailAddress("employee" + i + "@example.com");
+                batch.add(employee);
+            }
+            employeeController.addAll(batch);
+            snapshotter.snapshotNow().get();
+        }
+    }
+
+    /**
+     * Restores the snapshot once, then looks up some employees and queries a range of hire dates, and prints the times.
+     *
+     * @param mode The name of the mode.
+     * @param snapshotFile The generation file of the snapshot.
+     * @param size The number of employees.
+     * @param persisted `true` to use the saved indexes, `false` to build them in memory.
+     * @throws IOException If the snapshot can't be read.
+     */
+    private static void measure(String mode, Path snapshotFile, int size, boolean persisted) throws IOException {
+        System.gc();
+        try (EmployeeRecordFile snapshot = EmployeeRecordFile.open(snapshotFile)) {
+            ListController<EmployeeModel> employeeController = new ListController<>(EmployeeModel::getEmployeeNumber);
+            long start = System.nanoTime();
+            HireDateIndex hireDateIndex;
+            if (persisted) {
+                hireDateIndex = EmployeeSnapshotIndexes.restore(snapshotFile, snapshot, employeeController);
+            } else {
+                snapshot.addViewsTo(employeeController);
+                hireDateIndex = new HireDateIndex(employeeController);
+            }
+            long restored = System.nanoTime();
+
+            Random random = new Random(7);
+            int found = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                if (employeeController.lookupByKey(1 + random.nextInt(size)) != null) {
+                    found++;
+                }
+            }
+            long looked = System.nanoTime();
+
+            int[] matches = {0};
+            hireDateIndex.forEachNodeBetween(10_000, 10_100, node -> matches[0]++);
+            long queried = System.nanoTime();
+            if (found != LOOKUPS || matches[0] == 0) {
+                throw new IllegalStateException("Wrong restore: " + found + " lookups found, " + matches[0] + " hires.");
+            }
+
+            System.out.printf(Locale.ROOT, "%-10s %10d %12.1f %12.1f %12.2f%n", mode, employeeController.getTotalElements(),
+                    (restored - start) / 1e6, (looked - restored) / 1e3, (queried - looked) / 1e6);
+            hireDateIndex.close();
+        }
+    }
+
+    /**
+     * Deletes a directory and the files in it.
+     *
+     * @param directory The directory.
+     * @throws IOException If a file can't be deleted.
+     */
+    private static void deleteAll(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+}